@@ -0,0 +1,86 @@
+package com.example.readsphere.benchmark;
+
+import com.example.readsphere.dto.RecommendationResponse;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.model.UserBook;
+import com.example.readsphere.repository.BookCatalogRepository;
+import com.example.readsphere.repository.BookRepository;
+import com.example.readsphere.repository.RecommendationFeedbackRepository;
+import com.example.readsphere.repository.UserBookRepository;
+import com.example.readsphere.service.catalog.CatalogIndex;
+import com.example.readsphere.service.recommendation.CatalogRecommendationService;
+import com.example.readsphere.service.recommendation.ItemSimilarityIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CatalogRecommendationService#recommendFromCatalog} with a catalog, a
+ * user_books table and a legacy books table of {@code rows} rows each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CatalogRecommendationBenchmark {
+
+    private static final int NEIGHBOURS_PER_BOOK = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private CatalogRecommendationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        List<User> users = data.users();
+        List<BookCatalog> catalog = data.catalog(rows);
+        Map<Long, List<UserBook>> shelves = SyntheticData.byUser(data.shelves(rows, users, catalog), UserBook::getUser);
+        Map<Long, List<Book>> books = SyntheticData.byUser(data.legacyBooks(rows, users), Book::getUser);
+
+        BookRepository bookRepository = InMemoryRepositories.repository(BookRepository.class, Map.of(
+                "findByUserId", args -> new ArrayList<>(books.getOrDefault((Long) args[0], List.of()))));
+        UserBookRepository userBookRepository = InMemoryRepositories.repository(UserBookRepository.class, Map.of(
+                "findByUserId", args -> new ArrayList<>(shelves.getOrDefault((Long) args[0], List.of()))));
+        BookCatalogRepository catalogRepository = InMemoryRepositories.repository(BookCatalogRepository.class, Map.of(
+                "findAll", args -> new ArrayList<>(catalog)));
+        RecommendationFeedbackRepository feedbackRepository =
+                InMemoryRepositories.repository(RecommendationFeedbackRepository.class, Map.of());
+
+        CatalogIndex catalogIndex = new CatalogIndex(catalogRepository);
+        catalogIndex.rebuild();
+
+        ItemSimilarityIndex similarityIndex = new ItemSimilarityIndex(new JdbcTemplate());
+        similarityIndex.replace(randomNeighbours(catalog.size()));
+
+        service = new CatalogRecommendationService(bookRepository, catalogRepository, userBookRepository,
+                feedbackRepository, catalogIndex, similarityIndex);
+    }
+
+    @Benchmark
+    public List<RecommendationResponse> recommendFromCatalog() {
+        return service.recommendFromCatalog(SyntheticData.BENCHMARK_USER_ID, false);
+    }
+
+    private static Map<Long, List<ItemSimilarityIndex.Neighbour>> randomNeighbours(int catalogSize) {
+        Random random = new Random(7);
+        Map<Long, List<ItemSimilarityIndex.Neighbour>> neighbours = new HashMap<>();
+        for (long bookId = 1; bookId <= catalogSize; bookId++) {
+            List<ItemSimilarityIndex.Neighbour> list = new ArrayList<>(NEIGHBOURS_PER_BOOK);
+            double score = 1.0;
+            for (int i = 0; i < NEIGHBOURS_PER_BOOK; i++) {
+                score *= 0.9;
+                list.add(new ItemSimilarityIndex.Neighbour(1 + random.nextInt(catalogSize), score));
+            }
+            neighbours.put(bookId, list);
+        }
+        return neighbours;
+    }
+}
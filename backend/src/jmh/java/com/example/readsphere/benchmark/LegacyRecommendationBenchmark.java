@@ -0,0 +1,48 @@
+package com.example.readsphere.benchmark;
+
+import com.example.readsphere.dto.RecommendationResponse;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.repository.BookRepository;
+import com.example.readsphere.repository.RecommendationFeedbackRepository;
+import com.example.readsphere.service.recommendation.RecommendationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RecommendationService#recommendBooks} over a legacy books table of {@code rows} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LegacyRecommendationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private RecommendationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        Map<Long, List<Book>> books = SyntheticData.byUser(data.legacyBooks(rows, data.users()), Book::getUser);
+
+        BookRepository bookRepository = InMemoryRepositories.repository(BookRepository.class, Map.of(
+                "findByUserId", args -> new ArrayList<>(books.getOrDefault((Long) args[0], List.of()))));
+        RecommendationFeedbackRepository feedbackRepository =
+                InMemoryRepositories.repository(RecommendationFeedbackRepository.class, Map.of());
+
+        service = new RecommendationService(bookRepository, feedbackRepository);
+    }
+
+    @Benchmark
+    public List<RecommendationResponse> recommendBooks() {
+        return service.recommendBooks(SyntheticData.BENCHMARK_USER_ID, false);
+    }
+}
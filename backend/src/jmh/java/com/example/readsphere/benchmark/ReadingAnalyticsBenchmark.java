@@ -0,0 +1,120 @@
+package com.example.readsphere.benchmark;
+
+import com.example.readsphere.controller.AdminController;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.ReadingLog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.BookDailyReadingRepository;
+import com.example.readsphere.repository.GenreDailyReadingRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AdminController#analyticsReading} against the real rollup repositories
+ * on an embedded H2 database (the test profile). {@code rows} reading logs
+ * written by all users during the last 30 days are rolled up in setup, as the
+ * rollup service would have stored them, so each call runs the actual
+ * sumPagesByDate, sumPagesByGenre and topTitlesByPages queries. The date and
+ * genre rollups stay near 30 x genres rows whatever {@code rows} is; the book
+ * rollup grows with the number of books read, which is rows / 10.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadingAnalyticsBenchmark {
+
+    private static final int WINDOW_DAYS = 30;
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AdminController controller;
+
+    /**
+     * Just the datasource, JPA and the repositories; no services, schedulers or web layer.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Book.class)
+    @EnableJpaRepositories(basePackageClasses = GenreDailyReadingRepository.class)
+    static class RollupDatabase {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RollupDatabase.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        SyntheticData data = new SyntheticData();
+        List<User> users = data.users();
+        List<Book> books = data.legacyBooks(Math.max(1, rows / 10), users);
+        List<ReadingLog> logs = data.readingLogs(rows, users, books, WINDOW_DAYS);
+
+        Map<List<Object>, Long> genreDays = new HashMap<>();
+        Map<List<Object>, Long> bookDays = new HashMap<>();
+        for (ReadingLog rl : logs) {
+            String genre = rl.getBook().getGenre() != null ? rl.getBook().getGenre() : "Unknown";
+            genreDays.merge(List.of(rl.getDate(), genre), (long) rl.getPages(), Long::sum);
+            bookDays.merge(List.of(rl.getDate(), rl.getBook().getId()), (long) rl.getPages(), Long::sum);
+        }
+
+        // Books are inserted without an owner; the rollup queries only join on id for the title
+        insert(jdbcTemplate, "INSERT INTO books (id, title, author, genre, total_pages, pages_read, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                books.stream().map(b -> new Object[]{b.getId(), b.getTitle(), b.getAuthor(), b.getGenre(),
+                        b.getTotalPages(), b.getPagesRead(), b.getStatus()}).toList());
+        insert(jdbcTemplate, "INSERT INTO genre_daily_reading (log_date, genre, pages) VALUES (?, ?, ?)",
+                rollupRows(genreDays));
+        insert(jdbcTemplate, "INSERT INTO book_daily_reading (log_date, book_id, pages) VALUES (?, ?, ?)",
+                rollupRows(bookDays));
+
+        controller = new AdminController();
+        InMemoryRepositories.inject(controller, "genreDailyReadingRepository", context.getBean(GenreDailyReadingRepository.class));
+        InMemoryRepositories.inject(controller, "bookDailyReadingRepository", context.getBean(BookDailyReadingRepository.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static List<Object[]> rollupRows(Map<List<Object>, Long> rollup) {
+        List<Object[]> out = new ArrayList<>(rollup.size());
+        rollup.forEach((key, pages) -> out.add(new Object[]{Date.valueOf((LocalDate) key.get(0)), key.get(1), pages}));
+        return out;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += INSERT_BATCH) {
+            jdbcTemplate.batchUpdate(sql, args.subList(from, Math.min(from + INSERT_BATCH, args.size())));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> analyticsReadingMonthly() {
+        return controller.analyticsReading("monthly");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.readsphere.benchmark;
+
+import com.example.readsphere.controller.ReadingController;
+import com.example.readsphere.model.ReadingLog;
+import com.example.readsphere.model.ReadingStreak;
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.BookRepository;
+import com.example.readsphere.repository.ReadingLogRepository;
+import com.example.readsphere.repository.ReadingStreakRepository;
+import com.example.readsphere.repository.UserDailyReadingRepository;
+import com.example.readsphere.repository.UserRepository;
+import com.example.readsphere.service.reading.ReadingStreakService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReadingController#streak}, served from maintained streak state, and a
+ * full per-user recompute of that state, with a reading_logs table of
+ * {@code rows} rows spread over the last two years.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadingStreakBenchmark {
+
+    private static final int HISTORY_DAYS = 730;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ReadingController controller;
+    private ReadingStreakService streakService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = new SyntheticData();
+        List<User> users = data.users();
+        List<ReadingLog> logs = data.readingLogs(rows, users, data.legacyBooks(Math.max(1, rows / 10), users), HISTORY_DAYS);
+        Map<Long, List<LocalDate>> activeDatesByUser = new HashMap<>();
+        SyntheticData.byUser(logs, ReadingLog::getUser).forEach((userId, list) -> activeDatesByUser.put(userId,
+                list.stream().filter(rl -> rl.getPages() > 0).map(ReadingLog::getDate).distinct().sorted().toList()));
+
+        ReadingLogRepository logRepository = InMemoryRepositories.repository(ReadingLogRepository.class, Map.of(
+                "findActiveDatesByUserId", args -> activeDatesByUser.getOrDefault((Long) args[0], List.of())));
+
+        Map<Long, ReadingStreak> streaks = new HashMap<>();
+        ReadingStreakRepository streakRepository = InMemoryRepositories.repository(ReadingStreakRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(streaks.get((Long) args[0])),
+                "findByUserIdForUpdate", args -> Optional.ofNullable(streaks.get((Long) args[0])),
+                "save", args -> {
+                    ReadingStreak streak = (ReadingStreak) args[0];
+                    streaks.put(streak.getUserId(), streak);
+                    return streak;
+                }));
+
+        // Rows exist up front, as they do once a user has logged, so the service never needs JDBC to create one
+        users.forEach(u -> streaks.put(u.getId(), new ReadingStreak(u.getId())));
+        streakService = new ReadingStreakService(streakRepository, logRepository, null, null);
+        users.forEach(u -> streakService.recompute(u.getId()));
+
+        // The streak endpoint never writes logs, so no ReadingLogService or ReadingLogBatchService is needed
+        controller = new ReadingController(logRepository,
+                InMemoryRepositories.repository(UserRepository.class, Map.of()),
+                InMemoryRepositories.repository(BookRepository.class, Map.of()),
+                null,
+                streakService,
+                InMemoryRepositories.repository(UserDailyReadingRepository.class, Map.of()),
+                null);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> streak() {
+        return controller.streak(SyntheticData.BENCHMARK_USER_ID);
+    }
+
+    @Benchmark
+    public ReadingStreak recompute() {
+        return streakService.recompute(SyntheticData.BENCHMARK_USER_ID);
+    }
+}
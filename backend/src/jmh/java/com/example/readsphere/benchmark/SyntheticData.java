@@ -0,0 +1,113 @@
+package com.example.readsphere.benchmark;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.model.ReadingLog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.model.UserBook;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Deterministic synthetic data for the benchmarks. Table-sized collections
+ * ({@code rows}) are spread evenly over {@link #USERS} users, so each per-user
+ * query returns rows / USERS entries, as a heavy user would see in production.
+ */
+final class SyntheticData {
+
+    static final int USERS = 100;
+    static final long BENCHMARK_USER_ID = 1L;
+
+    static final String[] GENRES = {
+            "Fiction", "Fantasy", "Sci-Fi", "Mystery", "Self-Help", "Finance",
+            "Business", "Biography", "Memoir", "Science", "Romance", "Horror"
+    };
+    private static final String[] STATUSES = {"READ", "READING", "WANT_TO_READ"};
+
+    private final Random random = new Random(42);
+
+    List<User> users() {
+        List<User> users = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            User user = new User("Reader " + id, "reader" + id + "@example.com", "x");
+            user.setId(id);
+            users.add(user);
+        }
+        return users;
+    }
+
+    List<BookCatalog> catalog(int size) {
+        List<BookCatalog> catalog = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            BookCatalog book = new BookCatalog(
+                    "Catalog Title " + id,
+                    "Author " + (id % 5000),
+                    GENRES[random.nextInt(GENRES.length)],
+                    "Synthetic description " + id,
+                    Math.round((3.0 + random.nextDouble() * 2.0) * 10.0) / 10.0,
+                    100 + random.nextInt(700));
+            book.setId(id);
+            catalog.add(book);
+        }
+        return catalog;
+    }
+
+    List<UserBook> shelves(int rows, List<User> users, List<BookCatalog> catalog) {
+        List<UserBook> shelves = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            User user = users.get((int) (id % users.size()));
+            BookCatalog book = catalog.get(random.nextInt(catalog.size()));
+            UserBook ub = new UserBook(user, book, STATUSES[random.nextInt(STATUSES.length)]);
+            ub.setId(id);
+            ub.setRating(random.nextInt(3) == 0 ? null : 1 + random.nextInt(5));
+            shelves.add(ub);
+        }
+        return shelves;
+    }
+
+    List<Book> legacyBooks(int rows, List<User> users) {
+        List<Book> books = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            int totalPages = 100 + random.nextInt(700);
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            int pagesRead = switch (status) {
+                case "READ" -> totalPages;
+                case "READING" -> random.nextInt(totalPages);
+                default -> 0;
+            };
+            Book book = new Book("Title " + id, "Author " + (id % 5000),
+                    GENRES[random.nextInt(GENRES.length)], totalPages, pagesRead, status);
+            book.setId(id);
+            book.setRating(random.nextInt(3) == 0 ? null : 1 + random.nextInt(5));
+            book.setUser(users.get((int) (id % users.size())));
+            books.add(book);
+        }
+        return books;
+    }
+
+    /**
+     * Reading logs dated within the last {@code days} days (inclusive of today).
+     */
+    List<ReadingLog> readingLogs(int rows, List<User> users, List<Book> books, int days) {
+        LocalDate today = LocalDate.now();
+        List<ReadingLog> logs = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            User user = users.get((int) (id % users.size()));
+            Book book = books.get(random.nextInt(books.size()));
+            ReadingLog log = new ReadingLog(user, book, 1 + random.nextInt(60), today.minusDays(random.nextInt(days)));
+            log.setId(id);
+            logs.add(log);
+        }
+        return logs;
+    }
+
+    static <T> Map<Long, List<T>> byUser(List<T> rows, Function<T, User> owner) {
+        Map<Long, List<T>> byUser = new HashMap<>();
+        for (T row : rows) {
+            byUser.computeIfAbsent(owner.apply(row).getId(), k -> new ArrayList<>()).add(row);
+        }
+        return byUser;
+    }
+}
@@ -1,14 +1,15 @@
 package com.example.readsphere.controller;
 
 import com.example.readsphere.model.User;
-import com.example.readsphere.model.Note;
-import com.example.readsphere.model.Quote;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.UserRepository;
+import com.example.readsphere.security.JwtTokenProvider;
 import com.example.readsphere.repository.NoteRepository;
 import com.example.readsphere.repository.QuoteRepository;
-import com.example.readsphere.repository.ReadingLogRepository;
+import com.example.readsphere.repository.BookDailyReadingRepository;
+import com.example.readsphere.repository.GenreDailyReadingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -19,13 +20,24 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import java.util.stream.Collectors;
 import com.example.readsphere.model.BookCatalog;
 import com.example.readsphere.repository.BookCatalogRepository;
+import com.example.readsphere.dto.BulkModerationRequest;
 import com.example.readsphere.dto.CatalogBookRequest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import com.example.readsphere.service.admin.AdminUserListService;
+import com.example.readsphere.service.catalog.CatalogIndex;
+import com.example.readsphere.service.catalog.CatalogSearchIndex;
+import com.example.readsphere.service.catalog.GenreFacet;
+import com.example.readsphere.service.email.EmailOutboxDispatcher;
+import com.example.readsphere.service.moderation.ModerationQueueService;
+import com.example.readsphere.service.moderation.ModerationScanner;
+import com.example.readsphere.service.stats.PlatformCounter;
+import com.example.readsphere.service.stats.PlatformStatsService;
+import com.example.readsphere.service.reading.ReadingRollupJob;
+import com.example.readsphere.service.reading.ReadingStreakJob;
+import com.example.readsphere.service.reading.ReadingStreakService;
+import com.example.readsphere.service.recommendation.ItemSimilarityJob;
+import com.example.readsphere.service.recommendation.RecommendationCache;
 import java.time.LocalDate;
 @RestController
 @RequestMapping("/api/admin")
@@ -49,7 +61,49 @@ public class AdminController {
     private QuoteRepository quoteRepository;
 
     @Autowired
-    private ReadingLogRepository readingLogRepository;
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private ItemSimilarityJob itemSimilarityJob;
+
+    @Autowired
+    private RecommendationCache recommendationCache;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ReadingStreakService readingStreakService;
+
+    @Autowired
+    private ReadingStreakJob readingStreakJob;
+
+    @Autowired
+    private GenreDailyReadingRepository genreDailyReadingRepository;
+
+    @Autowired
+    private BookDailyReadingRepository bookDailyReadingRepository;
+
+    @Autowired
+    private ReadingRollupJob readingRollupJob;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private PlatformStatsService platformStatsService;
+
+    @Autowired
+    private AdminUserListService adminUserListService;
+
+    @Autowired
+    private ModerationQueueService moderationQueueService;
+
+    @Autowired
+    private ModerationScanner moderationScanner;
     /**
      * Admin Dashboard Overview
      * GET /api/admin/dashboard
@@ -58,24 +112,11 @@ public class AdminController {
     @GetMapping("/dashboard")
     public ResponseEntity<?> getDashboard(Authentication authentication) {
         try {
-            // Get stats
-            long totalUsers = userRepository.count();
-            long totalAdmins = userRepository.countByRole(User.Role.ADMIN);
-            long totalRegularUsers = userRepository.countByRole(User.Role.USER);
-            long totalCatalogBooks = catalogRepository.count();
-            long totalUserBooks = bookRepository.count();
-            long totalNotes = noteRepository.count();
-            long totalQuotes = quoteRepository.count();
-
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalUsers", totalUsers);
-            stats.put("totalAdmins", totalAdmins);
-            stats.put("totalRegularUsers", totalRegularUsers);
+            PlatformStatsService.Snapshot snapshot = platformStatsService.get();
+
+            Map<String, Object> stats = new HashMap<>(snapshot.toMap());
             // totalBooks represents catalog titles for the dashboard
-            stats.put("totalBooks", totalCatalogBooks);
-            stats.put("totalUserBooks", totalUserBooks);
-            stats.put("totalNotes", totalNotes);
-            stats.put("totalQuotes", totalQuotes);
+            stats.put("totalBooks", snapshot.get(PlatformCounter.CATALOG_BOOKS));
             stats.put("message", "Dashboard data retrieved successfully");
 
             return ResponseEntity.ok(stats);
@@ -87,26 +128,52 @@ public class AdminController {
     }
 
     /**
-     * List All Users (Admin only)
-     * GET /api/admin/users
-     * Returns: list of all users with basic info
+     * Get users, one keyset page at a time
+     * GET /api/admin/users?q=&role=&verified=&sort=id|name|email&dir=asc|desc&cursor=&size=
+     * Returns: users (id, name, email, role, emailVerified), nextCursor, hasMore, total
      */
     @GetMapping("/users")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean verified,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<User> users = userRepository.findAll();
-            
-            List<Map<String, Object>> userList = users.stream().map(user -> {
-                Map<String, Object> userMap = new HashMap<>();
-                userMap.put("id", user.getId());
-                userMap.put("name", user.getName());
-                userMap.put("email", user.getEmail());
-                userMap.put("role", user.getRole().name());
-                userMap.put("emailVerified", user.isEmailVerified());
-                return userMap;
-            }).collect(Collectors.toList());
-
-            return ResponseEntity.ok(userList);
+            User.Role roleFilter = null;
+            if (role != null && !role.isBlank()) {
+                try {
+                    roleFilter = User.Role.valueOf(role.trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown role '" + role + "'; expected USER or ADMIN");
+                }
+            }
+            if (!"asc".equalsIgnoreCase(dir) && !"desc".equalsIgnoreCase(dir)) {
+                throw new IllegalArgumentException("dir must be asc or desc");
+            }
+            int safeSize = Math.min(Math.max(size, 1), AdminUserListService.MAX_PAGE_SIZE);
+
+            AdminUserListService.PageResult result = adminUserListService.list(q, roleFilter, verified,
+                    AdminUserListService.Sort.from(sort), "desc".equalsIgnoreCase(dir), cursor, safeSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("users", result.getUsers());
+            response.put("nextCursor", result.getNextCursor());
+            response.put("hasMore", result.getNextCursor() != null);
+            response.put("size", safeSize);
+            // Platform-wide count from the stats snapshot, so only meaningful for an unfiltered list;
+            // a filtered list gets no total rather than a COUNT(*) per page
+            boolean filtered = (q != null && !q.isBlank()) || roleFilter != null || verified != null;
+            if (!filtered) {
+                response.put("total", platformStatsService.get().get(PlatformCounter.USERS));
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch users: " + e.getMessage());
@@ -172,6 +239,38 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * In-process cache statistics (size, hits, misses, evictions)
+     * GET /api/admin/system/caches
+     */
+    @GetMapping("/system/caches")
+    public ResponseEntity<Map<String, Object>> systemCaches() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("recommendations", recommendationCache.stats());
+        response.put("jwt", jwtTokenProvider.cacheStats());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Email outbox: message counts per status
+     * GET /api/admin/system/email-outbox
+     */
+    @GetMapping("/system/email-outbox")
+    public ResponseEntity<Map<String, Object>> emailOutbox() {
+        return ResponseEntity.ok(emailOutboxDispatcher.stats());
+    }
+
+    /**
+     * Email outbox: retry every message that exhausted its attempts
+     * POST /api/admin/system/email-outbox/requeue-dead
+     */
+    @PostMapping("/system/email-outbox/requeue-dead")
+    public ResponseEntity<Map<String, Object>> requeueDeadEmails() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("requeued", emailOutboxDispatcher.requeueDead());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * System logs (demo placeholder)
      * GET /api/admin/system/logs
@@ -184,6 +283,63 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Collaborative recommendations: status of the item-similarity job
+     * GET /api/admin/recommendations/similarity
+     */
+    @GetMapping("/recommendations/similarity")
+    public ResponseEntity<Map<String, Object>> similarityStatus() {
+        Map<String, Object> response = new HashMap<>(itemSimilarityJob.getLastRun());
+        response.put("running", itemSimilarityJob.isRunning());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Collaborative recommendations: rebuild the item-similarity matrix in the background
+     * POST /api/admin/recommendations/similarity/rebuild
+     */
+    @PostMapping("/recommendations/similarity/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildSimilarity() {
+        Map<String, String> response = new HashMap<>();
+        if (!itemSimilarityJob.rebuildAsync()) {
+            response.put("error", "Similarity rebuild already in progress");
+            return ResponseEntity.status(409).body(response);
+        }
+        response.put("message", "Similarity rebuild started");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * Reading streaks: status of the last full rebuild
+     * GET /api/admin/reading/streaks
+     */
+    @GetMapping("/reading/streaks")
+    public ResponseEntity<Map<String, Object>> streakRebuildStatus() {
+        Map<String, Object> response = new HashMap<>(readingStreakJob.getLastRun());
+        response.put("running", readingStreakJob.isRunning());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reading streaks: recompute from reading history, for one user synchronously
+     * or for everyone in the background
+     * POST /api/admin/reading/streaks/rebuild?userId=
+     */
+    @PostMapping("/reading/streaks/rebuild")
+    public ResponseEntity<?> rebuildStreaks(@RequestParam(required = false) Long userId) {
+        if (userId != null) {
+            readingStreakService.recompute(userId);
+            return ResponseEntity.ok(readingStreakService.getStreak(userId));
+        }
+        Map<String, String> response = new HashMap<>();
+        if (!readingStreakJob.rebuildAsync()) {
+            response.put("error", "Streak rebuild already in progress");
+            return ResponseEntity.status(409).body(response);
+        }
+        response.put("message", "Streak rebuild started");
+        return ResponseEntity.accepted().body(response);
+    }
+
     /**
      * Delete User (Admin only) - Hard delete
      * DELETE /api/admin/users/{id}
@@ -252,29 +408,24 @@ public class AdminController {
     }
 
     /**
-     * Moderation: list notes (optionally flagged only, optionally search)
-     * GET /api/admin/moderation/notes
+     * Moderation queue: notes, newest first, one keyset page at a time
+     * GET /api/admin/moderation/notes?flagged=true|false&search=&cursor=&size=
+     * (flaggedOnly=true is still accepted as flagged=true)
      */
     @GetMapping("/moderation/notes")
     public ResponseEntity<?> listNotes(
+            @RequestParam(required = false) Boolean flagged,
             @RequestParam(defaultValue = "false") boolean flaggedOnly,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Note> notes;
-            if (flaggedOnly) {
-                if (search != null && !search.trim().isEmpty()) {
-                    notes = noteRepository.findByFlaggedTrueAndTextContainingIgnoreCaseOrderByCreatedAtDesc(search);
-                } else {
-                    notes = noteRepository.findByFlaggedTrueOrderByCreatedAtDesc();
-                }
-            } else {
-                if (search != null && !search.trim().isEmpty()) {
-                    notes = noteRepository.findByTextContainingIgnoreCase(search);
-                } else {
-                    notes = noteRepository.findAll();
-                }
-            }
-            return ResponseEntity.ok(notes);
+            Boolean flaggedFilter = flaggedOnly ? Boolean.TRUE : flagged;
+            return ResponseEntity.ok(moderationPage(moderationQueueService.notes(flaggedFilter, search, cursor, size), size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch notes: " + e.getMessage());
@@ -282,6 +433,30 @@ public class AdminController {
         }
     }
 
+    /**
+     * Moderation: delete or unflag many notes at once
+     * POST /api/admin/moderation/notes/bulk  {"action": "delete"|"unflag", "ids": [...]}
+     */
+    @PostMapping("/moderation/notes/bulk")
+    public ResponseEntity<?> bulkNotes(@RequestBody BulkModerationRequest request) {
+        try {
+            ModerationQueueService.Action action = ModerationQueueService.Action.from(String.valueOf(request.getAction()));
+            int affected = moderationQueueService.bulkNotes(action, request.getIds());
+            Map<String, Object> response = new HashMap<>();
+            response.put("action", action.name());
+            response.put("affected", affected);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to update notes: " + e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
     /**
      * Moderation: delete a note
      * DELETE /api/admin/moderation/notes/{id}
@@ -301,29 +476,24 @@ public class AdminController {
     }
 
     /**
-     * Moderation: list quotes (optionally flagged only, optionally search)
-     * GET /api/admin/moderation/quotes
+     * Moderation queue: quotes, newest first, one keyset page at a time
+     * GET /api/admin/moderation/quotes?flagged=true|false&search=&cursor=&size=
+     * (flaggedOnly=true is still accepted as flagged=true)
      */
     @GetMapping("/moderation/quotes")
     public ResponseEntity<?> listQuotes(
+            @RequestParam(required = false) Boolean flagged,
             @RequestParam(defaultValue = "false") boolean flaggedOnly,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<Quote> quotes;
-            if (flaggedOnly) {
-                if (search != null && !search.trim().isEmpty()) {
-                    quotes = quoteRepository.findByFlaggedTrueAndTextContainingIgnoreCaseOrderByIdDesc(search);
-                } else {
-                    quotes = quoteRepository.findByFlaggedTrueOrderByIdDesc();
-                }
-            } else {
-                if (search != null && !search.trim().isEmpty()) {
-                    quotes = quoteRepository.findByTextContainingIgnoreCase(search);
-                } else {
-                    quotes = quoteRepository.findAll();
-                }
-            }
-            return ResponseEntity.ok(quotes);
+            Boolean flaggedFilter = flaggedOnly ? Boolean.TRUE : flagged;
+            return ResponseEntity.ok(moderationPage(moderationQueueService.quotes(flaggedFilter, search, cursor, size), size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch quotes: " + e.getMessage());
@@ -331,6 +501,30 @@ public class AdminController {
         }
     }
 
+    /**
+     * Moderation: delete or unflag many quotes at once
+     * POST /api/admin/moderation/quotes/bulk  {"action": "delete"|"unflag", "ids": [...]}
+     */
+    @PostMapping("/moderation/quotes/bulk")
+    public ResponseEntity<?> bulkQuotes(@RequestBody BulkModerationRequest request) {
+        try {
+            ModerationQueueService.Action action = ModerationQueueService.Action.from(String.valueOf(request.getAction()));
+            int affected = moderationQueueService.bulkQuotes(action, request.getIds());
+            Map<String, Object> response = new HashMap<>();
+            response.put("action", action.name());
+            response.put("affected", affected);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to update quotes: " + e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
     /**
      * Moderation: delete a quote
      * DELETE /api/admin/moderation/quotes/{id}
@@ -349,6 +543,99 @@ public class AdminController {
         }
     }
 
+    /**
+     * Moderation: terms that auto-flag notes and quotes
+     * GET /api/admin/moderation/terms
+     */
+    @GetMapping("/moderation/terms")
+    public ResponseEntity<?> moderationTerms() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("terms", moderationScanner.listTerms());
+        response.put("active", moderationScanner.termCount());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Moderation: add auto-flag terms; the matcher is rebuilt once for the whole list
+     * POST /api/admin/moderation/terms  {"term": "..."} or {"terms": ["...", ...]}
+     */
+    @PostMapping("/moderation/terms")
+    public ResponseEntity<?> addModerationTerms(@RequestBody Map<String, Object> payload) {
+        try {
+            List<String> terms = new ArrayList<>();
+            if (payload.get("term") instanceof String term) {
+                terms.add(term);
+            }
+            if (payload.get("terms") instanceof List<?> list) {
+                for (Object item : list) {
+                    if (!(item instanceof String term)) {
+                        throw new IllegalArgumentException("terms must be a list of strings");
+                    }
+                    terms.add(term);
+                }
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("added", moderationScanner.addTerms(terms));
+            response.put("active", moderationScanner.termCount());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to add terms: " + e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    /**
+     * Moderation: remove an auto-flag term
+     * DELETE /api/admin/moderation/terms/{id}
+     */
+    @DeleteMapping("/moderation/terms/{id}")
+    public ResponseEntity<?> deleteModerationTerm(@PathVariable Long id) {
+        try {
+            if (!moderationScanner.removeTerm(id)) {
+                return ResponseEntity.status(404).body(Map.of("error", "Term not found"));
+            }
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Term removed");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to remove term: " + e.getMessage());
+            return ResponseEntity.status(500).body(error);
+        }
+    }
+
+    /**
+     * Moderation: status of the last auto-flag backfill
+     * GET /api/admin/moderation/scan
+     */
+    @GetMapping("/moderation/scan")
+    public ResponseEntity<Map<String, Object>> moderationScanStatus() {
+        Map<String, Object> response = new HashMap<>(moderationScanner.getLastRun());
+        response.put("running", moderationScanner.isRunning());
+        response.put("activeTerms", moderationScanner.termCount());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Moderation: scan existing unflagged notes and quotes against the current terms
+     * POST /api/admin/moderation/scan/backfill
+     */
+    @PostMapping("/moderation/scan/backfill")
+    public ResponseEntity<Map<String, String>> moderationBackfill() {
+        Map<String, String> response = new HashMap<>();
+        if (!moderationScanner.backfillAsync()) {
+            response.put("error", "Moderation backfill already in progress");
+            return ResponseEntity.status(409).body(response);
+        }
+        response.put("message", "Moderation backfill started");
+        return ResponseEntity.accepted().body(response);
+    }
+
     /**
      * Analytics overview (simple counts)
      * GET /api/admin/analytics/overview
@@ -356,14 +643,7 @@ public class AdminController {
     @GetMapping("/analytics/overview")
     public ResponseEntity<?> analyticsOverview() {
         try {
-            Map<String, Object> metrics = new HashMap<>();
-            metrics.put("totalUsers", userRepository.count());
-            metrics.put("totalAdmins", userRepository.countByRole(User.Role.ADMIN));
-            metrics.put("totalRegularUsers", userRepository.countByRole(User.Role.USER));
-            metrics.put("totalCatalogBooks", catalogRepository.count());
-            metrics.put("totalUserBooks", bookRepository.count());
-            metrics.put("totalNotes", noteRepository.count());
-            metrics.put("totalQuotes", quoteRepository.count());
+            Map<String, Object> metrics = new HashMap<>(platformStatsService.get().toMap());
             metrics.put("message", "Analytics snapshot");
             return ResponseEntity.ok(metrics);
         } catch (Exception e) {
@@ -373,6 +653,32 @@ public class AdminController {
         }
     }
 
+    /**
+     * Reading rollups: status of the last backfill
+     * GET /api/admin/reading/rollups
+     */
+    @GetMapping("/reading/rollups")
+    public ResponseEntity<Map<String, Object>> rollupRebuildStatus() {
+        Map<String, Object> response = new HashMap<>(readingRollupJob.getLastRun());
+        response.put("running", readingRollupJob.isRunning());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reading rollups: re-derive the daily tables from reading_logs in the background
+     * POST /api/admin/reading/rollups/rebuild
+     */
+    @PostMapping("/reading/rollups/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildRollups() {
+        Map<String, String> response = new HashMap<>();
+        if (!readingRollupJob.rebuildAsync()) {
+            response.put("error", "Rollup rebuild already in progress");
+            return ResponseEntity.status(409).body(response);
+        }
+        response.put("message", "Rollup rebuild started");
+        return ResponseEntity.accepted().body(response);
+    }
+
     /**
      * Analytics reading (placeholder)
      * GET /api/admin/analytics/reading
@@ -384,13 +690,11 @@ public class AdminController {
             LocalDate today = LocalDate.now();
             LocalDate from = today.minusDays(days - 1);
 
-            // Pages per day across all users
-            Map<LocalDate, Integer> pagesByDay = new LinkedHashMap<>();
-            for (int i = 0; i < days; i++) pagesByDay.put(from.plusDays(i), 0);
-
-            List<com.example.readsphere.model.ReadingLog> logs7 = readingLogRepository.findByDateBetweenOrderByDateAsc(from, today);
-            for (com.example.readsphere.model.ReadingLog rl : logs7) {
-                pagesByDay.put(rl.getDate(), pagesByDay.getOrDefault(rl.getDate(), 0) + rl.getPages());
+            // Pages per day across all users, from the daily genre rollup
+            Map<LocalDate, Long> pagesByDay = new LinkedHashMap<>();
+            for (int i = 0; i < days; i++) pagesByDay.put(from.plusDays(i), 0L);
+            for (Object[] row : genreDailyReadingRepository.sumPagesByDate(from, today)) {
+                pagesByDay.put((LocalDate) row[0], ((Number) row[1]).longValue());
             }
 
             List<Map<String, Object>> daily = new ArrayList<>();
@@ -403,31 +707,17 @@ public class AdminController {
 
             // Genre breakdown over last 30 days
             LocalDate from30 = today.minusDays(29);
-            List<com.example.readsphere.model.ReadingLog> logs30 = readingLogRepository.findByDateBetween(from30, today);
-            Map<String, Integer> genrePages = new HashMap<>();
-            Map<String, Integer> bookPages = new HashMap<>();
-            for (com.example.readsphere.model.ReadingLog rl : logs30) {
-                String genre;
-                String title;
-                if (rl.getBook() != null) {
-                    genre = rl.getBook().getGenre() != null ? rl.getBook().getGenre() : "Unknown";
-                    title = rl.getBook().getTitle() != null ? rl.getBook().getTitle() : "(Untitled)";
-                } else {
-                    genre = "Unknown";
-                    title = "(Untitled)";
-                }
-                genrePages.put(genre, genrePages.getOrDefault(genre, 0) + rl.getPages());
-                bookPages.put(title, bookPages.getOrDefault(title, 0) + rl.getPages());
+            Map<String, Long> genrePages = new HashMap<>();
+            for (Object[] row : genreDailyReadingRepository.sumPagesByGenre(from30, today)) {
+                genrePages.put((String) row[0], ((Number) row[1]).longValue());
             }
 
             // Top 5 books by pages
-            List<Map.Entry<String, Integer>> sortedBooks = new ArrayList<>(bookPages.entrySet());
-            sortedBooks.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
             List<Map<String, Object>> topBooks = new ArrayList<>();
-            for (int i = 0; i < Math.min(5, sortedBooks.size()); i++) {
+            for (Object[] row : bookDailyReadingRepository.topTitlesByPages(from30, today, PageRequest.of(0, 5))) {
                 Map<String, Object> m = new HashMap<>();
-                m.put("title", sortedBooks.get(i).getKey());
-                m.put("pages", sortedBooks.get(i).getValue());
+                m.put("title", row[0] != null ? row[0] : "(Untitled)");
+                m.put("pages", ((Number) row[1]).longValue());
                 topBooks.add(m);
             }
 
@@ -455,29 +745,20 @@ public class AdminController {
     @GetMapping("/analytics/catalog")
     public ResponseEntity<?> analyticsCatalog() {
         try {
-            // Get all catalog books and group by genre
-            List<BookCatalog> allBooks = catalogRepository.findAll();
-            Map<String, Integer> genreCount = new HashMap<>();
+            // Served from the genre facet maintained by the catalog index
+            GenreFacet facet = catalogIndex.genreFacet();
+            Map<String, Long> genreCount = new HashMap<>();
             Map<String, Double> genreAvgRating = new HashMap<>();
 
-            for (BookCatalog book : allBooks) {
-                String genre = book.getGenre() != null ? book.getGenre() : "Unknown";
-                genreCount.put(genre, genreCount.getOrDefault(genre, 0) + 1);
-                
-                Double currentAvg = genreAvgRating.getOrDefault(genre, 0.0);
-                genreAvgRating.put(genre, currentAvg + (book.getAverageRating() != null ? book.getAverageRating() : 0.0));
-            }
-
-            // Calculate average ratings per genre
-            for (String genre : genreAvgRating.keySet()) {
-                int count = genreCount.getOrDefault(genre, 1);
-                genreAvgRating.put(genre, Math.round((genreAvgRating.get(genre) / count) * 10.0) / 10.0);
+            for (GenreFacet.GenreStats stats : facet.stats()) {
+                genreCount.put(stats.getLabel(), stats.getCount());
+                genreAvgRating.put(stats.getLabel(), Math.round(stats.getAverageRating() * 10.0) / 10.0);
             }
 
             Map<String, Object> response = new HashMap<>();
             response.put("genreCount", genreCount);
             response.put("genreAvgRating", genreAvgRating);
-            response.put("totalBooks", allBooks.size());
+            response.put("totalBooks", facet.totalBooks());
             response.put("totalGenres", genreCount.size());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -493,32 +774,53 @@ public class AdminController {
 
     /**
      * List Catalog Books (Admin only)
-     * GET /api/admin/catalog?page=0&size=20&search=query
+     * GET /api/admin/catalog?page=0&size=20&search=query&sort=rating|title|year&cursor=
+     * Without a search the listing is served from the in-memory catalog index, so
+     * deep pages cost the same as the first; pass nextCursor for stable scrolling.
      */
     @GetMapping("/catalog")
     public ResponseEntity<?> listCatalog(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor) {
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            Page<BookCatalog> booksPage;
-            
+            int safePage = Math.max(page, 0);
+            int safeSize = Math.min(Math.max(size, 1), 100);
+            List<BookCatalog> books;
+            long totalElements;
+            // Search ranks only its first hits, so fewer pages than totalElements suggests can be reached
+            long pageableElements;
+            String nextCursor = null;
+
             if (search != null && !search.trim().isEmpty()) {
-                booksPage = catalogRepository.findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(
-                    search, search, pageable);
+                CatalogSearchIndex.SearchResult result = catalogSearchIndex.search(search, safePage, safeSize);
+                books = result.getBooks();
+                totalElements = result.getTotal();
+                pageableElements = result.getReachable();
+                safePage = result.getPage();
             } else {
-                booksPage = catalogRepository.findAll(pageable);
+                CatalogIndex.PageResult result = catalogIndex.page(null, CatalogIndex.Sort.from(sort), cursor, safePage, safeSize);
+                books = result.getBooks();
+                totalElements = result.getTotal();
+                pageableElements = totalElements;
+                nextCursor = result.getNextCursor();
             }
             
             Map<String, Object> response = new HashMap<>();
-            response.put("books", booksPage.getContent());
-            response.put("totalElements", booksPage.getTotalElements());
-            response.put("totalPages", booksPage.getTotalPages());
-            response.put("currentPage", page);
-            response.put("pageSize", size);
+            response.put("books", books);
+            response.put("totalElements", totalElements);
+            response.put("totalPages", (pageableElements + safeSize - 1) / safeSize);
+            response.put("currentPage", safePage);
+            response.put("pageSize", safeSize);
+            response.put("nextCursor", nextCursor);
             
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Failed to fetch catalog: " + e.getMessage());
@@ -574,6 +876,8 @@ public class AdminController {
             book.setTotalPages(request.getPageCount() != null ? request.getPageCount() : 0);
 
             BookCatalog saved = catalogRepository.save(book);
+            catalogIndex.upsert(saved);
+            catalogSearchIndex.upsert(saved);
             
             return ResponseEntity.status(201).body(Map.of("id", saved.getId(), "message", "Book created successfully"));
         } catch (Exception e) {
@@ -610,7 +914,11 @@ public class AdminController {
                 book.setTotalPages(request.getPageCount());
             }
 
-            catalogRepository.save(book);
+            BookCatalog saved = catalogRepository.save(book);
+            catalogIndex.upsert(saved);
+            catalogSearchIndex.upsert(saved);
+            // Cached lists of any user may show the old title, genre or rating
+            recommendationCache.invalidateAll();
             
             return ResponseEntity.ok(Map.of("message", "Book updated successfully"));
         } catch (IllegalArgumentException e) {
@@ -631,6 +939,9 @@ public class AdminController {
                     .orElseThrow(() -> new IllegalArgumentException("Book not found"));
 
             catalogRepository.delete(book);
+            catalogIndex.remove(id);
+            catalogSearchIndex.remove(id);
+            recommendationCache.invalidateAll();
             
             return ResponseEntity.ok(Map.of("message", "Book deleted successfully"));
         } catch (IllegalArgumentException e) {
@@ -639,4 +950,13 @@ public class AdminController {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to delete book: " + e.getMessage()));
         }
     }
+
+    private static Map<String, Object> moderationPage(ModerationQueueService.PageResult<?> page, int size) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.getNextCursor() != null);
+        response.put("size", Math.min(Math.max(size, 1), ModerationQueueService.MAX_PAGE_SIZE));
+        return response;
+    }
 }
@@ -5,8 +5,12 @@ import com.example.readsphere.dto.LoginRequest;
 import com.example.readsphere.dto.AuthResponse;
 import com.example.readsphere.dto.PasswordResetRequest;
 import com.example.readsphere.dto.ResetPasswordConfirmRequest;
+import com.example.readsphere.security.AuthThrottle;
+import com.example.readsphere.security.PasswordHashingService;
 import com.example.readsphere.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +26,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthThrottle authThrottle;
+
     /**
      * RS-101: User Registration API
      * POST /api/auth/register
@@ -29,7 +36,9 @@ public class AuthController {
      * Response: { userId, token, refreshToken, message }
      */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<?> register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        ResponseEntity<?> throttled = throttle("register", httpRequest, request.getEmail());
+        if (throttled != null) return throttled;
         try {
             AuthResponse response = userService.registerUser(request);
             return ResponseEntity.ok(response);
@@ -37,6 +46,8 @@ public class AuthController {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (PasswordHashingService.CapacityExceededException e) {
+            return busy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Registration failed: " + e.getMessage());
@@ -51,7 +62,9 @@ public class AuthController {
      * Response: { userId, token, refreshToken, message }
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        ResponseEntity<?> throttled = throttle("login", httpRequest, request.getEmail());
+        if (throttled != null) return throttled;
         try {
             AuthResponse response = userService.loginUser(request);
             return ResponseEntity.ok(response);
@@ -59,6 +72,8 @@ public class AuthController {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        } catch (PasswordHashingService.CapacityExceededException e) {
+            return busy(e);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Login failed: " + e.getMessage());
@@ -140,4 +155,27 @@ public class AuthController {
         response.put("status", "Auth service is running");
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 429 with Retry-After when the client IP or the email is over its attempt budget.
+     */
+    private ResponseEntity<?> throttle(String action, HttpServletRequest httpRequest, String email) {
+        long retryAfter = authThrottle.tryAcquire(action, httpRequest.getRemoteAddr(), email);
+        if (retryAfter == 0) {
+            return null;
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Too many attempts, please try again in " + retryAfter + " seconds");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(error);
+    }
+
+    private ResponseEntity<?> busy(PasswordHashingService.CapacityExceededException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
 }
@@ -1,7 +1,8 @@
 package com.example.readsphere.controller;
 
-import com.example.readsphere.model.BookCatalog;
 import com.example.readsphere.repository.BookCatalogRepository;
+import com.example.readsphere.service.catalog.CatalogIndex;
+import com.example.readsphere.service.catalog.CatalogSearchIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,19 +15,22 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class BookCatalogController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookCatalogRepository catalogRepository;
+    private final CatalogIndex catalogIndex;
+    private final CatalogSearchIndex catalogSearchIndex;
 
-    public BookCatalogController(BookCatalogRepository catalogRepository) {
+    public BookCatalogController(BookCatalogRepository catalogRepository, CatalogIndex catalogIndex,
+                                 CatalogSearchIndex catalogSearchIndex) {
         this.catalogRepository = catalogRepository;
+        this.catalogIndex = catalogIndex;
+        this.catalogSearchIndex = catalogSearchIndex;
     }
 
     @GetMapping("/genres")
     public List<String> getGenres() {
-        return catalogRepository.findAll().stream()
-                .map(BookCatalog::getGenre)
-                .distinct()
-                .sorted()
-                .toList();
+        return catalogIndex.genreFacet().genres();
     }
 
     @GetMapping("/top-rated")
@@ -42,17 +46,20 @@ public class BookCatalogController {
 
     @GetMapping("/search")
     public ResponseEntity<?> searchBooks(@RequestParam(value = "q", required = false) String query,
-                                         @RequestParam(value = "by", defaultValue = "title") String searchBy) {
+                                         @RequestParam(value = "page", defaultValue = "0") int page,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) {
         try {
-            if (query == null || query.isBlank()) {
-                return ResponseEntity.ok(catalogRepository.findAll());
-            }
-            
-            return ResponseEntity.ok(switch (searchBy.toLowerCase()) {
-                case "author" -> catalogRepository.findByAuthorContainingIgnoreCase(query);
-                case "title" -> catalogRepository.findByTitleContainingIgnoreCase(query);
-                default -> catalogRepository.findByTitleContainingIgnoreCase(query);
-            });
+            int safePage = Math.max(page, 0);
+            int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            CatalogSearchIndex.SearchResult result = catalogSearchIndex.search(query, safePage, safeSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("books", result.getBooks());
+            response.put("page", result.getPage());
+            response.put("size", safeSize);
+            response.put("total", result.getTotal());
+            response.put("reachable", result.getReachable());
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Search failed: " + e.getMessage());
@@ -60,13 +67,31 @@ public class BookCatalogController {
         }
     }
 
+    /**
+     * Browse the catalog one page at a time.
+     * GET /api/catalog?genre=&sort=rating|title|year&cursor=&size=
+     * Pass the returned nextCursor back to fetch the following page.
+     */
     @GetMapping
-    public ResponseEntity<?> getAllBooks(@RequestParam(value = "genre", required = false) String genre) {
+    public ResponseEntity<?> getAllBooks(@RequestParam(value = "genre", required = false) String genre,
+                                         @RequestParam(value = "sort", required = false) String sort,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) {
         try {
-            if (genre != null && !genre.isBlank()) {
-                return ResponseEntity.ok(catalogRepository.findByGenreIgnoreCase(genre));
-            }
-            return ResponseEntity.ok(catalogRepository.findAll());
+            int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            CatalogIndex.PageResult result = catalogIndex.page(genre, CatalogIndex.Sort.from(sort), cursor, 0, safeSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("books", result.getBooks());
+            response.put("nextCursor", result.getNextCursor());
+            response.put("hasMore", result.getNextCursor() != null);
+            response.put("size", safeSize);
+            response.put("total", result.getTotal());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to fetch books: " + e.getMessage());
@@ -4,20 +4,29 @@ import com.example.readsphere.model.Book;
 import com.example.readsphere.model.User;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.UserRepository;
-import com.example.readsphere.repository.ReadingLogRepository;
 import com.example.readsphere.dto.BookRequest;
+import com.example.readsphere.dto.BookSummary;
 import com.example.readsphere.dto.ImportResult;
+import com.example.readsphere.dto.LibrarySearchHit;
 import com.example.readsphere.service.storage.AzureBlobService;
+import com.example.readsphere.service.importer.BookImportJob;
+import com.example.readsphere.service.importer.BookImportService;
+import com.example.readsphere.service.reading.ReadingLogService;
+import com.example.readsphere.service.reading.ReadingRollupService;
+import com.example.readsphere.service.recommendation.RecommendationCache;
+import com.example.readsphere.service.db.OffsetCursor;
+import com.example.readsphere.service.search.LibrarySearchService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/books")
@@ -27,23 +36,35 @@ public class BookController {
     private final BookRepository bookRepository;
     private final UserRepository userRepository;
     private final AzureBlobService azureBlobService;
-    private final ReadingLogRepository readingLogRepository;
-
-    public BookController(BookRepository bookRepository, UserRepository userRepository, AzureBlobService azureBlobService, ReadingLogRepository readingLogRepository) {
+    private final ReadingLogService readingLogService;
+    private final ReadingRollupService readingRollupService;
+    private final RecommendationCache recommendationCache;
+    private final BookImportService bookImportService;
+    private final LibrarySearchService librarySearchService;
+
+    public BookController(BookRepository bookRepository, UserRepository userRepository, AzureBlobService azureBlobService, ReadingLogService readingLogService,
+                          ReadingRollupService readingRollupService, RecommendationCache recommendationCache, BookImportService bookImportService,
+                          LibrarySearchService librarySearchService) {
         this.bookRepository = bookRepository;
         this.userRepository = userRepository;
         this.azureBlobService = azureBlobService;
-        this.readingLogRepository = readingLogRepository;
+        this.readingLogService = readingLogService;
+        this.readingRollupService = readingRollupService;
+        this.recommendationCache = recommendationCache;
+        this.bookImportService = bookImportService;
+        this.librarySearchService = librarySearchService;
     }
 
+    // List endpoints return summaries with note/quote counts; GET /{id} has the full collections
+
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public List<BookSummary> getAllBooks() {
+        return bookRepository.findAllSummaries();
     }
 
     @GetMapping("/user/{userId}")
-    public List<Book> getBooksByUser(@PathVariable Long userId) {
-        return bookRepository.findByUserId(userId);
+    public List<BookSummary> getBooksByUser(@PathVariable Long userId) {
+        return bookRepository.findSummariesByUserId(userId);
     }
 
     @GetMapping("/{id}")
@@ -61,6 +82,7 @@ public class BookController {
         b.setRating(req.getRating());
         b.setUser(userOpt.get());
         Book saved = bookRepository.save(b);
+        recommendationCache.invalidate(userId);
         return ResponseEntity.ok(saved);
     }
 
@@ -69,6 +91,7 @@ public class BookController {
         Optional<Book> existingOpt = bookRepository.findById(id);
         if (existingOpt.isEmpty()) return ResponseEntity.notFound().build();
         Book b = existingOpt.get();
+        boolean genreChanged = !Objects.equals(b.getGenre(), req.getGenre());
         b.setTitle(req.getTitle());
         b.setAuthor(req.getAuthor());
         b.setGenre(req.getGenre());
@@ -77,15 +100,22 @@ public class BookController {
         b.setStatus(req.getStatus());
         b.setRating(req.getRating());
         Book saved = bookRepository.save(b);
+        if (genreChanged) {
+            // The genre rollup still counts this book's reading under the old genre
+            readingRollupService.bookGenreChanged(saved);
+        }
+        invalidateRecommendations(saved);
         return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBook(@PathVariable Long id) {
-        if (!bookRepository.existsById(id)) return ResponseEntity.notFound().build();
+        Optional<Book> existingOpt = bookRepository.findById(id);
+        if (existingOpt.isEmpty()) return ResponseEntity.notFound().build();
+        invalidateRecommendations(existingOpt.get());
         
         // First, delete all reading logs associated with this book
-        readingLogRepository.deleteByBookId(id);
+        readingLogService.deleteLogsForBook(existingOpt.get());
         
         // Then delete the book (cascade will remove notes/quotes)
         bookRepository.deleteById(id);
@@ -108,26 +138,35 @@ public class BookController {
             b.setStatus("READING");
         }
         Book saved = bookRepository.save(b);
+        invalidateRecommendations(saved);
         return ResponseEntity.ok(saved);
     }
 
+    /**
+     * Ranked search over the user's legacy books and shelved catalog books.
+     * GET /api/books/user/{userId}/search?q=&cursor=&size=
+     */
     @GetMapping("/user/{userId}/search")
-    public List<Book> searchBooks(@PathVariable Long userId, @RequestParam("q") String q) {
-        String query = q == null ? "" : q.trim();
-        Set<Book> result = new HashSet<>();
-        if (!query.isEmpty()) {
-            result.addAll(bookRepository.findByUserIdAndTitleContainingIgnoreCase(userId, query));
-            result.addAll(bookRepository.findByUserIdAndAuthorContainingIgnoreCase(userId, query));
-            result.addAll(bookRepository.findByUserIdAndGenreContainingIgnoreCase(userId, query));
-        } else {
-            result.addAll(bookRepository.findByUserId(userId));
+    public ResponseEntity<?> searchBooks(@PathVariable Long userId,
+                                         @RequestParam("q") String q,
+                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            OffsetCursor.Page<LibrarySearchHit> page = librarySearchService.search(userId, q, cursor, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.getNextCursor() != null);
+            response.put("size", Math.min(Math.max(size, 1), LibrarySearchService.MAX_PAGE_SIZE));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
-        return new ArrayList<>(result);
     }
 
     @GetMapping("/user/{userId}/status")
-    public List<Book> filterByStatus(@PathVariable Long userId, @RequestParam("status") String status) {
-        return bookRepository.findByUserIdAndStatusIgnoreCase(userId, status);
+    public List<BookSummary> filterByStatus(@PathVariable Long userId, @RequestParam("status") String status) {
+        return bookRepository.findSummariesByUserIdAndStatus(userId, status);
     }
 
     @PostMapping("/{id}/cover")
@@ -139,44 +178,40 @@ public class BookController {
             Book b = existingOpt.get();
             b.setCoverUrl(url);
             bookRepository.save(b);
+            invalidateRecommendations(b);
             return ResponseEntity.ok(b);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
 
+    /**
+     * Queue a CSV import. Returns 202 with the job; poll
+     * GET /api/books/user/{userId}/import-csv/{jobId} for progress and rejected rows.
+     */
     @PostMapping("/user/{userId}/import-csv")
-    public ResponseEntity<ImportResult> importCsv(@PathVariable Long userId, @RequestParam("file") MultipartFile file) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) return ResponseEntity.badRequest().body(new ImportResult(0, 0, "Invalid userId"));
-        int imported = 0, failed = 0;
+    public ResponseEntity<?> importCsv(@PathVariable Long userId, @RequestParam("file") MultipartFile file) {
+        if (!userRepository.existsById(userId)) return ResponseEntity.badRequest().body(new ImportResult(0, 0, "Invalid userId"));
+        if (file.isEmpty()) return ResponseEntity.badRequest().body(new ImportResult(0, 0, "File is empty"));
         try {
-            String content = new String(file.getBytes());
-            String[] lines = content.split("\r?\n");
-            for (String line : lines) {
-                if (line.trim().isEmpty()) continue;
-                // CSV: title,author,genre,totalPages,status,pagesRead(optional),rating(optional)
-                String[] parts = line.split(",");
-                try {
-                    String title = parts[0].trim();
-                    String author = parts[1].trim();
-                    String genre = parts[2].trim();
-                    int totalPages = Integer.parseInt(parts[3].trim());
-                    String status = parts[4].trim();
-                    int pagesRead = (parts.length > 5 && !parts[5].trim().isEmpty()) ? Integer.parseInt(parts[5].trim()) : 0;
-                    Integer rating = (parts.length > 6 && !parts[6].trim().isEmpty()) ? Integer.parseInt(parts[6].trim()) : null;
-                    Book b = new Book(title, author, genre, totalPages, pagesRead, status);
-                    b.setRating(rating);
-                    b.setUser(userOpt.get());
-                    bookRepository.save(b);
-                    imported++;
-                } catch (Exception ex) {
-                    failed++;
-                }
-            }
-            return ResponseEntity.ok(new ImportResult(imported, failed, "Import completed"));
+            return ResponseEntity.accepted().body(bookImportService.submit(userId, file));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(new ImportResult(0, 0, "Too many imports in progress, try again shortly"));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(new ImportResult(imported, failed, e.getMessage()));
+            return ResponseEntity.internalServerError().body(new ImportResult(0, 0, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/user/{userId}/import-csv/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable Long userId, @PathVariable String jobId) {
+        BookImportJob job = bookImportService.find(userId, jobId);
+        if (job == null) return ResponseEntity.status(404).body(Map.of("error", "Import job not found"));
+        return ResponseEntity.ok(job);
+    }
+
+    private void invalidateRecommendations(Book book) {
+        if (book.getUser() != null) {
+            recommendationCache.invalidate(book.getUser().getId());
         }
     }
 }
@@ -2,11 +2,14 @@ package com.example.readsphere.controller;
 
 import com.example.readsphere.model.Book;
 import com.example.readsphere.model.Note;
-import com.example.readsphere.model.Tag;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.NoteRepository;
-import com.example.readsphere.repository.TagRepository;
+import com.example.readsphere.dto.ContentSearchHit;
+import com.example.readsphere.service.moderation.ModerationScanner;
+import com.example.readsphere.service.db.OffsetCursor;
+import com.example.readsphere.service.search.ContentSearchService;
 import com.example.readsphere.service.storage.AzureBlobService;
+import com.example.readsphere.service.tag.TagService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,14 +23,18 @@ public class NoteController {
 
     private final NoteRepository noteRepository;
     private final BookRepository bookRepository;
-    private final TagRepository tagRepository;
     private final AzureBlobService azureBlobService;
+    private final ModerationScanner moderationScanner;
+    private final ContentSearchService contentSearchService;
+    private final TagService tagService;
 
-    public NoteController(NoteRepository noteRepository, BookRepository bookRepository, TagRepository tagRepository, AzureBlobService azureBlobService) {
+    public NoteController(NoteRepository noteRepository, BookRepository bookRepository, AzureBlobService azureBlobService, ModerationScanner moderationScanner, ContentSearchService contentSearchService, TagService tagService) {
         this.noteRepository = noteRepository;
         this.bookRepository = bookRepository;
-        this.tagRepository = tagRepository;
         this.azureBlobService = azureBlobService;
+        this.moderationScanner = moderationScanner;
+        this.contentSearchService = contentSearchService;
+        this.tagService = tagService;
     }
 
     @GetMapping("/book/{bookId}")
@@ -45,14 +52,18 @@ public class NoteController {
         String text = payload.getOrDefault("text", "");
         Note n = new Note(text);
         n.setBook(b.get());
-        return ResponseEntity.ok(noteRepository.save(n));
+        Note saved = noteRepository.save(n);
+        moderationScanner.scanNoteAsync(saved.getId(), saved.getText());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> edit(@PathVariable Long id, @RequestBody Map<String, String> payload) {
         return noteRepository.findById(id).map(n -> {
             n.setText(payload.getOrDefault("text", n.getText()));
-            return ResponseEntity.ok(noteRepository.save(n));
+            Note saved = noteRepository.save(n);
+            moderationScanner.scanNoteAsync(saved.getId(), saved.getText());
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -78,24 +89,49 @@ public class NoteController {
         }).orElse(ResponseEntity.status(404).body(Map.of("error", "Note not found")));
     }
 
+    /**
+     * Ranked full-text search over one user's notes, best match first.
+     * GET /api/notes/search?userId=&q=&bookId=&tag=&cursor=&size=
+     */
     @GetMapping("/search")
-    public List<Note> search(@RequestParam("q") String q, @RequestParam(value = "bookId", required = false) Long bookId) {
-        if (bookId != null) return noteRepository.findByBookIdAndTextContainingIgnoreCase(bookId, q);
-        return noteRepository.findByTextContainingIgnoreCase(q);
+    public ResponseEntity<?> search(@RequestParam("userId") Long userId,
+                                    @RequestParam("q") String q,
+                                    @RequestParam(value = "bookId", required = false) Long bookId,
+                                    @RequestParam(value = "tag", required = false) String tag,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            OffsetCursor.Page<ContentSearchHit> page = contentSearchService.searchNotes(userId, q, bookId, tag, cursor, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.getNextCursor() != null);
+            response.put("size", Math.min(Math.max(size, 1), ContentSearchService.MAX_PAGE_SIZE));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PostMapping("/{id}/tags")
     public ResponseEntity<?> setTags(@PathVariable Long id, @RequestBody List<String> tags) {
-        return noteRepository.findById(id).map(n -> {
-            Set<Tag> newTags = new HashSet<>();
-            for (String name : tags) {
-                String cleaned = name.trim();
-                if (cleaned.isEmpty()) continue;
-                Tag tag = tagRepository.findByName(cleaned).orElseGet(() -> tagRepository.save(new Tag(cleaned)));
-                newTags.add(tag);
-            }
-            n.setTags(newTags);
-            return ResponseEntity.ok(noteRepository.save(n));
-        }).orElse(ResponseEntity.notFound().build());
+        if (!noteRepository.existsById(id)) return ResponseEntity.notFound().build();
+        try {
+            tagService.replaceNoteTags(id, tags);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        return noteRepository.findById(id).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Tag autocomplete, served from the in-memory tag dictionary.
+     * GET /api/notes/tags?prefix=&limit=
+     */
+    @GetMapping("/tags")
+    public List<String> suggestTags(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return tagService.suggest(prefix, limit);
     }
 }
@@ -1,76 +1,137 @@
 package com.example.readsphere.controller;
 
-import com.example.readsphere.model.Book;
-import com.example.readsphere.repository.BookRepository;
-import com.example.readsphere.service.PdfService;
+import com.example.readsphere.service.report.PdfReportJob;
+import com.example.readsphere.service.report.PdfReportService;
+import com.example.readsphere.service.report.PdfReportType;
+import com.lowagie.text.DocumentException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/pdf")
 @CrossOrigin(origins = "http://localhost:3000")
 public class PdfController {
 
-    private final PdfService pdfService;
-    private final BookRepository bookRepository;
+    // Tomcat request attributes for handing a file to the connector's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
-    public PdfController(PdfService pdfService, BookRepository bookRepository) {
-        this.pdfService = pdfService;
-        this.bookRepository = bookRepository;
+    private final PdfReportService pdfReportService;
+
+    public PdfController(PdfReportService pdfReportService) {
+        this.pdfReportService = pdfReportService;
     }
 
     @GetMapping("/favorites/{userId}")
-    public ResponseEntity<byte[]> downloadFavorites(@PathVariable Long userId) {
-        // Get all books for the user
-        List<Book> allBooks = bookRepository.findByUserId(userId);
-        
-        // Filter for READ books with high ratings (4-5 stars) or all READ books if no ratings
-        List<Book> favoriteBooks = allBooks.stream()
-                .filter(book -> "READ".equalsIgnoreCase(book.getStatus()))
-                .filter(book -> book.getRating() == null || book.getRating() >= 4)
-                .limit(10)
-                .collect(Collectors.toList());
-
-        byte[] pdfBytes = pdfService.generateBooksPdf(favoriteBooks, "My Favorite Books");
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=favorites.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+    public void downloadFavorites(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        streamReport(response, userId, PdfReportType.FAVORITES);
     }
 
     @GetMapping("/top5/{userId}")
-    public ResponseEntity<byte[]> downloadTop5(@PathVariable Long userId) {
-        // Get top 5 rated books
-        List<Book> topBooks = bookRepository.findByUserId(userId).stream()
-                .filter(book -> "READ".equalsIgnoreCase(book.getStatus()))
-                .filter(book -> book.getRating() != null)
-                .sorted((b1, b2) -> Integer.compare(b2.getRating(), b1.getRating()))
-                .limit(5)
-                .collect(Collectors.toList());
+    public void downloadTop5(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        streamReport(response, userId, PdfReportType.TOP5);
+    }
 
-        byte[] pdfBytes = pdfService.generateBooksPdf(topBooks, "Top 5 Books That Changed My Life");
+    @GetMapping("/all/{userId}")
+    public void downloadAllBooks(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        streamReport(response, userId, PdfReportType.ALL);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=top5-books.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+    /**
+     * Queue an export; poll the returned job and download it once COMPLETED.
+     */
+    @PostMapping("/jobs/{userId}")
+    public ResponseEntity<?> submitReport(@PathVariable Long userId, @RequestParam String type) {
+        PdfReportType reportType;
+        try {
+            reportType = PdfReportType.from(type);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        try {
+            return ResponseEntity.accepted().body(pdfReportService.submit(userId, reportType));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).body(Map.of("error", "Too many exports in progress, try again shortly"));
+        }
     }
 
-    @GetMapping("/all/{userId}")
-    public ResponseEntity<byte[]> downloadAllBooks(@PathVariable Long userId) {
-        List<Book> allBooks = bookRepository.findByUserId(userId);
+    @GetMapping("/jobs/{userId}/{jobId}")
+    public ResponseEntity<?> getReport(@PathVariable Long userId, @PathVariable String jobId) {
+        PdfReportJob job = pdfReportService.find(userId, jobId);
+        if (job == null) return ResponseEntity.status(404).body(Map.of("error", "Export job not found"));
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Serve a finished export from the disk cache. Where the connector supports it the
+     * file is handed to sendfile so the bytes never pass through the JVM heap; otherwise
+     * it is copied with {@link FileChannel#transferTo}.
+     */
+    @GetMapping("/jobs/{userId}/{jobId}/download")
+    public ResponseEntity<?> downloadReport(@PathVariable Long userId, @PathVariable String jobId,
+                                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PdfReportJob job = pdfReportService.find(userId, jobId);
+        if (job == null) return ResponseEntity.status(404).body(Map.of("error", "Export job not found"));
+        if (job.getStatus() != PdfReportJob.Status.COMPLETED) {
+            return ResponseEntity.status(409).body(Map.of("error", "Export is " + job.getStatus()));
+        }
+        Path file = pdfReportService.resultFile(job);
+        if (file == null) return ResponseEntity.status(410).body(Map.of("error", "Export expired, submit it again"));
 
-        byte[] pdfBytes = pdfService.generateBooksPdf(allBooks, "My Complete Book Collection");
+        long length = Files.size(file);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFilename());
+        response.setContentLengthLong(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+        } else {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = 0;
+                while (position < length) {
+                    position += channel.transferTo(position, length - position, out);
+                }
+            }
+        }
+        // The body has been written (or handed to the connector) directly
+        return null;
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=my-books.pdf")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+    /**
+     * Write the PDF straight to the servlet output stream instead of buffering it,
+     * so a large library costs no more heap than a small one.
+     */
+    private void streamReport(HttpServletResponse response, Long userId, PdfReportType type) throws IOException {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + type.getFilename());
+        try {
+            pdfReportService.writeReport(userId, type, response.getOutputStream());
+            response.flushBuffer();
+        } catch (DocumentException e) {
+            System.err.println("❌ PDF export failed: " + e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "PDF generation failed");
+            }
+        }
     }
 }
@@ -4,6 +4,10 @@ import com.example.readsphere.model.Book;
 import com.example.readsphere.model.Quote;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.QuoteRepository;
+import com.example.readsphere.dto.ContentSearchHit;
+import com.example.readsphere.service.moderation.ModerationScanner;
+import com.example.readsphere.service.db.OffsetCursor;
+import com.example.readsphere.service.search.ContentSearchService;
 import com.example.readsphere.service.storage.AzureBlobService;
 import com.example.readsphere.service.storage.LocalStorageService;
 import org.springframework.http.ResponseEntity;
@@ -25,12 +29,16 @@ public class QuoteController {
     private final BookRepository bookRepository;
     private final AzureBlobService azureBlobService;
     private final LocalStorageService localStorageService;
+    private final ModerationScanner moderationScanner;
+    private final ContentSearchService contentSearchService;
 
-    public QuoteController(QuoteRepository quoteRepository, BookRepository bookRepository, AzureBlobService azureBlobService, LocalStorageService localStorageService) {
+    public QuoteController(QuoteRepository quoteRepository, BookRepository bookRepository, AzureBlobService azureBlobService, LocalStorageService localStorageService, ModerationScanner moderationScanner, ContentSearchService contentSearchService) {
         this.quoteRepository = quoteRepository;
         this.bookRepository = bookRepository;
         this.azureBlobService = azureBlobService;
         this.localStorageService = localStorageService;
+        this.moderationScanner = moderationScanner;
+        this.contentSearchService = contentSearchService;
     }
 
     @GetMapping("/book/{bookId}")
@@ -49,7 +57,9 @@ public class QuoteController {
         int pageNumber = ((Number) payload.getOrDefault("pageNumber", 0)).intValue();
         Quote q = new Quote(text, pageNumber);
         q.setBook(b.get());
-        return ResponseEntity.ok(quoteRepository.save(q));
+        Quote saved = quoteRepository.save(q);
+        moderationScanner.scanQuoteAsync(saved.getId(), saved.getText());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
@@ -57,7 +67,9 @@ public class QuoteController {
         return quoteRepository.findById(id).map(q -> {
             if (payload.containsKey("text")) q.setText((String) payload.get("text"));
             if (payload.containsKey("pageNumber")) q.setPageNumber(((Number) payload.get("pageNumber")).intValue());
-            return ResponseEntity.ok(quoteRepository.save(q));
+            Quote saved = quoteRepository.save(q);
+            moderationScanner.scanQuoteAsync(saved.getId(), saved.getText());
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 
@@ -93,9 +105,26 @@ public class QuoteController {
         }).orElse(ResponseEntity.status(404).body(Map.of("error", "Quote not found")));
     }
 
+    /**
+     * Ranked full-text search over one user's quotes, best match first.
+     * GET /api/quotes/search?userId=&q=&bookId=&cursor=&size=
+     */
     @GetMapping("/search")
-    public List<Quote> search(@RequestParam("q") String q, @RequestParam(value = "bookId", required = false) Long bookId) {
-        if (bookId != null) return quoteRepository.findByBookIdAndTextContainingIgnoreCase(bookId, q);
-        return quoteRepository.findByTextContainingIgnoreCase(q);
+    public ResponseEntity<?> search(@RequestParam("userId") Long userId,
+                                    @RequestParam("q") String q,
+                                    @RequestParam(value = "bookId", required = false) Long bookId,
+                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                    @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            OffsetCursor.Page<ContentSearchHit> page = contentSearchService.searchQuotes(userId, q, bookId, cursor, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.getNextCursor() != null);
+            response.put("size", Math.min(Math.max(size, 1), ContentSearchService.MAX_PAGE_SIZE));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 }
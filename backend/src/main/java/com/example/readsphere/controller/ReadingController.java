@@ -1,12 +1,18 @@
 package com.example.readsphere.controller;
 
+import com.example.readsphere.dto.ReadingLogIngestResult;
 import com.example.readsphere.dto.ReadingLogRequest;
 import com.example.readsphere.model.Book;
 import com.example.readsphere.model.ReadingLog;
 import com.example.readsphere.model.User;
+import com.example.readsphere.model.UserDailyReading;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.ReadingLogRepository;
+import com.example.readsphere.repository.UserDailyReadingRepository;
 import com.example.readsphere.repository.UserRepository;
+import com.example.readsphere.service.reading.ReadingLogBatchService;
+import com.example.readsphere.service.reading.ReadingLogService;
+import com.example.readsphere.service.reading.ReadingStreakService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -22,11 +28,21 @@ public class ReadingController {
     private final ReadingLogRepository logRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final ReadingLogService readingLogService;
+    private final ReadingStreakService streakService;
+    private final UserDailyReadingRepository dailyReadingRepository;
+    private final ReadingLogBatchService batchService;
 
-    public ReadingController(ReadingLogRepository logRepository, UserRepository userRepository, BookRepository bookRepository) {
+    public ReadingController(ReadingLogRepository logRepository, UserRepository userRepository, BookRepository bookRepository,
+                             ReadingLogService readingLogService, ReadingStreakService streakService,
+                             UserDailyReadingRepository dailyReadingRepository, ReadingLogBatchService batchService) {
         this.logRepository = logRepository;
         this.userRepository = userRepository;
         this.bookRepository = bookRepository;
+        this.readingLogService = readingLogService;
+        this.streakService = streakService;
+        this.dailyReadingRepository = dailyReadingRepository;
+        this.batchService = batchService;
     }
 
     @PostMapping("/logs/user/{userId}")
@@ -35,20 +51,43 @@ public class ReadingController {
         Optional<Book> b = bookRepository.findById(req.getBookId());
         if (u.isEmpty() || b.isEmpty()) return ResponseEntity.badRequest().body("Invalid userId or bookId");
         LocalDate date = Optional.ofNullable(req.getDate()).orElse(LocalDate.now());
-        ReadingLog saved = logRepository.save(new ReadingLog(u.get(), b.get(), req.getPages(), date));
+        ReadingLog saved = readingLogService.addLog(u.get(), b.get(), req.getPages(), date);
         return ResponseEntity.ok(saved);
     }
 
+    /**
+     * Upload many logs at once. Each entry needs an idempotencyKey; re-sending a key
+     * reports DUPLICATE with the existing log id instead of logging the pages again.
+     * POST /api/reading/logs/user/{userId}/batch
+     */
+    @PostMapping("/logs/user/{userId}/batch")
+    public ResponseEntity<?> addLogs(@PathVariable Long userId, @RequestBody List<ReadingLogRequest> entries) {
+        try {
+            List<ReadingLogIngestResult> results = batchService.ingest(userId, entries);
+            Map<ReadingLogIngestResult.Status, Integer> counts = new EnumMap<>(ReadingLogIngestResult.Status.class);
+            for (ReadingLogIngestResult.Status status : ReadingLogIngestResult.Status.values()) counts.put(status, 0);
+            for (ReadingLogIngestResult result : results) counts.merge(result.getStatus(), 1, Integer::sum);
+            Map<String, Object> response = new HashMap<>();
+            response.put("created", counts.get(ReadingLogIngestResult.Status.CREATED));
+            response.put("duplicates", counts.get(ReadingLogIngestResult.Status.DUPLICATE));
+            response.put("rejected", counts.get(ReadingLogIngestResult.Status.REJECTED));
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<?> summary(@RequestParam Long userId, @RequestParam(defaultValue = "weekly") String range) {
         LocalDate today = LocalDate.now();
         int days = range.equalsIgnoreCase("monthly") ? 30 : 7;
         LocalDate from = today.minusDays(days - 1);
-        List<ReadingLog> logs = logRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, today);
-        Map<LocalDate, Integer> byDay = new LinkedHashMap<>();
-        for (int i = 0; i < days; i++) byDay.put(from.plusDays(i), 0);
-        for (ReadingLog rl : logs) {
-            byDay.put(rl.getDate(), byDay.getOrDefault(rl.getDate(), 0) + rl.getPages());
+        List<UserDailyReading> rollups = dailyReadingRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, today);
+        Map<LocalDate, Long> byDay = new LinkedHashMap<>();
+        for (int i = 0; i < days; i++) byDay.put(from.plusDays(i), 0L);
+        for (UserDailyReading day : rollups) {
+            byDay.put(day.getDate(), day.getPages());
         }
         List<Map<String, Object>> out = new ArrayList<>();
         byDay.forEach((d, pages) -> {
@@ -62,28 +101,7 @@ public class ReadingController {
 
     @GetMapping("/streak")
     public ResponseEntity<?> streak(@RequestParam Long userId) {
-        List<ReadingLog> logs = logRepository.findByUserIdOrderByDateDesc(userId);
-        Set<LocalDate> days = new HashSet<>();
-        for (ReadingLog rl : logs) if (rl.getPages() > 0) days.add(rl.getDate());
-        LocalDate today = LocalDate.now();
-        int current = 0, longest = 0;
-        // compute longest by walking backwards up to 365 days for simplicity
-        int span = 365;
-        int run = 0;
-        for (int i = 0; i < span; i++) {
-            LocalDate d = today.minusDays(i);
-            if (days.contains(d)) {
-                run++;
-                if (i == 0) current = run; // starts from today backwards
-                if (run > longest) longest = run;
-            } else {
-                run = 0;
-            }
-        }
-        Map<String, Integer> resp = new HashMap<>();
-        resp.put("currentStreak", current);
-        resp.put("longestStreak", longest);
-        return ResponseEntity.ok(resp);
+        return ResponseEntity.ok(streakService.getStreak(userId));
     }
 
     @GetMapping("/timeline")
@@ -4,9 +4,12 @@ import com.example.readsphere.dto.RecommendationFeedbackRequest;
 import com.example.readsphere.dto.RecommendationResponse;
 import com.example.readsphere.model.RecommendationFeedback;
 import com.example.readsphere.service.recommendation.CatalogRecommendationService;
+import com.example.readsphere.service.recommendation.RecommendationCache;
 import com.example.readsphere.service.recommendation.RecommendationService;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @RestController
@@ -16,28 +19,40 @@ public class RecommendationController {
 
     private final RecommendationService recommendationService;
     private final CatalogRecommendationService catalogRecommendationService;
+    private final RecommendationCache recommendationCache;
 
     public RecommendationController(RecommendationService recommendationService,
-                                    CatalogRecommendationService catalogRecommendationService) {
+                                    CatalogRecommendationService catalogRecommendationService,
+                                    RecommendationCache recommendationCache) {
         this.recommendationService = recommendationService;
         this.catalogRecommendationService = catalogRecommendationService;
+        this.recommendationCache = recommendationCache;
     }
 
     @GetMapping("/{userId}")
     public List<RecommendationResponse> getRecommendations(@PathVariable Long userId,
                                                            @RequestParam(value = "refresh", defaultValue = "false") boolean refresh,
                                                            @RequestParam(value = "source", defaultValue = "catalog") String source) {
-        if ("catalog".equalsIgnoreCase(source)) {
-            return catalogRecommendationService.recommendFromCatalog(userId, refresh);
-        } else {
-            return recommendationService.recommendBooks(userId, refresh);
+        boolean catalog = "catalog".equalsIgnoreCase(source);
+        List<RecommendationResponse> cached = recommendationCache.get(userId, catalog, () -> catalog
+                ? catalogRecommendationService.recommendFromCatalog(userId, false)
+                : recommendationService.recommendBooks(userId, false));
+
+        // refresh only reorders the cached list; a recompute happens on invalidation or expiry
+        if (refresh && cached.size() > 1) {
+            List<RecommendationResponse> shuffled = new ArrayList<>(cached);
+            Collections.shuffle(shuffled);
+            return shuffled;
         }
+        return cached;
     }
 
     @PostMapping("/{userId}/{bookId}/feedback")
     public RecommendationFeedback submitFeedback(@PathVariable Long userId,
                                                  @PathVariable Long bookId,
                                                  @RequestBody RecommendationFeedbackRequest request) {
-        return catalogRecommendationService.submitFeedback(userId, bookId, request);
+        RecommendationFeedback feedback = catalogRecommendationService.submitFeedback(userId, bookId, request);
+        recommendationCache.invalidate(userId);
+        return feedback;
     }
 }
@@ -10,6 +10,8 @@ import com.example.readsphere.repository.UserRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
 import com.example.readsphere.service.storage.AzureBlobService;
+import com.example.readsphere.service.recommendation.RecommendationCache;
+import com.example.readsphere.service.shelf.ShelfService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -26,23 +28,65 @@ public class UserBookController {
     private final BookCatalogRepository catalogRepository;
     private final UserRepository userRepository;
     private final AzureBlobService azureBlobService;
+    private final RecommendationCache recommendationCache;
+    private final ShelfService shelfService;
 
     public UserBookController(UserBookRepository userBookRepository,
                               BookCatalogRepository catalogRepository,
                               UserRepository userRepository,
-                              AzureBlobService azureBlobService) {
+                              AzureBlobService azureBlobService,
+                              RecommendationCache recommendationCache,
+                              ShelfService shelfService) {
         this.userBookRepository = userBookRepository;
         this.catalogRepository = catalogRepository;
         this.userRepository = userRepository;
         this.azureBlobService = azureBlobService;
+        this.recommendationCache = recommendationCache;
+        this.shelfService = shelfService;
     }
 
     @GetMapping("/user/{userId}")
     public List<Map<String, Object>> getUserBooks(@PathVariable Long userId) {
-        List<UserBook> userBooks = userBookRepository.findByUserId(userId);
+        List<UserBook> userBooks = userBookRepository.findWithCatalogBookByUserId(userId);
         return userBooks.stream().map(this::userBookToMap).collect(Collectors.toList());
     }
 
+    /**
+     * One page of a user's shelf, sorted on the server.
+     * GET /api/user-books/user/{userId}/shelf?status=&sort=added|started|finished|title|rating&dir=desc&cursor=&size=
+     */
+    @GetMapping("/user/{userId}/shelf")
+    public ResponseEntity<?> getShelf(@PathVariable Long userId,
+                                      @RequestParam(required = false) String status,
+                                      @RequestParam(required = false) String sort,
+                                      @RequestParam(defaultValue = "desc") String dir,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "30") int size) {
+        try {
+            if (!"asc".equalsIgnoreCase(dir) && !"desc".equalsIgnoreCase(dir)) {
+                throw new IllegalArgumentException("dir must be asc or desc");
+            }
+            int safeSize = Math.min(Math.max(size, 1), ShelfService.MAX_PAGE_SIZE);
+            ShelfService.PageResult page = shelfService.page(userId, status, ShelfService.Sort.from(sort),
+                    "desc".equalsIgnoreCase(dir), cursor, safeSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.getNextCursor() != null);
+            response.put("size", safeSize);
+            if (cursor == null || cursor.isBlank()) {
+                // Tab totals only with the first page; later pages reuse them
+                response.put("counts", shelfService.countByStatus(userId));
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PostMapping("/user/{userId}/add/{catalogBookId}")
     public ResponseEntity<Map<String, Object>> addBookToShelf(@PathVariable Long userId,
                                                                @PathVariable Long catalogBookId,
@@ -69,6 +113,7 @@ public class UserBookController {
 
             UserBook userBook = new UserBook(user, catalogBook, status);
             userBook = userBookRepository.save(userBook);
+            recommendationCache.invalidate(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Book added to your shelf");
@@ -98,6 +143,7 @@ public class UserBookController {
         }
 
         userBook = userBookRepository.save(userBook);
+        recommendationCache.invalidate(userBook.getUser().getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Book updated");
@@ -107,6 +153,8 @@ public class UserBookController {
 
     @DeleteMapping("/{userBookId}")
     public ResponseEntity<Map<String, String>> deleteUserBook(@PathVariable Long userBookId) {
+        userBookRepository.findById(userBookId)
+                .ifPresent(ub -> recommendationCache.invalidate(ub.getUser().getId()));
         userBookRepository.deleteById(userBookId);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Book removed from shelf");
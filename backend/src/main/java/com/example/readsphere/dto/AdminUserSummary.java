@@ -0,0 +1,45 @@
+package com.example.readsphere.dto;
+
+import com.example.readsphere.model.User;
+
+/**
+ * One row of the admin user list. Built directly by a JPQL constructor
+ * expression so only these columns are read; passwords and tokens never leave
+ * the database.
+ */
+public class AdminUserSummary {
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+    private final boolean emailVerified;
+
+    public AdminUserSummary(Long id, String name, String email, User.Role role, boolean emailVerified) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role != null ? role.name() : null;
+        this.emailVerified = emailVerified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isEmailVerified() {
+        return emailVerified;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.readsphere.dto;
+
+/**
+ * A book as shown in library lists: the book's own columns plus how many notes
+ * and quotes it has. Built by a JPQL constructor expression with the counts as
+ * correlated subqueries, so a list is one statement and never loads the notes
+ * or quotes themselves. The full collections come from GET /api/books/{id}.
+ */
+public class BookSummary {
+
+    private final Long id;
+    private final String title;
+    private final String author;
+    private final String genre;
+    private final int totalPages;
+    private final int pagesRead;
+    private final String status;
+    private final Integer rating;
+    private final String coverUrl;
+    private final Long userId;
+    private final long noteCount;
+    private final long quoteCount;
+
+    public BookSummary(Long id, String title, String author, String genre, int totalPages, int pagesRead,
+                       String status, Integer rating, String coverUrl, Long userId,
+                       Long noteCount, Long quoteCount) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.genre = genre;
+        this.totalPages = totalPages;
+        this.pagesRead = pagesRead;
+        this.status = status;
+        this.rating = rating;
+        this.coverUrl = coverUrl;
+        this.userId = userId;
+        this.noteCount = noteCount != null ? noteCount : 0;
+        this.quoteCount = quoteCount != null ? quoteCount : 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public int getPagesRead() {
+        return pagesRead;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getNoteCount() {
+        return noteCount;
+    }
+
+    public long getQuoteCount() {
+        return quoteCount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.readsphere.dto;
+
+import java.util.List;
+
+public class BulkModerationRequest {
+    private String action; // Expected: "delete" or "unflag"
+    private List<Long> ids;
+
+    public BulkModerationRequest() {
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
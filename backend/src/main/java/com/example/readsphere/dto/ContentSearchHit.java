@@ -0,0 +1,83 @@
+package com.example.readsphere.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One note or quote matched by a text search. {@code snippet} is HTML-escaped
+ * text around the best match with the matched words wrapped in {@code <mark>}.
+ * {@code createdAt} and {@code tags} are set for notes, {@code pageNumber} for quotes.
+ */
+public class ContentSearchHit {
+
+    private final Long id;
+    private final Long bookId;
+    private final String bookTitle;
+    private final String text;
+    private final String imageUrl;
+    private final double score;
+    private final LocalDateTime createdAt;
+    private final Integer pageNumber;
+    private String snippet;
+    private List<String> tags;
+
+    public ContentSearchHit(Long id, Long bookId, String bookTitle, String text, String imageUrl, double score,
+                            LocalDateTime createdAt, Integer pageNumber) {
+        this.id = id;
+        this.bookId = bookId;
+        this.bookTitle = bookTitle;
+        this.text = text;
+        this.imageUrl = imageUrl;
+        this.score = score;
+        this.createdAt = createdAt;
+        this.pageNumber = pageNumber;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public String getBookTitle() {
+        return bookTitle;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Integer getPageNumber() {
+        return pageNumber;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.readsphere.dto;
+
+/**
+ * One book in a user's library that matched a search. {@code source} is BOOK
+ * for a legacy book, where {@code id} is the book id, or SHELF for a catalog
+ * book on the user's shelf, where {@code id} is the user-book id and
+ * {@code catalogBookId} the catalog entry. {@code matchedOn} is the
+ * highest-ranked field the query matched.
+ */
+public class LibrarySearchHit {
+
+    private final String source;
+    private final Long id;
+    private final Long catalogBookId;
+    private final String title;
+    private final String author;
+    private final String genre;
+    private final String coverUrl;
+    private final String status;
+    private final Integer rating;
+    private final Integer pagesRead;
+    private final Integer totalPages;
+    private final String matchedOn;
+
+    public LibrarySearchHit(String source, Long id, Long catalogBookId, String title, String author, String genre,
+                            String coverUrl, String status, Integer rating, Integer pagesRead, Integer totalPages,
+                            String matchedOn) {
+        this.source = source;
+        this.id = id;
+        this.catalogBookId = catalogBookId;
+        this.title = title;
+        this.author = author;
+        this.genre = genre;
+        this.coverUrl = coverUrl;
+        this.status = status;
+        this.rating = rating;
+        this.pagesRead = pagesRead;
+        this.totalPages = totalPages;
+        this.matchedOn = matchedOn;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCatalogBookId() {
+        return catalogBookId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public Integer getPagesRead() {
+        return pagesRead;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public String getMatchedOn() {
+        return matchedOn;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.readsphere.dto;
+
+/**
+ * Outcome of one entry in a batch reading-log upload, at the entry's position in
+ * the request. CREATED and DUPLICATE carry the id of the log the key maps to;
+ * REJECTED carries the reason and nothing was written for it.
+ */
+public class ReadingLogIngestResult {
+
+    public enum Status { CREATED, DUPLICATE, REJECTED }
+
+    private final int index;
+    private final String idempotencyKey;
+    private Status status;
+    private Long logId;
+    private String error;
+
+    public ReadingLogIngestResult(int index, String idempotencyKey) {
+        this.index = index;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public void created(Long logId) {
+        this.status = Status.CREATED;
+        this.logId = logId;
+    }
+
+    public void duplicate(Long logId) {
+        this.status = Status.DUPLICATE;
+        this.logId = logId;
+    }
+
+    public void rejected(String error) {
+        this.status = Status.REJECTED;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getLogId() {
+        return logId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.readsphere.dto;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 public class ReadingLogRequest {
@@ -10,6 +11,8 @@ public class ReadingLogRequest {
     @Min(1)
     private int pages;
     private LocalDate date; // optional, default today
+    @Size(max = 64)
+    private String idempotencyKey; // required by batch ingest, where a repeated key (case-insensitive) is not logged twice
 
     public Long getBookId() { return bookId; }
     public void setBookId(Long bookId) { this.bookId = bookId; }
@@ -17,4 +20,6 @@ public class ReadingLogRequest {
     public void setPages(int pages) { this.pages = pages; }
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
@@ -0,0 +1,128 @@
+package com.example.readsphere.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One book on a user's shelf, in the same shape as the legacy user-book maps.
+ * Built directly by a JPQL constructor expression over user_books joined to
+ * book_catalog, so a page is a single query.
+ */
+public class ShelfEntry {
+
+    private final Long id;
+    private final Long userId;
+    private final String status;
+    private final Integer pagesRead;
+    private final Integer rating;
+    private final LocalDateTime addedDate;
+    private final LocalDateTime startedDate;
+    private final LocalDateTime finishedDate;
+    private final Book book;
+
+    public ShelfEntry(Long id, Long userId, String status, Integer pagesRead, Integer rating,
+                      LocalDateTime addedDate, LocalDateTime startedDate, LocalDateTime finishedDate,
+                      String userCoverUrl, Long bookId, String title, String author, String genre,
+                      String description, String catalogCoverUrl, Double averageRating, Integer totalPages) {
+        this.id = id;
+        this.userId = userId;
+        this.status = status;
+        this.pagesRead = pagesRead;
+        this.rating = rating;
+        this.addedDate = addedDate;
+        this.startedDate = startedDate;
+        this.finishedDate = finishedDate;
+        this.book = new Book(bookId, title, author, genre, description,
+                userCoverUrl != null ? userCoverUrl : catalogCoverUrl, averageRating, totalPages);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getPagesRead() {
+        return pagesRead;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public LocalDateTime getAddedDate() {
+        return addedDate;
+    }
+
+    public LocalDateTime getStartedDate() {
+        return startedDate;
+    }
+
+    public LocalDateTime getFinishedDate() {
+        return finishedDate;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public static class Book {
+        private final Long id;
+        private final String title;
+        private final String author;
+        private final String genre;
+        private final String description;
+        private final String coverUrl;
+        private final Double averageRating;
+        private final Integer totalPages;
+
+        Book(Long id, String title, String author, String genre, String description,
+             String coverUrl, Double averageRating, Integer totalPages) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.genre = genre;
+            this.description = description;
+            this.coverUrl = coverUrl;
+            this.averageRating = averageRating;
+            this.totalPages = totalPages;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public String getGenre() {
+            return genre;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getCoverUrl() {
+            return coverUrl;
+        }
+
+        public Double getAverageRating() {
+            return averageRating;
+        }
+
+        public Integer getTotalPages() {
+            return totalPages;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.readsphere.model;
 
+import com.example.readsphere.service.stats.PlatformStatsListener;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import java.util.List;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_user_title", columnList = "user_id, title")
+})
+@EntityListeners(PlatformStatsListener.class)
 public class Book {
 
     @Id
@@ -1,9 +1,11 @@
 package com.example.readsphere.model;
 
+import com.example.readsphere.service.stats.PlatformStatsListener;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "book_catalog")
+@EntityListeners(PlatformStatsListener.class)
 public class BookCatalog {
 
     @Id
@@ -0,0 +1,59 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pages read per book per day, rolled up from reading_logs as logs are written.
+ */
+@Entity
+@Table(name = "book_daily_reading", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_book_daily_reading", columnNames = {"log_date", "book_id"})
+})
+public class BookDailyReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private long pages;
+
+    public BookDailyReading() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public void setPages(long pages) {
+        this.pages = pages;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One precomputed item-item neighbour: catalog book {@code bookId} is similar to
+ * {@code similarBookId} with the given cosine score. Only the top-K neighbours of
+ * each book are kept.
+ */
+@Entity
+@Table(name = "book_similarities", indexes = {
+        @Index(name = "idx_book_similarities_book", columnList = "book_id")
+})
+public class BookSimilarity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "similar_book_id", nullable = false)
+    private Long similarBookId;
+
+    private double score;
+
+    public BookSimilarity() {
+    }
+
+    public BookSimilarity(Long bookId, Long similarBookId, double score) {
+        this.bookId = bookId;
+        this.similarBookId = similarBookId;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public Long getSimilarBookId() {
+        return similarBookId;
+    }
+
+    public void setSimilarBookId(Long similarBookId) {
+        this.similarBookId = similarBookId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pages read per genre per day, across all users, rolled up from reading_logs as logs are written.
+ */
+@Entity
+@Table(name = "genre_daily_reading", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_genre_daily_reading", columnNames = {"log_date", "genre"})
+})
+public class GenreDailyReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "genre", nullable = false)
+    private String genre;
+
+    @Column(nullable = false)
+    private long pages;
+
+    public GenreDailyReading() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public void setPages(long pages) {
+        this.pages = pages;
+    }
+}
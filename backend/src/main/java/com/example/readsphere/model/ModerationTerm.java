@@ -0,0 +1,47 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A word or phrase that marks a note or quote for moderator review when it
+ * appears in the text. Stored lower-cased; matching is whole-word.
+ */
+@Entity
+@Table(name = "moderation_terms")
+public class ModerationTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String term;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ModerationTerm() {
+    }
+
+    public ModerationTerm(String term) {
+        this.term = term;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.readsphere.model;
 
+import com.example.readsphere.service.stats.PlatformStatsListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "notes")
+@Table(name = "notes", indexes = {
+        @Index(name = "idx_notes_flagged_created", columnList = "flagged, created_at, id"),
+        @Index(name = "idx_notes_created", columnList = "created_at, id"),
+        @Index(name = "idx_notes_book", columnList = "book_id")
+})
+@EntityListeners(PlatformStatsListener.class)
 public class Note {
 
     @Id
@@ -31,7 +38,9 @@ public class Note {
     @JsonBackReference
     private UserBook userBook;
 
+    // Batch-fetched so a page of notes loads its tags in one IN query rather than one per note
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 100)
     @JoinTable(name = "note_tags",
             joinColumns = @JoinColumn(name = "note_id"),
             inverseJoinColumns = @JoinColumn(name = "tag_id"))
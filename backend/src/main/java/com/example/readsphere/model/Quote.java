@@ -1,10 +1,15 @@
 package com.example.readsphere.model;
 
+import com.example.readsphere.service.stats.PlatformStatsListener;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
-@Table(name = "quotes")
+@Table(name = "quotes", indexes = {
+        @Index(name = "idx_quotes_flagged_id", columnList = "flagged, id"),
+        @Index(name = "idx_quotes_book", columnList = "book_id")
+})
+@EntityListeners(PlatformStatsListener.class)
 public class Quote {
 
     @Id
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "reading_logs")
+@Table(name = "reading_logs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reading_logs_user_key", columnNames = {"user_id", "client_key"})
+})
 public class ReadingLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +23,10 @@ public class ReadingLog {
     private int pages;
     private LocalDate date;
 
+    // Client-supplied idempotency key from batch ingest; unique per user when set
+    @Column(name = "client_key", length = 64)
+    private String clientKey;
+
     public ReadingLog() {}
     public ReadingLog(User user, Book book, int pages, LocalDate date) {
         this.user = user; this.book = book; this.pages = pages; this.date = date;
@@ -36,4 +42,6 @@ public class ReadingLog {
     public void setPages(int pages) { this.pages = pages; }
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
+    public String getClientKey() { return clientKey; }
+    public void setClientKey(String clientKey) { this.clientKey = clientKey; }
 }
@@ -0,0 +1,67 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user reading streak state. {@code currentRun} is the length of the run of
+ * consecutive reading days ending on {@code lastActiveDate}; whether that run is
+ * still alive depends on today's date and is decided when the streak is read.
+ */
+@Entity
+@Table(name = "reading_streaks")
+public class ReadingStreak {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "current_run", nullable = false)
+    private int currentRun;
+
+    @Column(name = "longest_streak", nullable = false)
+    private int longestStreak;
+
+    @Column(name = "last_active_date")
+    private LocalDate lastActiveDate;
+
+    public ReadingStreak() {
+    }
+
+    public ReadingStreak(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getCurrentRun() {
+        return currentRun;
+    }
+
+    public void setCurrentRun(int currentRun) {
+        this.currentRun = currentRun;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getLastActiveDate() {
+        return lastActiveDate;
+    }
+
+    public void setLastActiveDate(LocalDate lastActiveDate) {
+        this.lastActiveDate = lastActiveDate;
+    }
+}
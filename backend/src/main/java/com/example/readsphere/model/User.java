@@ -1,11 +1,16 @@
 package com.example.readsphere.model;
 
+import com.example.readsphere.service.stats.PlatformStatsListener;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name_id", columnList = "name, id"),
+        @Index(name = "idx_users_email_id", columnList = "email, id")
+})
+@EntityListeners(PlatformStatsListener.class)
 public class User {
 
     public enum Role {
@@ -45,6 +50,11 @@ public class User {
     @JsonIgnore
     private List<Book> books;
 
+    // Role as last read from or written to the database, for role-change accounting
+    @Transient
+    @JsonIgnore
+    private Role persistedRole;
+
     // Constructors
     public User() {}
 
@@ -158,4 +168,21 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    /**
+     * The role currently stored in the database, or null for an entity that was
+     * never loaded or saved. Entity listeners run before this class's own
+     * callbacks, so during {@code @PostUpdate} it still holds the previous role.
+     */
+    @JsonIgnore
+    public Role getPersistedRole() {
+        return persistedRole;
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedRole() {
+        persistedRole = role;
+    }
 }
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "user_books")
+@Table(name = "user_books", indexes = {
+        @Index(name = "idx_user_books_user_added", columnList = "user_id, added_date, id"),
+        @Index(name = "idx_user_books_user_status", columnList = "user_id, status")
+})
 public class UserBook {
 
     @Id
@@ -21,12 +25,12 @@ public class UserBook {
     @JoinColumn(name = "catalog_book_id", nullable = false)
     private BookCatalog catalogBook;
 
-    private String status; // READ, READING, WANT_TO_READ
+    private String status; // READ, READING, WANT_TO_READ; stored upper-case so filters compare the bare column
     private Integer pagesRead;
     private Integer rating; // User's personal rating 1-5
     private String coverUrl; // Optional user-specific cover
     
-    @Column(name = "added_date")
+    @Column(name = "added_date", nullable = false)
     private LocalDateTime addedDate;
     
     @Column(name = "started_date")
@@ -51,7 +55,7 @@ public class UserBook {
     public UserBook(User user, BookCatalog catalogBook, String status) {
         this.user = user;
         this.catalogBook = catalogBook;
-        this.status = status;
+        this.status = normalizeStatus(status);
         this.pagesRead = 0;
         this.addedDate = LocalDateTime.now();
     }
@@ -93,7 +97,11 @@ public class UserBook {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = normalizeStatus(status);
+    }
+
+    public static String normalizeStatus(String status) {
+        return status == null ? null : status.trim().toUpperCase(Locale.ROOT);
     }
 
     public Integer getPagesRead() {
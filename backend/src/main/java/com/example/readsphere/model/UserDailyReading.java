@@ -0,0 +1,59 @@
+package com.example.readsphere.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pages read per user per day, rolled up from reading_logs as logs are written.
+ */
+@Entity
+@Table(name = "user_daily_reading", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_daily_reading", columnNames = {"user_id", "log_date"})
+})
+public class UserDailyReading {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long pages;
+
+    public UserDailyReading() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getPages() {
+        return pages;
+    }
+
+    public void setPages(long pages) {
+        this.pages = pages;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.BookDailyReading;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookDailyReadingRepository extends JpaRepository<BookDailyReading, Long> {
+
+    /**
+     * Rows of [title, pages], most pages first. Books are per-user copies, so pages
+     * are summed by title across everyone reading the same book.
+     */
+    @Query("SELECT b.title, SUM(r.pages) FROM BookDailyReading r, Book b WHERE b.id = r.bookId " +
+           "AND r.date BETWEEN :from AND :to GROUP BY b.title ORDER BY SUM(r.pages) DESC")
+    List<Object[]> topTitlesByPages(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+}
@@ -1,17 +1,39 @@
 package com.example.readsphere.repository;
 
+import com.example.readsphere.dto.BookSummary;
 import com.example.readsphere.model.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // List projection: book columns plus note/quote counts, without loading either collection
+    String SUMMARY = "SELECT new com.example.readsphere.dto.BookSummary(b.id, b.title, b.author, b.genre, " +
+            "b.totalPages, b.pagesRead, b.status, b.rating, b.coverUrl, b.user.id, " +
+            "(SELECT COUNT(n) FROM Note n WHERE n.book = b), (SELECT COUNT(q) FROM Quote q WHERE q.book = b)) " +
+            "FROM Book b";
+
     List<Book> findByUserId(Long userId);
 
-    List<Book> findByUserIdAndStatusIgnoreCase(Long userId, String status);
-    List<Book> findByUserIdAndTitleContainingIgnoreCase(Long userId, String title);
-    List<Book> findByUserIdAndAuthorContainingIgnoreCase(Long userId, String author);
-    List<Book> findByUserIdAndGenreContainingIgnoreCase(Long userId, String genre);
+    // Read row by row for exports; callers must be in a transaction and close the stream
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "100"))
+    @Query("SELECT b FROM Book b WHERE b.user.id = :userId ORDER BY b.id")
+    Stream<Book> streamByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY + " ORDER BY b.id")
+    List<BookSummary> findAllSummaries();
+
+    @Query(SUMMARY + " WHERE b.user.id = :userId ORDER BY b.id")
+    List<BookSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY + " WHERE b.user.id = :userId AND UPPER(b.status) = UPPER(:status) ORDER BY b.id")
+    List<BookSummary> findSummariesByUserIdAndStatus(@Param("userId") Long userId, @Param("status") String status);
 }
@@ -0,0 +1,12 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.BookSimilarity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookSimilarityRepository extends JpaRepository<BookSimilarity, Long> {
+    List<BookSimilarity> findByBookIdOrderByScoreDesc(Long bookId);
+}
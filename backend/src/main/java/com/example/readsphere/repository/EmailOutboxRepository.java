@@ -0,0 +1,46 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Messages ready to send: rows in one of the given statuses (PENDING, plus
+     * SENDING for expired leases) whose next attempt time has passed. Locked rows
+     * are skipped (lock timeout -2 is Hibernate's SKIP LOCKED) so concurrent
+     * dispatchers claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m " +
+           "WHERE m.status IN :statuses AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt ASC")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("statuses") Collection<EmailOutboxMessage.Status> statuses,
+                                              @Param("now") Instant now, Pageable pageable);
+
+    long countByStatus(EmailOutboxMessage.Status status);
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :to, m.attempts = 0, m.nextAttemptAt = :now " +
+           "WHERE m.status = :from")
+    int resetStatus(@Param("from") EmailOutboxMessage.Status from, @Param("to") EmailOutboxMessage.Status to,
+                    @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = :status AND m.sentAt < :before")
+    int deleteByStatusSentBefore(@Param("status") EmailOutboxMessage.Status status, @Param("before") Instant before);
+}
@@ -0,0 +1,27 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.GenreDailyReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface GenreDailyReadingRepository extends JpaRepository<GenreDailyReading, Long> {
+
+    /**
+     * Rows of [date, pages]; every log counts towards exactly one genre, so this is
+     * the platform-wide total per day.
+     */
+    @Query("SELECT g.date, SUM(g.pages) FROM GenreDailyReading g WHERE g.date BETWEEN :from AND :to GROUP BY g.date")
+    List<Object[]> sumPagesByDate(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Rows of [genre, pages].
+     */
+    @Query("SELECT g.genre, SUM(g.pages) FROM GenreDailyReading g WHERE g.date BETWEEN :from AND :to GROUP BY g.genre")
+    List<Object[]> sumPagesByGenre(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
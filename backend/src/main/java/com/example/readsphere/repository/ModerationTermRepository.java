@@ -0,0 +1,19 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.ModerationTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ModerationTermRepository extends JpaRepository<ModerationTerm, Long> {
+
+    boolean existsByTerm(String term);
+
+    List<ModerationTerm> findAllByOrderByTermAsc();
+
+    @Query("SELECT t.term FROM ModerationTerm t")
+    List<String> findAllTerms();
+}
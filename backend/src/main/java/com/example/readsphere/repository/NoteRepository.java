@@ -2,18 +2,17 @@ package com.example.readsphere.repository;
 
 import com.example.readsphere.model.Note;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
     List<Note> findByBookIdOrderByCreatedAtDesc(Long bookId);
-    List<Note> findByTextContainingIgnoreCase(String q);
-    List<Note> findByBookIdAndTextContainingIgnoreCase(Long bookId, String q);
-
-    List<Note> findByFlaggedTrueOrderByCreatedAtDesc();
-    List<Note> findByFlaggedTrueAndTextContainingIgnoreCaseOrderByCreatedAtDesc(String q);
 
     // Filter notes by book and owning user
     @org.springframework.data.jpa.repository.Query(
@@ -23,4 +22,17 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
         @org.springframework.data.repository.query.Param("bookId") Long bookId,
         @org.springframework.data.repository.query.Param("userId") Long userId
     );
+
+    // Set-based moderation actions; callers cap the id list
+    @Modifying
+    @Query("UPDATE Note n SET n.flagged = false, n.flagReason = null WHERE n.id IN :ids")
+    int unflagByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Note n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM note_tags WHERE note_id IN (:ids)", nativeQuery = true)
+    int deleteTagLinksByNoteIdIn(@Param("ids") Collection<Long> ids);
 }
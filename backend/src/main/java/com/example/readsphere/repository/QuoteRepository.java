@@ -2,18 +2,17 @@ package com.example.readsphere.repository;
 
 import com.example.readsphere.model.Quote;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface QuoteRepository extends JpaRepository<Quote, Long> {
     List<Quote> findByBookIdOrderByIdDesc(Long bookId);
-    List<Quote> findByTextContainingIgnoreCase(String q);
-    List<Quote> findByBookIdAndTextContainingIgnoreCase(Long bookId, String q);
-
-    List<Quote> findByFlaggedTrueOrderByIdDesc();
-    List<Quote> findByFlaggedTrueAndTextContainingIgnoreCaseOrderByIdDesc(String q);
 
     // Filter quotes by book and owning user
     @org.springframework.data.jpa.repository.Query(
@@ -23,4 +22,13 @@ public interface QuoteRepository extends JpaRepository<Quote, Long> {
         @org.springframework.data.repository.query.Param("bookId") Long bookId,
         @org.springframework.data.repository.query.Param("userId") Long userId
     );
+
+    // Set-based moderation actions; callers cap the id list
+    @Modifying
+    @Query("UPDATE Quote q SET q.flagged = false, q.flagReason = null WHERE q.id IN :ids")
+    int unflagByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Quote q WHERE q.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,10 @@
 package com.example.readsphere.repository;
 
 import com.example.readsphere.model.ReadingLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,21 @@ public interface ReadingLogRepository extends JpaRepository<ReadingLog, Long> {
     List<ReadingLog> findByDateBetweenOrderByDateAsc(LocalDate from, LocalDate to);
     List<ReadingLog> findByDateBetween(LocalDate from, LocalDate to);
     
+    @Query("SELECT DISTINCT r.date FROM ReadingLog r WHERE r.user.id = :userId AND r.pages > 0 ORDER BY r.date ASC")
+    List<LocalDate> findActiveDatesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT r.user.id FROM ReadingLog r WHERE r.user.id > :afterUserId ORDER BY r.user.id ASC")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    /**
+     * Rows of [date, userId, pages] for one book's logs.
+     */
+    @Query("SELECT r.date, r.user.id, SUM(r.pages) FROM ReadingLog r WHERE r.book.id = :bookId GROUP BY r.date, r.user.id")
+    List<Object[]> sumPagesByDateAndUserForBook(@Param("bookId") Long bookId);
+
+    @Query("SELECT DISTINCT r.date FROM ReadingLog r WHERE r.book.id = :bookId")
+    List<LocalDate> findDatesByBookId(@Param("bookId") Long bookId);
+
     @Transactional
     void deleteByBookId(Long bookId);
 }
@@ -0,0 +1,19 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.ReadingStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReadingStreakRepository extends JpaRepository<ReadingStreak, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ReadingStreak s WHERE s.userId = :userId")
+    Optional<ReadingStreak> findByUserIdForUpdate(@Param("userId") Long userId);
+}
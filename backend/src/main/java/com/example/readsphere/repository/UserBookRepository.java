@@ -13,6 +13,10 @@ import java.util.Optional;
 public interface UserBookRepository extends JpaRepository<UserBook, Long> {
     
     List<UserBook> findByUserId(Long userId);
+
+    // Catalog book and user in the same query; no per-row selects for the shelf maps
+    @Query("SELECT ub FROM UserBook ub JOIN FETCH ub.catalogBook JOIN FETCH ub.user WHERE ub.user.id = :userId")
+    List<UserBook> findWithCatalogBookByUserId(@Param("userId") Long userId);
     
     List<UserBook> findByUserIdAndStatusIgnoreCase(Long userId, String status);
     
@@ -0,0 +1,13 @@
+package com.example.readsphere.repository;
+
+import com.example.readsphere.model.UserDailyReading;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyReadingRepository extends JpaRepository<UserDailyReading, Long> {
+    List<UserDailyReading> findByUserIdAndDateBetweenOrderByDateAsc(Long userId, LocalDate from, LocalDate to);
+}
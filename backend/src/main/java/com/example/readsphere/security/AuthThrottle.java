@@ -0,0 +1,100 @@
+package com.example.readsphere.security;
+
+import com.example.readsphere.service.cache.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Token-bucket throttling for the login and registration endpoints, keyed by
+ * client IP and by email. Buckets live in a bounded LRU cache, so a flood of
+ * distinct keys cannot grow memory without limit.
+ */
+@Component
+public class AuthThrottle {
+
+    private final BoundedCache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.auth.throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.auth.throttle.ip.per-minute:20}")
+    private double ipPerMinute;
+
+    @Value("${app.auth.throttle.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${app.auth.throttle.email.per-minute:5}")
+    private double emailPerMinute;
+
+    public AuthThrottle(MeterRegistry meterRegistry,
+                        @Value("${app.auth.throttle.max-keys:100000}") int maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.buckets = new BoundedCache<>("authThrottle", maxKeys, 60L * 60 * 1000);
+    }
+
+    /**
+     * Take one token from both the IP and the email bucket for this action.
+     *
+     * @return 0 if the attempt may proceed, otherwise seconds until it may be retried
+     */
+    public long tryAcquire(String action, String clientIp, String email) {
+        long wait = take(action, "ip", clientIp, ipCapacity, ipPerMinute);
+        if (wait == 0 && email != null && !email.isBlank()) {
+            wait = take(action, "email", email.trim().toLowerCase(Locale.ROOT), emailCapacity, emailPerMinute);
+        }
+        return wait;
+    }
+
+    private long take(String action, String scope, String key, int capacity, double perMinute) {
+        if (key == null) {
+            return 0;
+        }
+        // Created under the cache lock, so concurrent first attempts share one bucket
+        TokenBucket bucket = buckets.putIfAbsent(action + ":" + scope + ":" + key,
+                () -> new TokenBucket(capacity, perMinute / 60_000.0));
+        long wait = bucket.tryConsume();
+        if (wait > 0) {
+            meterRegistry.counter("auth.throttle.rejected", "action", action, "scope", scope).increment();
+        }
+        return wait;
+    }
+
+    static final class TokenBucket {
+        private final int capacity;
+        private final double tokensPerMs;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, double tokensPerMs) {
+            this(capacity, tokensPerMs, System.currentTimeMillis());
+        }
+
+        TokenBucket(int capacity, double tokensPerMs, long now) {
+            this.capacity = capacity;
+            this.tokensPerMs = tokensPerMs;
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise seconds until one is available
+         */
+        long tryConsume() {
+            return tryConsume(System.currentTimeMillis());
+        }
+
+        synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMs);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerMs / 1000.0));
+        }
+    }
+}
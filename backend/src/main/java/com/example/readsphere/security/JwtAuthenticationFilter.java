@@ -14,6 +14,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -28,18 +30,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String token = extractTokenFromRequest(request);
             
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                String role = jwtTokenProvider.getRoleFromToken(token);
+            Optional<JwtPrincipal> principal = token != null ? jwtTokenProvider.verify(token) : Optional.empty();
+            if (principal.isPresent()) {
+                Long userId = principal.get().getUserId();
+                String role = principal.get().getRole();
                 
-                // Create authority from role
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+                // Create authority from role; tokens without one (refresh tokens) get none
+                List<SimpleGrantedAuthority> authorities = role != null
+                        ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                        : Collections.emptyList();
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(
                         userId, 
                         null, 
-                        Collections.singletonList(authority)
+                        authorities
                     );
                     
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
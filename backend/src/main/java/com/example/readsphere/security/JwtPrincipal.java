@@ -0,0 +1,32 @@
+package com.example.readsphere.security;
+
+/**
+ * The verified contents of an access token.
+ */
+public final class JwtPrincipal {
+
+    private final Long userId;
+    private final String role;
+    private final long expiresAt;
+
+    public JwtPrincipal(Long userId, String role, long expiresAt) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Role claim, or null for tokens issued without one (refresh tokens).
+     */
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
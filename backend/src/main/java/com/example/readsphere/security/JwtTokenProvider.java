@@ -1,12 +1,23 @@
 package com.example.readsphere.security;
 
+import com.example.readsphere.service.cache.BoundedCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtTokenProvider {
@@ -20,8 +31,34 @@ public class JwtTokenProvider {
     @Value("${app.jwtRefreshExpirationInMs:604800000}")  // 7 days
     private long jwtRefreshExpirationInMs;
 
+    @Value("${app.jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    private final MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private BoundedCache<String, JwtPrincipal> verifiedTokens;
+    private Timer validTimer;
+    private Timer invalidTimer;
+
+    public JwtTokenProvider(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // The key and parser are immutable and thread-safe, so build them once
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = new BoundedCache<>("jwt", cacheMaxSize, jwtExpirationInMs);
+        Gauge.builder("auth.jwt.cache.size", verifiedTokens, BoundedCache::size).register(meterRegistry);
+        validTimer = verifyTimer("valid");
+        invalidTimer = verifyTimer("invalid");
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     // Generate JWT token from userId and role
@@ -56,41 +93,74 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verify the token once and return its principal, or empty if it is malformed,
+     * badly signed or expired. Recently verified tokens are served from a bounded
+     * cache keyed by the token's SHA-256 until they expire.
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String cacheKey = hash(token);
+        JwtPrincipal cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            JwtPrincipal principal = new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("role", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+            verifiedTokens.put(cacheKey, principal, principal.getExpiresAt());
+            sample.stop(validTimer);
+            return Optional.of(principal);
+        } catch (JwtException | IllegalArgumentException ex) {
+            sample.stop(invalidTimer);
+            System.err.println("Invalid JWT: " + ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
     // Get userId from token
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return Long.parseLong(claims.getSubject());
+        return verify(token)
+                .map(JwtPrincipal::getUserId)
+                .orElseThrow(() -> new JwtException("Invalid or expired token"));
     }
 
     // Get role from token
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("role", String.class);
+        return verify(token)
+                .map(JwtPrincipal::getRole)
+                .orElseThrow(() -> new JwtException("Invalid or expired token"));
     }
 
     // Validate token
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    public Map<String, Object> cacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Signature verification and claims parsing for tokens not in the cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException ex) {
-            System.err.println("Invalid JWT: " + ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty: " + ex.getMessage());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
 }
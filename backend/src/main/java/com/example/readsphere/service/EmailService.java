@@ -1,25 +1,20 @@
 package com.example.readsphere.service;
 
+import com.example.readsphere.model.EmailOutboxMessage;
+import com.example.readsphere.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 /**
- * Email service for sending emails via SMTP
+ * Composes application emails and queues them in the outbox. Nothing is sent on
+ * the caller's thread: the row commits with the caller's transaction and
+ * {@link com.example.readsphere.service.email.EmailOutboxDispatcher} delivers it.
  */
 @Service
 public class EmailService {
 
-    @Autowired(required = false)
-    private JavaMailSender mailSender;
-
-    @Value("${app.email.from:noreply@readsphere.com}")
-    private String fromEmail;
-
-    @Value("${app.email.fromName:ReadSphere}")
-    private String fromName;
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
 
     /**
      * Send password reset email
@@ -58,42 +53,10 @@ public class EmailService {
     }
 
     /**
-     * Generic email sending method
-     */
-    private void sendEmail(String toEmail, String subject, String body) {
-        try {
-            if (mailSender == null) {
-                // Fallback to console logging if mail sender is not configured
-                logEmailToConsole(toEmail, subject, body);
-                return;
-            }
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(subject);
-            message.setText(body);
-            
-            mailSender.send(message);
-            System.out.println("✓ Email sent successfully to: " + toEmail);
-            
-        } catch (Exception e) {
-            System.err.println("✗ Failed to send email to " + toEmail + ": " + e.getMessage());
-            // Log to console as fallback
-            logEmailToConsole(toEmail, subject, body);
-        }
-    }
-
-    /**
-     * Log email to console (fallback when SMTP is not configured)
+     * Queue an email. The insert joins the caller's transaction if there is one,
+     * so the email is only sent if the surrounding change commits.
      */
-    private void logEmailToConsole(String toEmail, String subject, String body) {
-        System.out.println("========================================");
-        System.out.println("EMAIL (Console Mode - SMTP Not Configured)");
-        System.out.println("To: " + toEmail);
-        System.out.println("Subject: " + subject);
-        System.out.println("========================================");
-        System.out.println(body);
-        System.out.println("========================================");
+    public void sendEmail(String toEmail, String subject, String body) {
+        outboxRepository.save(new EmailOutboxMessage(toEmail, subject, body));
     }
 }
@@ -5,50 +5,50 @@ import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfWriter;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.util.List;
+import java.io.OutputStream;
 
 @Service
 public class PdfService {
 
-    public byte[] generateBooksPdf(List<Book> books, String title) {
-        try {
-            Document document = new Document();
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, baos);
-            document.open();
-
-            // Title
-            Font fontTitle = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
-            Paragraph pTitle = new Paragraph(title, fontTitle);
-            pTitle.setAlignment(Element.ALIGN_CENTER);
-            document.add(pTitle);
-            document.add(Chunk.NEWLINE);
-
-            // Book list
-            Font fontBook = FontFactory.getFont(FontFactory.HELVETICA, 14);
-            Font fontBookBold = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
-
-            int count = 1;
-            for (Book book : books) {
-                Paragraph p = new Paragraph();
-                p.add(new Chunk(count + ". ", fontBookBold));
-                p.add(new Chunk(book.getTitle() + " by " + book.getAuthor(), fontBook));
-                
-                if (book.getGenre() != null) {
-                    p.add(new Chunk(" (" + book.getGenre() + ")", FontFactory.getFont(FontFactory.HELVETICA, 12, Font.ITALIC)));
-                }
-                
-                document.add(p);
-                document.add(Chunk.NEWLINE);
-                count++;
+    // Fonts are resolved once and shared; they are only ever read while rendering
+    private static final Font FONT_TITLE = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20);
+    private static final Font FONT_BOOK = FontFactory.getFont(FontFactory.HELVETICA, 14);
+    private static final Font FONT_BOOK_BOLD = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private static final Font FONT_GENRE = FontFactory.getFont(FontFactory.HELVETICA, 12, Font.ITALIC);
+
+    /**
+     * Render the book list straight into {@code out}. Completed pages are flushed
+     * as the document grows, so memory use does not depend on the number of books.
+     * The stream is not closed.
+     */
+    public void writeBooksPdf(Iterable<Book> books, String title, OutputStream out) throws DocumentException {
+        Document document = new Document();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+
+        // Title
+        Paragraph pTitle = new Paragraph(title, FONT_TITLE);
+        pTitle.setAlignment(Element.ALIGN_CENTER);
+        document.add(pTitle);
+        document.add(Chunk.NEWLINE);
+
+        // Book list
+        int count = 1;
+        for (Book book : books) {
+            Paragraph p = new Paragraph();
+            p.add(new Chunk(count + ". ", FONT_BOOK_BOLD));
+            p.add(new Chunk(book.getTitle() + " by " + book.getAuthor(), FONT_BOOK));
+
+            if (book.getGenre() != null) {
+                p.add(new Chunk(" (" + book.getGenre() + ")", FONT_GENRE));
             }
 
-            document.close();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+            document.add(p);
+            document.add(Chunk.NEWLINE);
+            count++;
         }
+
+        document.close();
     }
 }
@@ -13,9 +13,10 @@ import com.example.readsphere.dto.UserSettingsResponse;
 import com.example.readsphere.model.User;
 import com.example.readsphere.repository.UserRepository;
 import com.example.readsphere.security.JwtTokenProvider;
+import com.example.readsphere.security.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -35,7 +36,8 @@ public class UserService {
     @Autowired
     private EmailService emailService;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashingService passwordHashingService;
     
     // Email validation regex pattern
     private static final String EMAIL_PATTERN = 
@@ -96,7 +98,7 @@ public class UserService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         
         // Set role (default to USER if not specified or invalid)
         if ("ADMIN".equalsIgnoreCase(request.getRole())) {
@@ -145,7 +147,7 @@ public class UserService {
         User user = userOptional.get();
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
 
@@ -246,7 +248,7 @@ public class UserService {
             throw new IllegalArgumentException("Current password is required");
         }
 
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getOldPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Current password is incorrect");
         }
 
@@ -265,7 +267,7 @@ public class UserService {
         }
 
         // Update password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         userRepository.save(user);
 
         return new UserProfileResponse(
@@ -280,6 +282,7 @@ public class UserService {
      * Request password reset - send reset token via email
      * RS-104: Password Reset Flow
      */
+    @Transactional
     public Map<String, String> requestPasswordReset(PasswordResetRequest request) {
         // Validate email
         if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
@@ -301,7 +304,7 @@ public class UserService {
             user.setResetToken(resetToken);
             userRepository.save(user);
 
-            // Send email with reset link
+            // Queue email with reset link; it commits with the token
             emailService.sendPasswordResetEmail(user.getEmail(), resetToken);
         }
 
@@ -337,7 +340,7 @@ public class UserService {
         }
 
         // Update password and clear reset token
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
         user.setResetToken(null);
         userRepository.save(user);
 
@@ -350,6 +353,7 @@ public class UserService {
      * Send email verification
      * RS-105: Email Verification
      */
+    @Transactional
     public Map<String, String> sendEmailVerification(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -363,7 +367,7 @@ public class UserService {
         user.setVerificationToken(verificationToken);
         userRepository.save(user);
 
-        // Send verification email
+        // Queue verification email; it commits with the token
         emailService.sendVerificationEmail(user.getEmail(), verificationToken);
 
         Map<String, String> response = new HashMap<>();
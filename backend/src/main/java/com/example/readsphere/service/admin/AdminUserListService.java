@@ -0,0 +1,288 @@
+package com.example.readsphere.service.admin;
+
+import com.example.readsphere.dto.AdminUserSummary;
+import com.example.readsphere.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admin user list backed by a projection query with keyset pagination.
+ *
+ * Only the displayed columns are selected, and each page is a
+ * {@code WHERE (key, id) > cursor ORDER BY key, id LIMIT size + 1} query on the
+ * bare column, served by the (name, id) and (email, id) indexes, so the cost of a
+ * page depends on the page size rather than on how many users exist or how deep
+ * the admin has scrolled. Users without a value for the sort key are paged as a
+ * separate segment by id, after the others in ascending order and before them in
+ * descending order, which keeps both segments on the index on every database.
+ *
+ * The name/email prefix search compares the bare columns on MySQL, whose
+ * case-insensitive collation lets the same indexes serve it; on PostgreSQL it
+ * compares LOWER(column), backed by expression indexes created at startup.
+ */
+@Service
+public class AdminUserListService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SELECT =
+            "SELECT new com.example.readsphere.dto.AdminUserSummary(u.id, u.name, u.email, u.role, u.emailVerified) " +
+            "FROM User u WHERE 1 = 1";
+
+    /**
+     * List orders; ties are broken by id so every order is total and a cursor is exact.
+     */
+    public enum Sort {
+        ID(null),
+        NAME("u.name"),
+        EMAIL("u.email");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+
+        String keyOf(AdminUserSummary user) {
+            switch (this) {
+                case NAME: return user.getName();
+                case EMAIL: return user.getEmail();
+                default: return null;
+            }
+        }
+
+        public static Sort from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown sort '" + value + "'; expected id, name or email");
+            }
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public AdminUserListService(JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!dialect.isPostgres()) {
+            return;
+        }
+        try {
+            for (String column : new String[]{"name", "email"}) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_" + column + "_lower " +
+                        "ON users (LOWER(" + column + ") text_pattern_ops)");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not create prefix search indexes for the admin user list: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One page of users.
+     *
+     * @param query      case-insensitive prefix of the name or email, optional
+     * @param role       only users with this role, optional
+     * @param verified   only users whose email verification matches, optional
+     * @param cursor     {@link PageResult#getNextCursor()} of the previous page, optional
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another order
+     */
+    @Transactional(readOnly = true)
+    public PageResult list(String query, User.Role role, Boolean verified,
+                           Sort sort, boolean descending, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        StringBuilder where = new StringBuilder(SELECT);
+        Map<String, Object> params = new HashMap<>();
+
+        if (query != null && !query.isBlank()) {
+            where.append(" AND (").append(dialect.caseInsensitive("u.name")).append(" LIKE :prefix ESCAPE '!' OR ")
+                 .append(dialect.caseInsensitive("u.email")).append(" LIKE :prefix ESCAPE '!')");
+            params.put("prefix", DatabaseDialect.escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (role != null) {
+            where.append(" AND u.role = :role");
+            params.put("role", role);
+        }
+        if (verified != null) {
+            where.append(" AND u.emailVerified = :verified");
+            params.put("verified", verified);
+        }
+        Cursor after = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor, sort, descending) : null;
+
+        List<AdminUserSummary> rows;
+        if (sort.column == null) {
+            rows = idSegment(where.toString(), params, descending, after, limit + 1);
+        } else {
+            // Ascending: users with a key, then those without; descending is the reverse
+            boolean nullsFirst = descending;
+            boolean cursorInNulls = after != null && after.key == null;
+            rows = new ArrayList<>();
+            if (after != null && cursorInNulls != nullsFirst) {
+                // The cursor is already past the first segment
+                rows.addAll(secondSegment(where.toString(), params, sort, descending, nullsFirst, after, limit + 1));
+            } else {
+                if (nullsFirst) {
+                    rows.addAll(nullSegment(where.toString(), params, sort, descending, after, limit + 1));
+                } else {
+                    rows.addAll(valueSegment(where.toString(), params, sort, descending, after, limit + 1));
+                }
+                if (rows.size() <= limit) {
+                    rows.addAll(secondSegment(where.toString(), params, sort, descending, nullsFirst, null,
+                            limit + 1 - rows.size()));
+                }
+            }
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<AdminUserSummary> users = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            AdminUserSummary last = users.get(users.size() - 1);
+            nextCursor = new Cursor(sort, descending, last.getId(), sort.keyOf(last)).encode();
+        }
+        return new PageResult(users, nextCursor);
+    }
+
+    private List<AdminUserSummary> secondSegment(String where, Map<String, Object> params, Sort sort, boolean descending,
+                                                 boolean nullsFirst, Cursor after, int max) {
+        return nullsFirst
+                ? valueSegment(where, params, sort, descending, after, max)
+                : nullSegment(where, params, sort, descending, after, max);
+    }
+
+    private List<AdminUserSummary> idSegment(String where, Map<String, Object> params, boolean descending,
+                                             Cursor after, int max) {
+        StringBuilder jpql = new StringBuilder(where);
+        Map<String, Object> args = new HashMap<>(params);
+        if (after != null) {
+            jpql.append(" AND u.id ").append(descending ? "<" : ">").append(" :afterId");
+            args.put("afterId", after.id);
+        }
+        jpql.append(" ORDER BY u.id").append(descending ? " DESC" : " ASC");
+        return fetch(jpql.toString(), args, max);
+    }
+
+    private List<AdminUserSummary> nullSegment(String where, Map<String, Object> params, Sort sort, boolean descending,
+                                               Cursor after, int max) {
+        return idSegment(where + " AND " + sort.column + " IS NULL", params, descending, after, max);
+    }
+
+    private List<AdminUserSummary> valueSegment(String where, Map<String, Object> params, Sort sort, boolean descending,
+                                                Cursor after, int max) {
+        String op = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+        StringBuilder jpql = new StringBuilder(where).append(" AND ").append(sort.column).append(" IS NOT NULL");
+        Map<String, Object> args = new HashMap<>(params);
+        if (after != null) {
+            // Leading range on the key, so the (key, id) index bounds the scan
+            jpql.append(" AND ").append(sort.column).append(' ').append(op).append("= :afterKey AND (")
+                .append(sort.column).append(' ').append(op).append(" :afterKey OR u.id ").append(op).append(" :afterId)");
+            args.put("afterKey", after.key);
+            args.put("afterId", after.id);
+        }
+        jpql.append(" ORDER BY ").append(sort.column).append(direction).append(", u.id").append(direction);
+        return fetch(jpql.toString(), args, max);
+    }
+
+    private List<AdminUserSummary> fetch(String jpql, Map<String, Object> params, int max) {
+        TypedQuery<AdminUserSummary> typed = entityManager.createQuery(jpql, AdminUserSummary.class);
+        params.forEach(typed::setParameter);
+        typed.setMaxResults(max);
+        return typed.getResultList();
+    }
+
+    public static class PageResult {
+        private final List<AdminUserSummary> users;
+        private final String nextCursor;
+
+        PageResult(List<AdminUserSummary> users, String nextCursor) {
+            this.users = users;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<AdminUserSummary> getUsers() {
+            return users;
+        }
+
+        /**
+         * Opaque position after the last user, or null on the final page.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+
+    /**
+     * base64url of "sort|dir|id|key", where key is "-" for a user without a value
+     * for the sort key and "=" followed by the value otherwise; the key goes last
+     * so it may contain '|'.
+     */
+    static final class Cursor {
+        final Sort sort;
+        final boolean descending;
+        final long id;
+        final String key;
+
+        Cursor(Sort sort, boolean descending, long id, String key) {
+            this.sort = sort;
+            this.descending = descending;
+            this.id = id;
+            this.key = key;
+        }
+
+        String encode() {
+            String raw = sort.name() + "|" + (descending ? "desc" : "asc") + "|" + id + "|" + (key == null ? "-" : "=" + key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort expectedSort, boolean expectedDescending) {
+            Cursor decoded;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 4);
+                String key;
+                if (parts[3].equals("-")) {
+                    key = null;
+                } else if (parts[3].startsWith("=")) {
+                    key = parts[3].substring(1);
+                } else {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                decoded = new Cursor(Sort.valueOf(parts[0]), "desc".equals(parts[1]), Long.parseLong(parts[2]), key);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (decoded.sort != expectedSort || decoded.descending != expectedDescending) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort order");
+            }
+            return decoded;
+        }
+    }
+}
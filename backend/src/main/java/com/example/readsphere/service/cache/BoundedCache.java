@@ -0,0 +1,215 @@
+package com.example.readsphere.service.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Small in-process cache with a maximum size (least recently used entries are
+ * evicted first) and a per-entry expiry time. Keeps hit/miss/eviction counters
+ * so each cache can be sized from its stats.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    /**
+     * Loads in flight, guarded by the entries lock. Invalidating a key removes its
+     * load, so a value computed from data that changed mid-load is never stored.
+     */
+    private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached value, or null when absent or expired.
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Cached value, computing and storing it on a miss. The loader runs outside
+     * the cache lock, once per key: concurrent misses wait for the same load. If
+     * the key is invalidated or overwritten while loading, the computed value is
+     * still returned to the callers that were waiting but is not cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        CompletableFuture<V> inFlight;
+        CompletableFuture<V> load = null;
+        synchronized (entries) {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            inFlight = loading.get(key);
+            if (inFlight == null) {
+                load = new CompletableFuture<>();
+                loading.put(key, load);
+            }
+        }
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                loading.remove(key, load);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (entries) {
+            if (loading.remove(key, load) && value != null) {
+                entries.put(key, new CacheEntry<>(value, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        load.complete(value);
+        return value;
+    }
+
+    /**
+     * Live cached value, or the one created by the factory, which is stored and
+     * returned atomically. The factory runs under the cache lock, so it must be
+     * cheap; use {@link #get(Object, Supplier)} for loads that query anything.
+     */
+    public V putIfAbsent(K key, Supplier<V> factory) {
+        synchronized (entries) {
+            V cached = get(key);
+            if (cached == null) {
+                cached = factory.get();
+                put(key, cached);
+            }
+            return cached;
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * Store a value that expires at an explicit time (epoch millis), capped by the cache TTL.
+     */
+    public void put(K key, V value, long expiresAt) {
+        long cappedExpiry = Math.min(expiresAt, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            loading.remove(key);
+            entries.put(key, new CacheEntry<>(value, cappedExpiry));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            loading.remove(key);
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        synchronized (entries) {
+            loading.keySet().removeIf(predicate);
+            Iterator<K> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                if (predicate.test(it.next())) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            loading.clear();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long h = hits.get();
+        long m = misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("name", name);
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.get());
+        stats.put("hitRatio", h + m == 0 ? 0.0 : Math.round(h * 1000.0 / (h + m)) / 1000.0);
+        return stats;
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        final V value;
+        final long expiresAt;
+
+        CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.repository.BookCatalogRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * In-memory view of the book catalog, partitioned by genre and pre-sorted by
+ * averageRating (highest first), title and published year. Recommendation lookups
+ * and catalog browsing are served from here instead of querying book_catalog.
+ *
+ * Readers always see an immutable snapshot; admin writes swap in a new one with
+ * the changed book re-inserted into the sorted lists it belongs to.
+ */
+@Service
+public class CatalogIndex {
+
+    private static final Comparator<BookCatalog> BY_ID =
+            Comparator.comparing(BookCatalog::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<BookCatalog> BY_RATING_DESC = Comparator
+            .comparing((BookCatalog b) -> b.getAverageRating() != null ? b.getAverageRating() : 0.0)
+            .reversed()
+            .thenComparing(BY_ID);
+
+    private static final Comparator<BookCatalog> BY_TITLE = Comparator
+            .comparing(BookCatalog::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(BY_ID);
+
+    private static final Comparator<BookCatalog> BY_YEAR_DESC = Comparator
+            .comparing(BookCatalog::getPublishedYear, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+            .thenComparing(BY_ID);
+
+    /**
+     * Browse orders. Each one is a total order (ties broken by id) so a cursor
+     * always identifies a single position.
+     */
+    public enum Sort {
+        RATING(BY_RATING_DESC),
+        TITLE(BY_TITLE),
+        YEAR(BY_YEAR_DESC);
+
+        private final Comparator<BookCatalog> comparator;
+
+        Sort(Comparator<BookCatalog> comparator) {
+            this.comparator = comparator;
+        }
+
+        public static Sort from(String value) {
+            if (value == null || value.isBlank()) {
+                return RATING;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "rating" -> RATING;
+                case "title" -> TITLE;
+                case "year", "published", "publishedyear" -> YEAR;
+                default -> throw new IllegalArgumentException("Unsupported sort: " + value);
+            };
+        }
+    }
+
+    private final BookCatalogRepository catalogRepository;
+
+    private volatile Snapshot snapshot;
+
+    public CatalogIndex(BookCatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    /**
+     * Load the index once the catalog seeder has finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload every catalog book from the database.
+     */
+    public synchronized void rebuild() {
+        snapshot = Snapshot.of(catalogRepository.findAll());
+    }
+
+    /**
+     * Add or replace a single book after it has been saved.
+     */
+    public synchronized void upsert(BookCatalog book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        snapshot = current().with(book);
+    }
+
+    /**
+     * Drop a book that has been deleted from the catalog.
+     */
+    public synchronized void remove(Long bookId) {
+        Snapshot current = current();
+        if (bookId == null || !current.byId.containsKey(bookId)) {
+            return;
+        }
+        snapshot = current.without(bookId);
+    }
+
+    /**
+     * Books in the given genre (case-insensitive) rated at least minRating, best first.
+     */
+    public List<BookCatalog> findTopRatedByGenre(String genre, double minRating) {
+        Views views = current().byGenre.get(genreKey(genre));
+        return views == null ? List.of() : ratedAtLeast(views.get(Sort.RATING), minRating);
+    }
+
+    /**
+     * Books across the whole catalog rated at least minRating, best first.
+     */
+    public List<BookCatalog> findTopRated(double minRating) {
+        return ratedAtLeast(current().all.get(Sort.RATING), minRating);
+    }
+
+    /**
+     * One page of the catalog (or of a single genre when genre is non-blank;
+     * {@link GenreFacet#UNSPECIFIED_GENRE} selects the books without a genre).
+     * With a cursor the page starts right after the book it encodes; otherwise it
+     * starts at offset page * size; neither scans the lists.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another order
+     */
+    public PageResult page(String genre, Sort sort, String cursor, int page, int size) {
+        Snapshot current = current();
+        Views views;
+        if (genre == null || genre.isBlank()) {
+            views = current.all;
+        } else if (genre.trim().equalsIgnoreCase(GenreFacet.UNSPECIFIED_GENRE)) {
+            views = current.byGenre.get(genreKey(null));
+        } else {
+            views = current.byGenre.get(genreKey(genre));
+        }
+        if (views == null) {
+            return new PageResult(List.of(), null, 0);
+        }
+
+        List<BookCatalog> sorted = views.get(sort);
+        int from;
+        if (cursor != null && !cursor.isBlank()) {
+            int pos = Collections.binarySearch(sorted, decodeCursor(cursor, sort), sort.comparator);
+            from = pos >= 0 ? pos + 1 : -pos - 1;
+        } else {
+            from = (int) Math.min((long) page * size, sorted.size());
+        }
+        int to = Math.min(from + size, sorted.size());
+        List<BookCatalog> books = sorted.subList(from, to);
+        String nextCursor = to < sorted.size() && !books.isEmpty()
+                ? encodeCursor(books.get(books.size() - 1), sort)
+                : null;
+        return new PageResult(books, nextCursor, sorted.size());
+    }
+
+    /**
+     * Per-genre counts and rating totals, maintained alongside the snapshot.
+     */
+    public GenreFacet genreFacet() {
+        return current().genres;
+    }
+
+    public Optional<BookCatalog> findById(Long id) {
+        return Optional.ofNullable(current().byId.get(id));
+    }
+
+    public int size() {
+        return current().byId.size();
+    }
+
+    /**
+     * Null maps to a key no trimmed genre can produce, so books without a genre
+     * stay apart from a blank one.
+     */
+    static String genreKey(String genre) {
+        return genre == null ? "\0" : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    // Lists are sorted descending, so the matching books are always a prefix
+    private static List<BookCatalog> ratedAtLeast(List<BookCatalog> sorted, double minRating) {
+        int end = 0;
+        while (end < sorted.size()) {
+            Double rating = sorted.get(end).getAverageRating();
+            if (rating == null || rating < minRating) {
+                break;
+            }
+            end++;
+        }
+        return sorted.subList(0, end);
+    }
+
+    /**
+     * base64url of "sort|id|key", where key is "-" for a book without a value for
+     * the sort key and "=" followed by the value otherwise, so a null and an empty
+     * title stay distinct; the key goes last so it may contain '|'.
+     */
+    static String encodeCursor(BookCatalog last, Sort sort) {
+        Object value = switch (sort) {
+            case RATING -> last.getAverageRating() != null ? last.getAverageRating() : 0.0;
+            case TITLE -> last.getTitle();
+            case YEAR -> last.getPublishedYear();
+        };
+        String raw = sort.name() + "|" + last.getId() + "|" + (value == null ? "-" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A probe book carrying the cursor's sort key and id, for a binary search.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another order
+     */
+    static BookCatalog decodeCursor(String cursor, Sort expectedSort) {
+        Sort sort;
+        BookCatalog probe = new BookCatalog();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            sort = Sort.valueOf(parts[0]);
+            probe.setId(Long.parseLong(parts[1]));
+            String key;
+            if (parts[2].equals("-")) {
+                key = null;
+            } else if (parts[2].startsWith("=")) {
+                key = parts[2].substring(1);
+            } else {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            switch (sort) {
+                case RATING -> probe.setAverageRating(key == null ? 0.0 : Double.parseDouble(key));
+                case TITLE -> probe.setTitle(key);
+                case YEAR -> probe.setPublishedYear(key == null ? null : Integer.parseInt(key));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (sort != expectedSort) {
+            throw new IllegalArgumentException("Cursor belongs to a different sort order");
+        }
+        return probe;
+    }
+
+    public static final class PageResult {
+        private final List<BookCatalog> books;
+        private final String nextCursor;
+        private final long total;
+
+        public PageResult(List<BookCatalog> books, String nextCursor, long total) {
+            this.books = books;
+            this.nextCursor = nextCursor;
+            this.total = total;
+        }
+
+        public List<BookCatalog> getBooks() {
+            return books;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * The same set of books, sorted once per browse order.
+     */
+    private static final class Views {
+        final Map<Sort, List<BookCatalog>> sorted;
+
+        private Views(Map<Sort, List<BookCatalog>> sorted) {
+            this.sorted = sorted;
+        }
+
+        List<BookCatalog> get(Sort sort) {
+            return sorted.get(sort);
+        }
+
+        static Views of(Collection<BookCatalog> books) {
+            Map<Sort, List<BookCatalog>> sorted = new EnumMap<>(Sort.class);
+            for (Sort sort : Sort.values()) {
+                List<BookCatalog> list = new ArrayList<>(books);
+                list.sort(sort.comparator);
+                sorted.put(sort, Collections.unmodifiableList(list));
+            }
+            return new Views(sorted);
+        }
+
+        Views with(BookCatalog book) {
+            Map<Sort, List<BookCatalog>> next = new EnumMap<>(Sort.class);
+            for (Sort sort : Sort.values()) {
+                List<BookCatalog> list = new ArrayList<>(sorted.get(sort).size() + 1);
+                list.addAll(sorted.get(sort));
+                int pos = Collections.binarySearch(list, book, sort.comparator);
+                list.add(pos >= 0 ? pos : -pos - 1, book);
+                next.put(sort, Collections.unmodifiableList(list));
+            }
+            return new Views(next);
+        }
+
+        Views without(Long bookId) {
+            Map<Sort, List<BookCatalog>> next = new EnumMap<>(Sort.class);
+            for (Sort sort : Sort.values()) {
+                List<BookCatalog> list = new ArrayList<>(sorted.get(sort));
+                list.removeIf(b -> bookId.equals(b.getId()));
+                next.put(sort, Collections.unmodifiableList(list));
+            }
+            return new Views(next);
+        }
+
+        boolean isEmpty() {
+            return sorted.get(Sort.RATING).isEmpty();
+        }
+    }
+
+    private static final class Snapshot {
+        final Map<Long, BookCatalog> byId;
+        final Map<String, Views> byGenre;
+        final Views all;
+        final GenreFacet genres;
+
+        private Snapshot(Map<Long, BookCatalog> byId, Map<String, Views> byGenre, Views all, GenreFacet genres) {
+            this.byId = byId;
+            this.byGenre = byGenre;
+            this.all = all;
+            this.genres = genres;
+        }
+
+        static Snapshot of(Collection<BookCatalog> books) {
+            Map<Long, BookCatalog> byId = new HashMap<>();
+            Map<String, List<BookCatalog>> grouped = new HashMap<>();
+            for (BookCatalog book : books) {
+                if (book.getId() == null) continue;
+                byId.put(book.getId(), book);
+                grouped.computeIfAbsent(genreKey(book.getGenre()), k -> new ArrayList<>()).add(book);
+            }
+            Map<String, Views> byGenre = new HashMap<>();
+            grouped.forEach((genre, list) -> byGenre.put(genre, Views.of(list)));
+            return new Snapshot(
+                    Collections.unmodifiableMap(byId),
+                    Collections.unmodifiableMap(byGenre),
+                    Views.of(byId.values()),
+                    GenreFacet.of(byId.values())
+            );
+        }
+
+        Snapshot with(BookCatalog book) {
+            Snapshot base = byId.containsKey(book.getId()) ? without(book.getId()) : this;
+            Map<Long, BookCatalog> nextById = new HashMap<>(base.byId);
+            nextById.put(book.getId(), book);
+            Map<String, Views> nextByGenre = new HashMap<>(base.byGenre);
+            String genre = genreKey(book.getGenre());
+            Views genreViews = nextByGenre.get(genre);
+            nextByGenre.put(genre, genreViews == null ? Views.of(List.of(book)) : genreViews.with(book));
+            return new Snapshot(
+                    Collections.unmodifiableMap(nextById),
+                    Collections.unmodifiableMap(nextByGenre),
+                    base.all.with(book),
+                    base.genres.plus(book)
+            );
+        }
+
+        Snapshot without(Long bookId) {
+            BookCatalog previous = byId.get(bookId);
+            Map<Long, BookCatalog> nextById = new HashMap<>(byId);
+            nextById.remove(bookId);
+            Map<String, Views> nextByGenre = new HashMap<>(byGenre);
+            String genre = genreKey(previous.getGenre());
+            Views genreViews = nextByGenre.get(genre);
+            if (genreViews != null) {
+                Views remaining = genreViews.without(bookId);
+                if (remaining.isEmpty()) {
+                    nextByGenre.remove(genre);
+                } else {
+                    nextByGenre.put(genre, remaining);
+                }
+            }
+            return new Snapshot(
+                    Collections.unmodifiableMap(nextById),
+                    Collections.unmodifiableMap(nextByGenre),
+                    all.without(bookId),
+                    genres.minus(previous)
+            );
+        }
+    }
+}
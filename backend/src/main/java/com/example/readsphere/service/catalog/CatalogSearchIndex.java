@@ -0,0 +1,383 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.repository.BookCatalogRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded full-text index over catalog title, author, description and ISBN.
+ *
+ * Terms are lower-cased, accent-folded tokens; each posting stores a field-weighted
+ * term frequency and results are ranked with BM25. Every query term must match, and
+ * the last term also matches every indexed term it is a prefix of, so
+ * search-as-you-type works. A query only touches the postings of its own terms
+ * (for the prefix, all terms in its range), never the whole catalog.
+ *
+ * Only the best {@value #MAX_RESULT_WINDOW} hits are ranked; the total still
+ * counts every match, and requested pages beyond the window are capped to its
+ * last page (see {@link SearchResult#getPage()}).
+ */
+@Service
+public class CatalogSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float ISBN_WEIGHT = 4.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern ISBN_LIKE = Pattern.compile("[0-9Xx][0-9Xx\\-\\s]{8,}[0-9Xx]");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "by", "for", "in", "of", "on", "the", "to");
+
+    private final BookCatalogRepository catalogRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private double totalLength;
+
+    public CatalogSearchIndex(BookCatalogRepository catalogRepository) {
+        this.catalogRepository = catalogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        List<BookCatalog> books = catalogRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            books.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(BookCatalog book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(book.getId());
+            addLocked(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search across all indexed fields. Pages are zero-based; a page past the
+     * first {@value #MAX_RESULT_WINDOW} hits is capped to the last page inside them.
+     */
+    public SearchResult search(String query, int page, int size) {
+        page = Math.min(page, lastPage(size));
+        lock.readLock().lock();
+        try {
+            List<QueryTerm> terms = parseQuery(query);
+            if (terms.isEmpty() || documents.isEmpty()) {
+                return new SearchResult(List.of(), 0, page);
+            }
+
+            // Drive the intersection from the rarest query term
+            QueryTerm driver = terms.stream()
+                    .min(Comparator.comparingLong(this::postingCount))
+                    .orElseThrow();
+
+            int window = Math.min(MAX_RESULT_WINDOW, (page + 1) * size);
+            PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble((Hit h) -> h.score)
+                    .thenComparing(h -> -h.bookId));
+            double avgLength = totalLength / documents.size();
+            long total = 0;
+
+            Set<Long> candidates = new HashSet<>();
+            for (Map<Long, Float> posting : postingsOf(driver)) {
+                candidates.addAll(posting.keySet());
+            }
+            for (Long bookId : candidates) {
+                double score = 0;
+                boolean matchesAll = true;
+                Document doc = documents.get(bookId);
+                for (QueryTerm term : terms) {
+                    double termScore = bestScore(term, bookId, doc, avgLength);
+                    if (termScore < 0) {
+                        matchesAll = false;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                total++;
+                best.offer(new Hit(bookId, score));
+                if (best.size() > window) {
+                    best.poll();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Comparator.comparingDouble((Hit h) -> h.score).reversed().thenComparingLong(h -> h.bookId));
+            int from = Math.min(page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<BookCatalog> books = new ArrayList<>(to - from);
+            for (Hit hit : ranked.subList(from, to)) {
+                books.add(documents.get(hit.bookId).book);
+            }
+            return new SearchResult(books, total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Highest zero-based page whose first hit lies inside the ranked window.
+     */
+    static int lastPage(int size) {
+        return (MAX_RESULT_WINDOW - 1) / Math.max(size, 1);
+    }
+
+    /**
+     * Query terms to match. Only the last term is a prefix, and only from two
+     * characters; stop words are dropped unless the query has nothing else.
+     */
+    private List<QueryTerm> parseQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (ISBN_LIKE.matcher(query.trim()).matches()) {
+            return List.of(new QueryTerm(compactIsbn(query), false));
+        }
+
+        List<String> tokens = tokenize(query);
+        List<String> meaningful = tokens.stream().filter(t -> !STOP_WORDS.contains(t)).toList();
+        if (!meaningful.isEmpty()) {
+            tokens = meaningful;
+        }
+
+        List<QueryTerm> terms = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean last = i == tokens.size() - 1;
+            terms.add(new QueryTerm(token, last && token.length() >= 2));
+        }
+        return terms;
+    }
+
+    /**
+     * Postings of the term, or of every indexed term in its range for a prefix.
+     */
+    private Collection<Map<Long, Float>> postingsOf(QueryTerm term) {
+        if (term.prefix) {
+            return postings.subMap(term.token, true, term.token + Character.MAX_VALUE, true).values();
+        }
+        Map<Long, Float> posting = postings.get(term.token);
+        return posting == null ? List.of() : List.of(posting);
+    }
+
+    private long postingCount(QueryTerm term) {
+        long count = 0;
+        for (Map<Long, Float> posting : postingsOf(term)) {
+            count += posting.size();
+        }
+        return count;
+    }
+
+    /**
+     * Highest BM25 contribution of any index term the query term matches in the
+     * document, or -1 if none does. A prefix is checked against the document's own
+     * terms, so every term in its range counts however many there are.
+     */
+    private double bestScore(QueryTerm term, Long bookId, Document doc, double avgLength) {
+        if (!term.prefix) {
+            return score(term.token, bookId, doc.length, avgLength);
+        }
+        double best = -1;
+        for (String docTerm : doc.terms) {
+            if (docTerm.startsWith(term.token)) {
+                best = Math.max(best, score(docTerm, bookId, doc.length, avgLength));
+            }
+        }
+        return best;
+    }
+
+    private double score(String term, Long bookId, float docLength, double avgLength) {
+        Map<Long, Float> posting = postings.get(term);
+        if (posting == null) return -1;
+        Float tf = posting.get(bookId);
+        if (tf == null) return -1;
+        double idf = Math.log(1 + (documents.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+        double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength / avgLength));
+        return idf * norm;
+    }
+
+    private void addLocked(BookCatalog book) {
+        if (book.getId() == null) {
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, book.getTitle(), TITLE_WEIGHT);
+        addField(terms, book.getAuthor(), AUTHOR_WEIGHT);
+        addField(terms, book.getDescription(), DESCRIPTION_WEIGHT);
+        if (book.getIsbn() != null && !book.getIsbn().isBlank()) {
+            terms.merge(compactIsbn(book.getIsbn()), ISBN_WEIGHT, Float::sum);
+        }
+
+        float length = 0;
+        for (Map.Entry<String, Float> entry : terms.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(book.getId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(book.getId(), new Document(book, terms.keySet(), length));
+        totalLength += length;
+    }
+
+    private void removeLocked(Long bookId) {
+        Document previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(bookId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALPHANUMERIC.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String compactIsbn(String isbn) {
+        return isbn.replaceAll("[^0-9Xx]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Document {
+        final BookCatalog book;
+        final Set<String> terms;
+        final float length;
+
+        Document(BookCatalog book, Set<String> terms, float length) {
+            this.book = book;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    private static final class QueryTerm {
+        final String token;
+        final boolean prefix;
+
+        QueryTerm(String token, boolean prefix) {
+            this.token = token;
+            this.prefix = prefix;
+        }
+    }
+
+    private static final class Hit {
+        final long bookId;
+        final double score;
+
+        Hit(long bookId, double score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+    }
+
+    public static final class SearchResult {
+        private final List<BookCatalog> books;
+        private final long total;
+        private final int page;
+
+        public SearchResult(List<BookCatalog> books, long total, int page) {
+            this.books = books;
+            this.total = total;
+            this.page = page;
+        }
+
+        public List<BookCatalog> getBooks() {
+            return books;
+        }
+
+        /**
+         * Every matching book, including those past the ranked window.
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * The page actually returned; lower than the one requested when that lay
+         * past the ranked window.
+         */
+        public int getPage() {
+            return page;
+        }
+
+        /**
+         * How many of the matches can be paged to: the total, at most {@value CatalogSearchIndex#MAX_RESULT_WINDOW}.
+         */
+        public long getReachable() {
+            return Math.min(total, MAX_RESULT_WINDOW);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+
+import java.util.*;
+
+/**
+ * Per-genre book count and rating totals for the catalog, keyed by the genre
+ * string exactly as stored. Books without a genre get their own entry, sorted
+ * last and labelled {@value #UNSPECIFIED_GENRE}, so they never merge with a
+ * genre that happens to be spelled "Unknown". Instances are immutable; catalog
+ * writes derive a new facet by applying the changed book as a delta instead of
+ * recounting.
+ */
+public final class GenreFacet {
+
+    /**
+     * Label of the entry for books whose genre is null; also accepted by
+     * {@link CatalogIndex#page} to browse those books.
+     */
+    public static final String UNSPECIFIED_GENRE = "(Unspecified)";
+
+    private static final Comparator<String> GENRE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final SortedMap<String, GenreStats> byGenre;
+
+    private GenreFacet(SortedMap<String, GenreStats> byGenre) {
+        this.byGenre = byGenre;
+    }
+
+    public static GenreFacet of(Collection<BookCatalog> books) {
+        SortedMap<String, GenreStats> byGenre = new TreeMap<>(GENRE_ORDER);
+        for (BookCatalog book : books) {
+            byGenre.merge(book.getGenre(), GenreStats.single(book), GenreStats::plus);
+        }
+        return new GenreFacet(Collections.unmodifiableSortedMap(byGenre));
+    }
+
+    GenreFacet plus(BookCatalog book) {
+        SortedMap<String, GenreStats> next = new TreeMap<>(byGenre);
+        next.merge(book.getGenre(), GenreStats.single(book), GenreStats::plus);
+        return new GenreFacet(Collections.unmodifiableSortedMap(next));
+    }
+
+    GenreFacet minus(BookCatalog book) {
+        String genre = book.getGenre();
+        GenreStats current = byGenre.get(genre);
+        if (current == null) {
+            return this;
+        }
+        SortedMap<String, GenreStats> next = new TreeMap<>(byGenre);
+        GenreStats remaining = current.minus(GenreStats.single(book));
+        if (remaining.getCount() <= 0) {
+            next.remove(genre);
+        } else {
+            next.put(genre, remaining);
+        }
+        return new GenreFacet(Collections.unmodifiableSortedMap(next));
+    }
+
+    /**
+     * Distinct genres in natural order, excluding books without a genre.
+     */
+    public List<String> genres() {
+        List<String> genres = new ArrayList<>(byGenre.size());
+        for (String genre : byGenre.keySet()) {
+            if (genre != null) {
+                genres.add(genre);
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * Stats per genre, with books lacking a genre last in their own entry.
+     */
+    public Collection<GenreStats> stats() {
+        return byGenre.values();
+    }
+
+    public long totalBooks() {
+        long total = 0;
+        for (GenreStats stats : byGenre.values()) {
+            total += stats.getCount();
+        }
+        return total;
+    }
+
+    public static final class GenreStats {
+        private final String genre;
+        private final long count;
+        private final double ratingSum;
+
+        private GenreStats(String genre, long count, double ratingSum) {
+            this.genre = genre;
+            this.count = count;
+            this.ratingSum = ratingSum;
+        }
+
+        static GenreStats single(BookCatalog book) {
+            double rating = book.getAverageRating() != null ? book.getAverageRating() : 0.0;
+            return new GenreStats(book.getGenre(), 1, rating);
+        }
+
+        GenreStats plus(GenreStats other) {
+            return new GenreStats(genre, count + other.count, ratingSum + other.ratingSum);
+        }
+
+        GenreStats minus(GenreStats other) {
+            return new GenreStats(genre, count - other.count, ratingSum - other.ratingSum);
+        }
+
+        /**
+         * The stored genre, or null for the entry of books without one.
+         */
+        public String getGenre() {
+            return genre;
+        }
+
+        /**
+         * Display name: the genre, or {@value GenreFacet#UNSPECIFIED_GENRE} when there is none.
+         */
+        public String getLabel() {
+            return genre != null ? genre : UNSPECIFIED_GENRE;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getRatingSum() {
+            return ratingSum;
+        }
+
+        public double getAverageRating() {
+            return count > 0 ? ratingSum / count : 0.0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.readsphere.service.db;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * The database product behind the application's DataSource, for the services
+ * that issue vendor-specific SQL (upserts, partial or full-text indexes,
+ * case-insensitive comparisons). Detected from the JDBC metadata on first use
+ * and cached; anything other than MySQL/MariaDB or PostgreSQL is GENERIC and
+ * gets portable SQL.
+ */
+@Component
+public class DatabaseDialect {
+
+    public enum Vendor { MYSQL, POSTGRES, GENERIC }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Vendor vendor;
+
+    public DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Vendor vendor() {
+        Vendor v = vendor;
+        if (v == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            v = fromProductName(product);
+            vendor = v;
+        }
+        return v;
+    }
+
+    public boolean isMySql() {
+        return vendor() == Vendor.MYSQL;
+    }
+
+    public boolean isPostgres() {
+        return vendor() == Vendor.POSTGRES;
+    }
+
+    /**
+     * Case-insensitive form of a column; MySQL's default collation already is, and
+     * comparing the bare column lets prefix matches use the index.
+     */
+    public String caseInsensitive(String column) {
+        return isMySql() ? column : "LOWER(" + column + ")";
+    }
+
+    /**
+     * Escape LIKE wildcards for a pattern used with {@code ESCAPE '!'}.
+     */
+    public static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    static Vendor fromProductName(String product) {
+        String name = product == null ? "" : product.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return Vendor.MYSQL;
+        }
+        if (name.contains("postgres")) {
+            return Vendor.POSTGRES;
+        }
+        return Vendor.GENERIC;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.readsphere.service.db;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor over a plain row offset, for ranked results that have no stable
+ * keyset to resume from.
+ */
+public final class OffsetCursor {
+
+    private OffsetCursor() {
+    }
+
+    public static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The offset a cursor points at; 0 for a missing cursor.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * One page of a query fetched with {@code LIMIT size + 1 OFFSET offset}: the
+     * extra row, if present, only signals that another page follows.
+     */
+    public static <T> Page<T> page(List<T> rows, int offset, int size) {
+        boolean hasMore = rows.size() > size;
+        return new Page<>(hasMore ? rows.subList(0, size) : rows, hasMore ? encode(offset + size) : null);
+    }
+
+    public static final class Page<T> {
+        private final List<T> items;
+        private final String nextCursor;
+
+        public Page(List<T> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Opaque position after the last item, or null on the final page.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
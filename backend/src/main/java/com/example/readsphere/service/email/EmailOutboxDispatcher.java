@@ -0,0 +1,331 @@
+package com.example.readsphere.service.email;
+
+import com.example.readsphere.model.EmailOutboxMessage;
+import com.example.readsphere.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued emails from the {@code email_outbox} table.
+ *
+ * Each poll claims a batch of due rows (SKIP LOCKED, so several instances can run
+ * side by side), splits it across a fixed number of sender threads and sends each
+ * slice over a single SMTP connection. Failed messages are retried with
+ * exponential backoff and jitter; after {@code app.email.outbox.max-attempts} they
+ * are parked as DEAD until an admin requeues them. Without a configured
+ * {@link JavaMailSender} messages are written to the console instead.
+ *
+ * The dispatcher talks to whatever {@code spring.mail.host}/{@code port} point at,
+ * so it can be exercised against a local in-process SMTP server, and
+ * {@link #dispatchOnce()} runs one cycle synchronously.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<EmailOutboxMessage.Status> DUE_STATUSES =
+            List.of(EmailOutboxMessage.Status.PENDING, EmailOutboxMessage.Status.SENDING);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolExecutor senders;
+    private final int connections;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+
+    @Value("${app.email.from:noreply@readsphere.com}")
+    private String fromEmail;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.email.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.email.outbox.retention-days:7}")
+    private long retentionDays;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectProvider<JavaMailSender> mailSender,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.email.outbox.connections:2}") int connections) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mailSender = mailSender.getIfAvailable();
+        this.connections = Math.max(1, connections);
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(this.connections, this.connections, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "email-sender-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-ms:2000}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Keep draining while batches come back full
+            int claimed;
+            do {
+                claimed = dispatchOnce();
+            } while (claimed >= batchSize);
+        } catch (Exception e) {
+            System.err.println("❌ Email outbox dispatch failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Claim, send and settle one batch of due messages.
+     *
+     * @return number of messages claimed
+     */
+    public int dispatchOnce() {
+        List<EmailOutboxMessage> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        settle(batch, send(batch));
+        return batch.size();
+    }
+
+    /**
+     * Message counts per status
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (EmailOutboxMessage.Status status : EmailOutboxMessage.Status.values()) {
+            stats.put(status.name().toLowerCase(), outboxRepository.countByStatus(status));
+        }
+        stats.put("smtpConfigured", mailSender != null);
+        return stats;
+    }
+
+    /**
+     * Move every DEAD message back to PENDING with a fresh attempt budget
+     */
+    public int requeueDead() {
+        Integer requeued = transactionTemplate.execute(status -> outboxRepository.resetStatus(
+                EmailOutboxMessage.Status.DEAD, EmailOutboxMessage.Status.PENDING, Instant.now()));
+        return requeued != null ? requeued : 0;
+    }
+
+    @Scheduled(cron = "${app.email.outbox.purge-cron:0 15 4 * * *}")
+    public void purgeSent() {
+        Instant before = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteByStatusSentBefore(
+                EmailOutboxMessage.Status.SENT, before));
+        if (purged != null && purged > 0) {
+            System.out.println("✓ Purged " + purged + " sent emails from the outbox");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plusSeconds(leaseSeconds);
+        return transactionTemplate.execute(status -> {
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                    DUE_STATUSES, now, PageRequest.of(0, batchSize));
+            for (EmailOutboxMessage message : due) {
+                message.setStatus(EmailOutboxMessage.Status.SENDING);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+            }
+            return due;
+        });
+    }
+
+    /**
+     * Send the batch in {@link #connections} slices in parallel.
+     *
+     * @return error per failed message id; ids not present were delivered
+     */
+    private Map<Long, String> send(List<EmailOutboxMessage> batch) {
+        int sliceSize = (batch.size() + connections - 1) / connections;
+        List<List<EmailOutboxMessage>> slices = new ArrayList<>();
+        List<Future<Map<Long, String>>> futures = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += sliceSize) {
+            List<EmailOutboxMessage> slice = batch.subList(from, Math.min(batch.size(), from + sliceSize));
+            slices.add(slice);
+            futures.add(senders.submit(() -> sendSlice(slice)));
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                failures.putAll(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(slices.get(i), "Interrupted while sending", failures);
+            } catch (ExecutionException e) {
+                failAll(slices.get(i), String.valueOf(e.getCause().getMessage()), failures);
+            }
+        }
+        return failures;
+    }
+
+    private Map<Long, String> sendSlice(List<EmailOutboxMessage> slice) {
+        Map<Long, String> failures = new HashMap<>();
+        if (mailSender == null) {
+            slice.forEach(EmailOutboxDispatcher::logEmailToConsole);
+            return failures;
+        }
+
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[slice.size()];
+        for (int i = 0; i < slice.size(); i++) {
+            EmailOutboxMessage outbox = slice.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(outbox.getRecipient());
+            message.setSubject(outbox.getSubject());
+            message.setText(outbox.getBody());
+            messages[i] = message;
+            ids.put(message, outbox.getId());
+        }
+
+        try {
+            // One call, one SMTP connection for the whole slice
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failAll(slice, e.getMessage(), failures);
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Long id = ids.get(message);
+                    if (id != null) failures.put(id, cause.getMessage());
+                });
+            }
+        } catch (MailException e) {
+            failAll(slice, e.getMessage(), failures);
+        }
+        return failures;
+    }
+
+    private void settle(List<EmailOutboxMessage> batch, Map<Long, String> failures) {
+        Instant now = Instant.now();
+        for (EmailOutboxMessage message : batch) {
+            if (!failures.containsKey(message.getId())) {
+                message.setStatus(EmailOutboxMessage.Status.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sent.increment();
+                continue;
+            }
+            message.setLastError(truncate(failures.get(message.getId())));
+            if (message.getAttempts() == 1) {
+                // Keep the old console fallback so local setups still see reset/verification links
+                logEmailToConsole(message);
+            }
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(EmailOutboxMessage.Status.DEAD);
+                dead.increment();
+                System.err.println("✗ Email " + message.getId() + " to " + message.getRecipient()
+                        + " gave up after " + message.getAttempts() + " attempts: " + message.getLastError());
+            } else {
+                message.setStatus(EmailOutboxMessage.Status.PENDING);
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                retried.increment();
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+    }
+
+    /**
+     * base * 2^(attempt-1), capped, with up to 20% jitter so retries of a failed
+     * batch do not all land on the SMTP server at once
+     */
+    private Duration backoff(int attempt) {
+        long seconds = backoffBaseSeconds << Math.min(attempt - 1, 20);
+        seconds = Math.min(seconds, backoffMaxSeconds);
+        long jitter = ThreadLocalRandom.current().nextLong(seconds / 5 + 1);
+        return Duration.ofSeconds(seconds + jitter);
+    }
+
+    private static void failAll(List<EmailOutboxMessage> slice, String error, Map<Long, String> failures) {
+        for (EmailOutboxMessage message : slice) {
+            failures.put(message.getId(), error);
+        }
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return "Unknown error";
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.outbox.delivery").tag("outcome", outcome)
+                .description("Outbox delivery attempts by outcome")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Log email to console (fallback when SMTP is not configured or failing)
+     */
+    private static void logEmailToConsole(EmailOutboxMessage message) {
+        System.out.println("========================================");
+        System.out.println("EMAIL (Console Mode - SMTP Not Configured)");
+        System.out.println("To: " + message.getRecipient());
+        System.out.println("Subject: " + message.getSubject());
+        System.out.println("========================================");
+        System.out.println(message.getBody());
+        System.out.println("========================================");
+    }
+}
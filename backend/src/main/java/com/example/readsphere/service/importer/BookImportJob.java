@@ -0,0 +1,116 @@
+package com.example.readsphere.service.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of one asynchronous CSV import. Counters are updated by the worker
+ * thread and read by polling requests, so accessors are synchronized.
+ */
+public class BookImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final long createdAt = System.currentTimeMillis();
+
+    private Status status = Status.QUEUED;
+    private long processed;
+    private long imported;
+    private long failed;
+    private String message;
+    private Long finishedAt;
+    private final List<RowError> errors = new ArrayList<>();
+
+    BookImportJob(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized long getProcessed() {
+        return processed;
+    }
+
+    public synchronized long getImported() {
+        return imported;
+    }
+
+    public synchronized long getFailed() {
+        return failed;
+    }
+
+    public synchronized String getMessage() {
+        return message;
+    }
+
+    public synchronized Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * The first {@value #MAX_REPORTED_ERRORS} rejected rows; {@link #getFailed()} has the full count.
+     */
+    public synchronized List<RowError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+    }
+
+    synchronized void rowRejected(long line, String error) {
+        processed++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, error));
+        }
+    }
+
+    synchronized void batchImported(int rows) {
+        processed += rows;
+        imported += rows;
+    }
+
+    synchronized void finish(Status finalStatus, String finalMessage) {
+        status = finalStatus;
+        message = finalMessage;
+        finishedAt = System.currentTimeMillis();
+    }
+
+    public static class RowError {
+        private final long line;
+        private final String error;
+
+        RowError(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.readsphere.service.importer;
+
+import com.example.readsphere.service.cache.BoundedCache;
+import com.example.readsphere.service.recommendation.RecommendationCache;
+import com.example.readsphere.service.stats.PlatformCounter;
+import com.example.readsphere.service.stats.PlatformStatsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports a user's books from CSV in the background.
+ *
+ * The upload is spooled to a temp file so the request thread returns immediately.
+ * A worker then parses it record by record and writes the accepted rows with
+ * batched JDBC inserts, one transaction per batch. If the database rejects a batch
+ * its rows are retried one at a time, so only the offending rows are reported.
+ * Progress and rejected rows are kept on a {@link BookImportJob} for clients to poll.
+ *
+ * CSV columns: title,author,genre,totalPages,status,pagesRead(optional),rating(optional).
+ * A first row whose first column is "title" is treated as a header.
+ */
+@Service
+public class BookImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO books (title, author, genre, total_pages, pages_read, status, rating, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationCache recommendationCache;
+    private final PlatformStatsService platformStatsService;
+    private final BoundedCache<String, BookImportJob> jobs;
+    private final ThreadPoolExecutor workers;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    public BookImportService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             RecommendationCache recommendationCache,
+                             PlatformStatsService platformStatsService,
+                             @Value("${app.import.threads:2}") int threads,
+                             @Value("${app.import.queue-capacity:16}") int queueCapacity,
+                             @Value("${app.import.retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.recommendationCache = recommendationCache;
+        this.platformStatsService = platformStatsService;
+        this.jobs = new BoundedCache<>("bookImports", 1000, TimeUnit.MINUTES.toMillis(retentionMinutes));
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "book-import-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Spool the upload and queue it for import.
+     *
+     * @throws RejectedExecutionException if the import queue is full
+     */
+    public BookImportJob submit(Long userId, MultipartFile file) throws IOException {
+        Path spooled = Files.createTempFile("book-import-", ".csv");
+        try {
+            file.transferTo(spooled);
+            BookImportJob job = new BookImportJob(userId);
+            jobs.put(job.getId(), job);
+            workers.execute(() -> run(job, spooled));
+            return job;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * The job with this id if it belongs to the user and has not expired.
+     */
+    public BookImportJob find(Long userId, String jobId) {
+        BookImportJob job = jobs.get(jobId);
+        return job != null && job.getUserId().equals(userId) ? job : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(BookImportJob job, Path spooled) {
+        job.start();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        try (BufferedReader in = Files.newBufferedReader(spooled, StandardCharsets.UTF_8);
+             CsvReader csv = new CsvReader(in)) {
+            boolean first = true;
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (first) {
+                    first = false;
+                    record.set(0, stripBom(record.get(0)));
+                    if (record.get(0).trim().equalsIgnoreCase("title")) continue;
+                }
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+                long line = csv.getRecordStartLine();
+                try {
+                    batch.add(new PendingRow(line, toParams(record, job.getUserId())));
+                } catch (IllegalArgumentException e) {
+                    job.rowRejected(line, e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(job, batch);
+                }
+            }
+            flush(job, batch);
+            job.finish(BookImportJob.Status.COMPLETED, "Import completed");
+        } catch (Exception e) {
+            job.finish(BookImportJob.Status.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            if (job.getImported() > 0) {
+                recommendationCache.invalidate(job.getUserId());
+            }
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException ignored) {
+                // temp dir cleanup will catch it
+            }
+        }
+    }
+
+    private void flush(BookImportJob job, List<PendingRow> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Object[]> params = new ArrayList<>(batch.size());
+        for (PendingRow row : batch) {
+            params.add(row.params);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, params));
+            imported(job, batch.size());
+        } catch (DataAccessException e) {
+            // The batch rolled back as a whole; retry row by row so only the bad rows are rejected
+            insertRowByRow(job, batch);
+        }
+        batch.clear();
+    }
+
+    private void insertRowByRow(BookImportJob job, List<PendingRow> batch) {
+        int inserted = 0;
+        for (PendingRow row : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, row.params);
+                inserted++;
+            } catch (DataAccessException e) {
+                job.rowRejected(row.line, "Database rejected row: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        if (inserted > 0) {
+            imported(job, inserted);
+        }
+    }
+
+    private void imported(BookImportJob job, int rows) {
+        job.batchImported(rows);
+        // JDBC inserts bypass the JPA listeners that keep the dashboard counters current
+        platformStatsService.adjust(PlatformCounter.USER_BOOKS, rows);
+    }
+
+    private static Object[] toParams(List<String> record, Long userId) {
+        if (record.size() < 5) {
+            throw new IllegalArgumentException("Expected at least 5 columns but found " + record.size());
+        }
+        String title = text(record, 0, "title");
+        String author = text(record, 1, "author");
+        String genre = text(record, 2, "genre");
+        int totalPages = number(record, 3, "totalPages");
+        String status = text(record, 4, "status");
+        int pagesRead = optional(record, 5) ? number(record, 5, "pagesRead") : 0;
+        Integer rating = optional(record, 6) ? number(record, 6, "rating") : null;
+        return new Object[]{title, author, genre, totalPages, pagesRead, status, rating, userId};
+    }
+
+    private static String text(List<String> record, int index, String column) {
+        String value = record.get(index).trim();
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static int number(List<String> record, int index, String column) {
+        String value = record.get(index).trim();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a whole number: '" + value + "'");
+        }
+    }
+
+    private static boolean optional(List<String> record, int index) {
+        return record.size() > index && !record.get(index).trim().isEmpty();
+    }
+
+    private static String stripBom(String value) {
+        return !value.isEmpty() && value.charAt(0) == '\uFEFF' ? value.substring(1) : value;
+    }
+
+    private static final class PendingRow {
+        final long line;
+        final Object[] params;
+
+        PendingRow(long line, Object[] params) {
+            this.line = line;
+            this.params = params;
+        }
+    }
+}
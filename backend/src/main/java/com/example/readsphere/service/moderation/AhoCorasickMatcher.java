@@ -0,0 +1,170 @@
+package com.example.readsphere.service.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton over a set of terms.
+ *
+ * Matching is case-insensitive and whole-word: a term only counts when the
+ * characters on either side of it are not letters or digits, so "ass" does not
+ * fire inside "class". One pass over the text costs O(text length + matches)
+ * regardless of how many terms the automaton holds.
+ *
+ * Transitions are stored per state as a sorted char array with parallel targets
+ * and looked up by binary search, which keeps the automaton compact for the
+ * sparse alphabets real term lists use.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final AhoCorasickMatcher EMPTY = new AhoCorasickMatcher(List.of());
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    /** Index into {@link #terms} of the term ending at this state, or -1. */
+    private final int[] output;
+    /** Nearest state on the fail chain that has an output, or -1. */
+    private final int[] dictLink;
+    private final String[] terms;
+
+    private AhoCorasickMatcher(Collection<String> rawTerms) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String term : rawTerms) {
+            String normalized = normalize(term);
+            if (!normalized.isEmpty()) {
+                unique.add(normalized);
+            }
+        }
+        this.terms = unique.toArray(new String[0]);
+
+        // Build the trie with ordered child maps, then freeze it into arrays
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(-1);
+        for (int t = 0; t < terms.length; t++) {
+            int state = 0;
+            for (char c : terms[t].toCharArray()) {
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    outputs.add(-1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.set(state, t);
+        }
+
+        int states = children.size();
+        this.keys = new char[states][];
+        this.targets = new int[states][];
+        this.output = new int[states];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> map = children.get(s);
+            keys[s] = new char[map.size()];
+            targets[s] = new int[map.size()];
+            int i = 0;
+            for (var entry : map.entrySet()) {
+                keys[s][i] = entry.getKey();
+                targets[s][i] = entry.getValue();
+                i++;
+            }
+            output[s] = outputs.get(s);
+        }
+
+        // Breadth-first pass for failure and dictionary-suffix links
+        this.fail = new int[states];
+        this.dictLink = new int[states];
+        Arrays.fill(dictLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < keys[state].length; i++) {
+                char c = keys[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                while (f != 0 && transition(f, c) < 0) {
+                    f = fail[f];
+                }
+                int target = transition(f, c);
+                fail[child] = target >= 0 && target != child ? target : 0;
+                dictLink[child] = output[fail[child]] >= 0 ? fail[child] : dictLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    public static AhoCorasickMatcher of(Collection<String> terms) {
+        return terms.isEmpty() ? EMPTY : new AhoCorasickMatcher(terms);
+    }
+
+    public static AhoCorasickMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Number of distinct terms in the automaton.
+     */
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Distinct terms found in the text, in order of first occurrence.
+     */
+    public List<String> findAll(String text) {
+        if (text == null || terms.length == 0) {
+            return List.of();
+        }
+        Set<String> found = new LinkedHashSet<>();
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            int match = output[state] >= 0 ? state : dictLink[state];
+            while (match >= 0) {
+                String term = terms[output[match]];
+                int start = i - term.length() + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    found.add(term);
+                }
+                match = dictLink[match];
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private int transition(int state, char c) {
+        int i = Arrays.binarySearch(keys[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    static String normalize(String term) {
+        return term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.readsphere.service.moderation;
+
+import com.example.readsphere.model.Note;
+import com.example.readsphere.model.Quote;
+import com.example.readsphere.repository.NoteRepository;
+import com.example.readsphere.repository.QuoteRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import com.example.readsphere.service.stats.PlatformCounter;
+import com.example.readsphere.service.stats.PlatformStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moderation queue over notes and quotes, newest first.
+ *
+ * Pages are keyset queries: notes on (createdAt, id), quotes on id, which for
+ * identity keys follows creation order. Each query is backed by an index that
+ * leads with {@code flagged}; on PostgreSQL partial indexes over the flagged rows
+ * only are added at startup, since that is the queue moderators actually work.
+ * Bulk actions run as single UPDATE/DELETE statements over the id list.
+ */
+@Service
+public class ModerationQueueService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_IDS = 500;
+
+    public enum Action {
+        DELETE, UNFLAG;
+
+        public static Action from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unknown action '" + value + "'; expected delete or unflag");
+            }
+        }
+    }
+
+    private final NoteRepository noteRepository;
+    private final QuoteRepository quoteRepository;
+    private final PlatformStatsService platformStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ModerationQueueService(NoteRepository noteRepository,
+                                  QuoteRepository quoteRepository,
+                                  PlatformStatsService platformStatsService,
+                                  JdbcTemplate jdbcTemplate,
+                                  DatabaseDialect dialect) {
+        this.noteRepository = noteRepository;
+        this.quoteRepository = quoteRepository;
+        this.platformStatsService = platformStatsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (!dialect.isPostgres()) {
+                // MySQL has no partial indexes; the (flagged, ...) composites from the entities cover it
+                return;
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_notes_flagged_queue " +
+                    "ON notes (created_at DESC, id DESC) WHERE flagged");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_quotes_flagged_queue " +
+                    "ON quotes (id DESC) WHERE flagged");
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not create moderation queue indexes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One page of notes, newest first.
+     *
+     * @param flagged true for the flagged queue, false for unflagged notes, null for all
+     * @param search  optional substring filter, applied within the keyset scan
+     */
+    @Transactional(readOnly = true)
+    public PageResult<Note> notes(Boolean flagged, String search, String cursor, int size) {
+        int limit = clampSize(size);
+        StringBuilder jpql = new StringBuilder("SELECT n FROM Note n WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(jpql, params, "n", flagged, search);
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            try {
+                params.put("afterCreated", LocalDateTime.parse(parts[0]));
+                params.put("afterId", Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            jpql.append(" AND (n.createdAt < :afterCreated OR (n.createdAt = :afterCreated AND n.id < :afterId))");
+        }
+        jpql.append(" ORDER BY n.createdAt DESC, n.id DESC");
+
+        List<Note> rows = fetch(jpql.toString(), Note.class, params, limit);
+        boolean hasMore = rows.size() > limit;
+        List<Note> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Note last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt() + "|" + last.getId());
+        }
+        return new PageResult<>(items, nextCursor);
+    }
+
+    /**
+     * One page of quotes, newest first.
+     *
+     * @param flagged true for the flagged queue, false for unflagged quotes, null for all
+     * @param search  optional substring filter, applied within the keyset scan
+     */
+    @Transactional(readOnly = true)
+    public PageResult<Quote> quotes(Boolean flagged, String search, String cursor, int size) {
+        int limit = clampSize(size);
+        StringBuilder jpql = new StringBuilder("SELECT q FROM Quote q WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(jpql, params, "q", flagged, search);
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                params.put("afterId", Long.parseLong(decodeCursor(cursor)[0]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            jpql.append(" AND q.id < :afterId");
+        }
+        jpql.append(" ORDER BY q.id DESC");
+
+        List<Quote> rows = fetch(jpql.toString(), Quote.class, params, limit);
+        boolean hasMore = rows.size() > limit;
+        List<Quote> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(String.valueOf(items.get(items.size() - 1).getId())) : null;
+        return new PageResult<>(items, nextCursor);
+    }
+
+    /**
+     * Apply an action to many notes with set-based statements.
+     *
+     * @return number of notes affected
+     */
+    @Transactional
+    public int bulkNotes(Action action, List<Long> ids) {
+        Set<Long> unique = checkIds(ids);
+        if (action == Action.UNFLAG) {
+            return noteRepository.unflagByIdIn(unique);
+        }
+        noteRepository.deleteTagLinksByNoteIdIn(unique);
+        int deleted = noteRepository.deleteByIdIn(unique);
+        // Bulk deletes skip the entity listeners that maintain the dashboard counters
+        platformStatsService.adjust(PlatformCounter.NOTES, -deleted);
+        return deleted;
+    }
+
+    /**
+     * Apply an action to many quotes with set-based statements.
+     *
+     * @return number of quotes affected
+     */
+    @Transactional
+    public int bulkQuotes(Action action, List<Long> ids) {
+        Set<Long> unique = checkIds(ids);
+        if (action == Action.UNFLAG) {
+            return quoteRepository.unflagByIdIn(unique);
+        }
+        int deleted = quoteRepository.deleteByIdIn(unique);
+        platformStatsService.adjust(PlatformCounter.QUOTES, -deleted);
+        return deleted;
+    }
+
+    private static void appendFilters(StringBuilder jpql, Map<String, Object> params, String alias,
+                                      Boolean flagged, String search) {
+        if (flagged != null) {
+            jpql.append(" AND ").append(alias).append(".flagged = :flagged");
+            params.put("flagged", flagged);
+        }
+        if (search != null && !search.isBlank()) {
+            jpql.append(" AND LOWER(").append(alias).append(".text) LIKE :search ESCAPE '!'");
+            String escaped = DatabaseDialect.escapeLike(search.trim().toLowerCase(Locale.ROOT));
+            params.put("search", "%" + escaped + "%");
+        }
+    }
+
+    private <T> List<T> fetch(String jpql, Class<T> type, Map<String, Object> params, int limit) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, type);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit + 1);
+        return query.getResultList();
+    }
+
+    private static Set<Long> checkIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids per request");
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        return unique;
+    }
+
+    private static int clampSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static String encodeCursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static class PageResult<T> {
+        private final List<T> items;
+        private final String nextCursor;
+
+        PageResult(List<T> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Opaque position after the last item, or null on the final page.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
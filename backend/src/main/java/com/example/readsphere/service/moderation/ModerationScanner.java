@@ -0,0 +1,355 @@
+package com.example.readsphere.service.moderation;
+
+import com.example.readsphere.model.ModerationTerm;
+import com.example.readsphere.repository.ModerationTermRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flags notes and quotes whose text contains an admin-managed term.
+ *
+ * The terms are compiled into an {@link AhoCorasickMatcher} held in a volatile
+ * field; a change to the list builds a new automaton off to the side and swaps it
+ * in with one write, so scans never see a half-built matcher. New and edited
+ * content is scanned on a small worker pool after the write commits. The backfill
+ * walks existing unflagged rows by id and scans batches in parallel.
+ *
+ * The scanner only ever sets flags; clearing them is a moderator decision.
+ */
+@Service
+public class ModerationScanner {
+
+    static final int MAX_REASON_LENGTH = 255;
+    public static final int MAX_TERM_LENGTH = 100;
+    public static final int MAX_TERMS_PER_REQUEST = 500;
+    private static final String REASON_PREFIX = "Auto-flagged: ";
+
+    private enum Table {
+        NOTES("notes"), QUOTES("quotes");
+
+        final String name;
+
+        Table(String name) {
+            this.name = name;
+        }
+    }
+
+    private final ModerationTermRepository termRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "moderation-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private volatile AhoCorasickMatcher matcher = AhoCorasickMatcher.empty();
+    private volatile Map<String, Object> lastRun = Map.of("status", "NEVER_RUN");
+
+    @Value("${app.moderation.backfill.batch-size:500}")
+    private int batchSize;
+
+    public ModerationScanner(ModerationTermRepository termRepository,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.moderation.threads:2}") int threads,
+                             @Value("${app.moderation.queue-capacity:1000}") int queueCapacity) {
+        this.termRepository = termRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "moderation-scan-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load moderation terms: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pick up term changes made by other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.terms-refresh-ms:300000}", initialDelayString = "${app.moderation.terms-refresh-ms:300000}")
+    public void scheduledReload() {
+        onApplicationReady();
+    }
+
+    /**
+     * Rebuild the automaton from the term table and swap it in.
+     */
+    public void reload() {
+        matcher = AhoCorasickMatcher.of(termRepository.findAllTerms());
+    }
+
+    public List<ModerationTerm> listTerms() {
+        return termRepository.findAllByOrderByTermAsc();
+    }
+
+    /**
+     * Store new terms and swap in a rebuilt automaton. Terms already on the list are skipped.
+     *
+     * @return the terms that were added
+     */
+    public List<ModerationTerm> addTerms(Collection<String> rawTerms) {
+        if (rawTerms == null || rawTerms.isEmpty()) {
+            throw new IllegalArgumentException("At least one term is required");
+        }
+        if (rawTerms.size() > MAX_TERMS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_TERMS_PER_REQUEST + " terms per request");
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String raw : rawTerms) {
+            String term = normalize(raw);
+            if (term.isEmpty()) {
+                throw new IllegalArgumentException("Terms must not be blank");
+            }
+            if (term.length() > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("Terms must be at most " + MAX_TERM_LENGTH + " characters");
+            }
+            unique.add(term);
+        }
+        List<ModerationTerm> added = new ArrayList<>();
+        for (String term : unique) {
+            if (!termRepository.existsByTerm(term)) {
+                added.add(new ModerationTerm(term));
+            }
+        }
+        if (!added.isEmpty()) {
+            added = termRepository.saveAll(added);
+            reload();
+        }
+        return added;
+    }
+
+    /**
+     * @return false if no term has that id
+     */
+    public boolean removeTerm(Long id) {
+        if (!termRepository.existsById(id)) {
+            return false;
+        }
+        termRepository.deleteById(id);
+        reload();
+        return true;
+    }
+
+    public int termCount() {
+        return matcher.size();
+    }
+
+    public void scanNoteAsync(Long id, String text) {
+        scanAsync(Table.NOTES, id, text);
+    }
+
+    public void scanQuoteAsync(Long id, String text) {
+        scanAsync(Table.QUOTES, id, text);
+    }
+
+    /**
+     * Start a backfill over all unflagged notes and quotes. Returns false if one is already running.
+     */
+    public boolean backfillAsync() {
+        if (running.get()) {
+            return false;
+        }
+        launcher.submit(this::backfill);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    public void backfill() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            AhoCorasickMatcher snapshot = matcher;
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "COMPLETED");
+            run.put("terms", snapshot.size());
+            for (Table table : Table.values()) {
+                long[] counts = backfillTable(table, snapshot);
+                run.put(table.name + "Scanned", counts[0]);
+                run.put(table.name + "Flagged", counts[1]);
+            }
+            long elapsed = System.currentTimeMillis() - started;
+            run.put("durationMs", elapsed);
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.out.println("🛡️ Moderation backfill finished in " + elapsed + "ms");
+        } catch (Exception e) {
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "FAILED");
+            run.put("error", e.getMessage());
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.err.println("❌ Moderation backfill failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Page through unflagged rows by id on this thread and scan each page on the
+     * worker pool, keeping at most two pages per worker in flight.
+     *
+     * @return {scanned, flagged}
+     */
+    private long[] backfillTable(Table table, AhoCorasickMatcher snapshot) throws InterruptedException {
+        if (snapshot.size() == 0) {
+            return new long[]{0, 0};
+        }
+        int permits = workers.getMaximumPoolSize() * 2;
+        Semaphore inFlight = new Semaphore(permits);
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong flagged = new AtomicLong();
+        List<Exception> failures = new ArrayList<>();
+        long afterId = 0;
+
+        while (true) {
+            List<Object[]> page = jdbcTemplate.query(
+                    "SELECT id, text FROM " + table.name + " WHERE flagged = ? AND id > ? ORDER BY id LIMIT ?",
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)},
+                    false, afterId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = (Long) page.get(page.size() - 1)[0];
+
+            Runnable batch = () -> {
+                try {
+                    List<Object[]> updates = new ArrayList<>();
+                    for (Object[] row : page) {
+                        List<String> hits = snapshot.findAll((String) row[1]);
+                        if (!hits.isEmpty()) {
+                            updates.add(new Object[]{true, reason(hits), row[0], false});
+                        }
+                    }
+                    if (!updates.isEmpty()) {
+                        jdbcTemplate.batchUpdate(flagSql(table), updates);
+                    }
+                    scanned.addAndGet(page.size());
+                    flagged.addAndGet(updates.size());
+                } catch (Exception e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            };
+
+            inFlight.acquire();
+            try {
+                workers.execute(batch);
+            } catch (RejectedExecutionException e) {
+                // The queue is shared with live scans; when it is full do this page here
+                batch.run();
+            }
+        }
+
+        inFlight.acquire(permits);
+        inFlight.release(permits);
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Batch failed while scanning " + table.name, failures.get(0));
+        }
+        return new long[]{scanned.get(), flagged.get()};
+    }
+
+    private void scanAsync(Table table, Long id, String text) {
+        if (id == null || text == null || text.isBlank() || matcher.size() == 0) {
+            return;
+        }
+        Runnable submit = () -> {
+            try {
+                workers.execute(() -> scan(table, id, text));
+            } catch (RejectedExecutionException e) {
+                // The next backfill will pick it up
+                System.err.println("⚠️ Moderation queue full, skipped scan of " + table.name + " " + id);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    private void scan(Table table, Long id, String text) {
+        try {
+            List<String> hits = matcher.findAll(text);
+            if (!hits.isEmpty()) {
+                jdbcTemplate.update(flagSql(table), true, reason(hits), id, false);
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Moderation scan of " + table.name + " " + id + " failed: " + e.getMessage());
+        }
+    }
+
+    private static String flagSql(Table table) {
+        return "UPDATE " + table.name + " SET flagged = ?, flag_reason = ? WHERE id = ? AND flagged = ?";
+    }
+
+    static String reason(List<String> hits) {
+        String reason = REASON_PREFIX + String.join(", ", hits);
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    /**
+     * Normalised form of a term as stored in {@link ModerationTerm}.
+     */
+    public static String normalize(String term) {
+        return AhoCorasickMatcher.normalize(term);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.dto.ReadingLogIngestResult;
+import com.example.readsphere.dto.ReadingLogRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Ingests many reading logs for one user in a single request, for clients
+ * syncing offline sessions.
+ *
+ * Every entry carries a client idempotency key, unique per user in
+ * reading_logs, so uploading the same entries again reports them as
+ * duplicates instead of counting their pages twice. Book ownership and known
+ * keys are each checked with set-based queries, new logs go in with batched
+ * JDBC inserts, and the rollups and streak are updated once per batch. Keys
+ * are compared case-insensitively, as MySQL's default collation would anyway.
+ * The user's row is locked for the transaction so concurrent retries of one
+ * upload are applied one after the other.
+ */
+@Service
+public class ReadingLogBatchService {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private static final int IN_CHUNK_SIZE = 500;
+    private static final String INSERT_SQL =
+            "INSERT INTO reading_logs (user_id, book_id, pages, date, client_key) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadingRollupService rollupService;
+    private final ReadingStreakService streakService;
+
+    @Value("${app.reading.batch.max-items:5000}")
+    private int maxItems;
+
+    @Value("${app.reading.batch.insert-size:500}")
+    private int insertBatchSize;
+
+    public ReadingLogBatchService(JdbcTemplate jdbcTemplate, ReadingRollupService rollupService,
+                                  ReadingStreakService streakService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupService = rollupService;
+        this.streakService = streakService;
+    }
+
+    /**
+     * Write the entries that are valid, on one of the user's books and not seen
+     * before, all in one transaction.
+     *
+     * @return one result per entry, in request order
+     * @throws IllegalArgumentException if the batch is empty, too large or the user does not exist
+     */
+    @Transactional
+    public List<ReadingLogIngestResult> ingest(Long userId, List<ReadingLogRequest> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("No reading logs given");
+        }
+        if (entries.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " reading logs per batch");
+        }
+        List<Long> users = jdbcTemplate.queryForList("SELECT id FROM users WHERE id = ? FOR UPDATE", Long.class, userId);
+        if (users.isEmpty()) {
+            throw new IllegalArgumentException("Invalid userId");
+        }
+
+        List<ReadingLogIngestResult> results = new ArrayList<>(entries.size());
+        List<String> keys = new ArrayList<>(entries.size());
+        Collection<Long> bookIds = new LinkedHashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ReadingLogRequest entry = entries.get(i);
+            String key = entry == null || entry.getIdempotencyKey() == null ? null : entry.getIdempotencyKey().trim();
+            ReadingLogIngestResult result = new ReadingLogIngestResult(i, key);
+            results.add(result);
+            keys.add(key == null ? null : key.toLowerCase(Locale.ROOT));
+            String error = validate(entry, key);
+            if (error != null) {
+                result.rejected(error);
+            } else {
+                bookIds.add(entry.getBookId());
+            }
+        }
+
+        Map<Long, String> genreByBook = ownedBooks(userId, bookIds);
+        // Each key to the first accepted entry carrying it; later ones are duplicates of that entry
+        Map<String, Integer> claimed = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ReadingLogIngestResult result = results.get(i);
+            if (result.getStatus() != null) {
+                continue;
+            }
+            if (!genreByBook.containsKey(entries.get(i).getBookId())) {
+                result.rejected("Book not found");
+            } else if (claimed.putIfAbsent(keys.get(i), i) == null) {
+                candidates.add(i);
+            }
+        }
+
+        Map<String, Long> existing = logIdsByKey(userId, claimed.keySet());
+        List<Object[]> rows = new ArrayList<>();
+        List<ReadingRollupService.LoggedPages> logged = new ArrayList<>();
+        SortedSet<LocalDate> activeDates = new TreeSet<>();
+        for (int i : candidates) {
+            if (existing.containsKey(keys.get(i))) {
+                continue;
+            }
+            ReadingLogRequest entry = entries.get(i);
+            LocalDate date = entry.getDate() != null ? entry.getDate() : LocalDate.now();
+            rows.add(new Object[]{userId, entry.getBookId(), entry.getPages(), Date.valueOf(date), keys.get(i)});
+            logged.add(new ReadingRollupService.LoggedPages(
+                    entry.getBookId(), genreByBook.get(entry.getBookId()), date, entry.getPages()));
+            activeDates.add(date);
+        }
+
+        Map<String, Long> created = Collections.emptyMap();
+        if (!rows.isEmpty()) {
+            for (int from = 0; from < rows.size(); from += insertBatchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(from + insertBatchSize, rows.size())));
+            }
+            List<String> createdKeys = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                createdKeys.add((String) row[4]);
+            }
+            created = logIdsByKey(userId, createdKeys);
+            rollupService.recordLogs(userId, logged);
+            streakService.recordActivity(userId, activeDates);
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            ReadingLogIngestResult result = results.get(i);
+            if (result.getStatus() != null) {
+                continue;
+            }
+            String key = keys.get(i);
+            if (existing.containsKey(key)) {
+                result.duplicate(existing.get(key));
+            } else if (claimed.get(key) == i) {
+                result.created(created.get(key));
+            } else {
+                result.duplicate(created.get(key));
+            }
+        }
+        return results;
+    }
+
+    private static String validate(ReadingLogRequest entry, String key) {
+        if (entry == null) {
+            return "Entry is empty";
+        }
+        if (key == null || key.isEmpty()) {
+            return "idempotencyKey is required";
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return "idempotencyKey must be at most " + MAX_KEY_LENGTH + " characters";
+        }
+        if (entry.getBookId() == null) {
+            return "bookId is required";
+        }
+        if (entry.getPages() < 1) {
+            return "pages must be at least 1";
+        }
+        return null;
+    }
+
+    /**
+     * Genre of each given book the user owns; books of other users or unknown ids are absent.
+     */
+    private Map<Long, String> ownedBooks(Long userId, Collection<Long> bookIds) {
+        Map<Long, String> genres = new HashMap<>();
+        forEachChunk(new ArrayList<>(bookIds), (chunk, placeholders) -> {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(userId);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT id, genre FROM books WHERE user_id = ? AND id IN (" + placeholders + ")",
+                    (RowCallbackHandler) rs -> genres.put(rs.getLong("id"), rs.getString("genre")), args.toArray());
+        });
+        return genres;
+    }
+
+    private Map<String, Long> logIdsByKey(Long userId, Collection<String> keys) {
+        Map<String, Long> ids = new HashMap<>();
+        forEachChunk(new ArrayList<>(keys), (chunk, placeholders) -> {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(userId);
+            args.addAll(chunk);
+            jdbcTemplate.query("SELECT client_key, id FROM reading_logs WHERE user_id = ? AND client_key IN (" +
+                    placeholders + ")", (RowCallbackHandler) rs -> ids.put(rs.getString("client_key"), rs.getLong("id")),
+                    args.toArray());
+        });
+        return ids;
+    }
+
+    // Bounded IN lists keep each statement's parameter count and plan size predictable
+    private static <T> void forEachChunk(List<T> values, ChunkAction<T> action) {
+        for (int from = 0; from < values.size(); from += IN_CHUNK_SIZE) {
+            List<T> chunk = values.subList(from, Math.min(from + IN_CHUNK_SIZE, values.size()));
+            action.apply(chunk, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction<T> {
+        void apply(List<T> chunk, String placeholders);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.ReadingLog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.ReadingLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Writes reading logs together with the per-user state derived from them, in one
+ * transaction, so the derived state never drifts from the log table.
+ */
+@Service
+public class ReadingLogService {
+
+    private final ReadingLogRepository logRepository;
+    private final ReadingStreakService streakService;
+    private final ReadingRollupService rollupService;
+
+    public ReadingLogService(ReadingLogRepository logRepository, ReadingStreakService streakService,
+                             ReadingRollupService rollupService) {
+        this.logRepository = logRepository;
+        this.streakService = streakService;
+        this.rollupService = rollupService;
+    }
+
+    @Transactional
+    public ReadingLog addLog(User user, Book book, int pages, LocalDate date) {
+        ReadingLog saved = logRepository.save(new ReadingLog(user, book, pages, date));
+        rollupService.recordLog(user.getId(), book, date, pages);
+        if (pages > 0) {
+            streakService.recordActivity(user.getId(), date);
+        }
+        return saved;
+    }
+
+    @Transactional
+    public void deleteLogsForBook(Book book) {
+        rollupService.removeBookLogs(book);
+        logRepository.deleteByBookId(book.getId());
+        if (book.getUser() != null) {
+            streakService.recompute(book.getUser().getId());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.readsphere.service.reading;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backfills the daily reading rollups from reading_logs. Each table is replaced
+ * with one set-based INSERT ... SELECT ... GROUP BY, all in a single transaction,
+ * so readers never see a half-built rollup.
+ */
+@Service
+public class ReadingRollupJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "reading-rollup-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<String, Object> lastRun = Map.of("status", "NEVER_RUN");
+
+    public ReadingRollupJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Backfill once after upgrading, when logs exist but the rollups are still empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            boolean hasLogs = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM reading_logs)", Boolean.class));
+            boolean hasRollups = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM user_daily_reading)", Boolean.class));
+            if (hasLogs && !hasRollups) {
+                rebuildAsync();
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not check reading rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start a rebuild in the background. Returns false if one is already running.
+     */
+    public boolean rebuildAsync() {
+        if (running.get()) {
+            return false;
+        }
+        launcher.submit(this::rebuild);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    public void rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            int[] rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM user_daily_reading");
+                jdbcTemplate.update("DELETE FROM genre_daily_reading");
+                jdbcTemplate.update("DELETE FROM book_daily_reading");
+                int users = jdbcTemplate.update(
+                        "INSERT INTO user_daily_reading (log_date, user_id, pages) " +
+                        "SELECT r.date, r.user_id, SUM(r.pages) FROM reading_logs r " +
+                        "WHERE r.user_id IS NOT NULL GROUP BY r.date, r.user_id HAVING SUM(r.pages) <> 0");
+                int genres = jdbcTemplate.update(
+                        "INSERT INTO genre_daily_reading (log_date, genre, pages) " +
+                        "SELECT r.date, " + ReadingRollupService.GENRE_LABEL_SQL + ", SUM(r.pages) " +
+                        "FROM reading_logs r LEFT JOIN books b ON b.id = r.book_id " +
+                        "GROUP BY r.date, " + ReadingRollupService.GENRE_LABEL_SQL + " HAVING SUM(r.pages) <> 0");
+                int books = jdbcTemplate.update(
+                        "INSERT INTO book_daily_reading (log_date, book_id, pages) " +
+                        "SELECT r.date, r.book_id, SUM(r.pages) FROM reading_logs r " +
+                        "WHERE r.book_id IS NOT NULL GROUP BY r.date, r.book_id HAVING SUM(r.pages) <> 0");
+                return new int[]{users, genres, books};
+            });
+
+            long elapsed = System.currentTimeMillis() - started;
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "COMPLETED");
+            run.put("userDays", rows[0]);
+            run.put("genreDays", rows[1]);
+            run.put("bookDays", rows[2]);
+            run.put("durationMs", elapsed);
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.out.println("📊 Reading rollups rebuilt in " + elapsed + "ms");
+        } catch (Exception e) {
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "FAILED");
+            run.put("error", e.getMessage());
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.err.println("❌ Reading rollup rebuild failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.repository.ReadingLogRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the daily reading rollups (user_daily_reading, genre_daily_reading and
+ * book_daily_reading) in step with reading_logs. Each write is a single atomic
+ * upsert on the row's unique key, issued in the caller's transaction.
+ *
+ * Genre rows use the book's genre at the time the log was written. Editing a
+ * book's genre ({@link #bookGenreChanged}) and removing a book's logs both
+ * re-derive the genre rows of the days that book was read, since the genre its
+ * logs were counted under is no longer known. Writes that bypass both still need
+ * a {@link ReadingRollupJob} rebuild.
+ */
+@Service
+public class ReadingRollupService {
+
+    static final String UNKNOWN_GENRE = "Unknown";
+
+    // SQL form of genreLabel over books b
+    static final String GENRE_LABEL_SQL = "COALESCE(NULLIF(TRIM(b.genre), ''), '" + UNKNOWN_GENRE + "')";
+
+    private static final int DATE_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadingLogRepository logRepository;
+    private final DatabaseDialect dialect;
+
+    public ReadingRollupService(JdbcTemplate jdbcTemplate, ReadingLogRepository logRepository, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.logRepository = logRepository;
+        this.dialect = dialect;
+    }
+
+    @Transactional
+    public void recordLog(Long userId, Book book, LocalDate date, int pages) {
+        if (pages == 0) {
+            return;
+        }
+        add("user_daily_reading", "user_id", userId, date, pages);
+        add("genre_daily_reading", "genre", genreLabel(book.getGenre()), date, pages);
+        add("book_daily_reading", "book_id", book.getId(), date, pages);
+    }
+
+    /**
+     * Apply many logs of one user at once. Pages are summed per rollup row first,
+     * so each row gets a single upsert however many logs touch it.
+     */
+    @Transactional
+    public void recordLogs(Long userId, List<LoggedPages> logs) {
+        Map<LocalDate, Long> byUser = new TreeMap<>();
+        Map<LocalDate, Map<String, Long>> byGenre = new TreeMap<>();
+        Map<LocalDate, Map<Long, Long>> byBook = new TreeMap<>();
+        for (LoggedPages log : logs) {
+            if (log.pages == 0) {
+                continue;
+            }
+            byUser.merge(log.date, (long) log.pages, Long::sum);
+            byGenre.computeIfAbsent(log.date, d -> new TreeMap<>()).merge(genreLabel(log.genre), (long) log.pages, Long::sum);
+            byBook.computeIfAbsent(log.date, d -> new TreeMap<>()).merge(log.bookId, (long) log.pages, Long::sum);
+        }
+        byUser.forEach((date, pages) -> add("user_daily_reading", "user_id", userId, date, pages));
+        byGenre.forEach((date, genres) -> genres.forEach((genre, pages) ->
+                add("genre_daily_reading", "genre", genre, date, pages)));
+        byBook.forEach((date, books) -> books.forEach((bookId, pages) ->
+                add("book_daily_reading", "book_id", bookId, date, pages)));
+    }
+
+    /**
+     * Subtract every log of the book from the rollups. Call before the logs are deleted.
+     */
+    @Transactional
+    public void removeBookLogs(Book book) {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (Object[] row : logRepository.sumPagesByDateAndUserForBook(book.getId())) {
+            LocalDate date = (LocalDate) row[0];
+            Long userId = (Long) row[1];
+            long pages = ((Number) row[2]).longValue();
+            subtract("user_daily_reading", "user_id", userId, date, pages);
+            dates.add(date);
+        }
+        rebuildGenreDays(new ArrayList<>(dates), book.getId());
+        jdbcTemplate.update("DELETE FROM book_daily_reading WHERE book_id = ?", book.getId());
+    }
+
+    /**
+     * Move the book's pages to its current genre. Call after the new genre is saved.
+     */
+    @Transactional
+    public void bookGenreChanged(Book book) {
+        rebuildGenreDays(logRepository.findDatesByBookId(book.getId()), null);
+    }
+
+    /**
+     * Replace the genre rows of the given days with sums over their logs, leaving
+     * out the excluded book if there is one. The book's genre may have been edited
+     * since its logs were counted, so subtracting under its current genre could hit
+     * the wrong row.
+     */
+    private void rebuildGenreDays(List<LocalDate> dates, Long excludedBookId) {
+        for (int from = 0; from < dates.size(); from += DATE_CHUNK_SIZE) {
+            List<LocalDate> chunk = dates.subList(from, Math.min(from + DATE_CHUNK_SIZE, dates.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.update("DELETE FROM genre_daily_reading WHERE log_date IN (" + placeholders + ")", chunk.toArray());
+            List<Object> args = new ArrayList<>(chunk);
+            String exclusion = "";
+            if (excludedBookId != null) {
+                exclusion = " AND (r.book_id IS NULL OR r.book_id <> ?)";
+                args.add(excludedBookId);
+            }
+            jdbcTemplate.update(
+                    "INSERT INTO genre_daily_reading (log_date, genre, pages) " +
+                    "SELECT r.date, " + GENRE_LABEL_SQL + ", SUM(r.pages) " +
+                    "FROM reading_logs r LEFT JOIN books b ON b.id = r.book_id " +
+                    "WHERE r.date IN (" + placeholders + ")" + exclusion + " " +
+                    "GROUP BY r.date, " + GENRE_LABEL_SQL + " HAVING SUM(r.pages) <> 0",
+                    args.toArray());
+        }
+    }
+
+    static String genreLabel(String genre) {
+        return genre == null || genre.isBlank() ? UNKNOWN_GENRE : genre.trim();
+    }
+
+    private void add(String table, String keyColumn, Object key, LocalDate date, long pages) {
+        switch (dialect.vendor()) {
+            case MYSQL -> jdbcTemplate.update(
+                    "INSERT INTO " + table + " (log_date, " + keyColumn + ", pages) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE pages = pages + VALUES(pages)",
+                    date, key, pages);
+            case POSTGRES -> jdbcTemplate.update(
+                    "INSERT INTO " + table + " (log_date, " + keyColumn + ", pages) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (log_date, " + keyColumn + ") DO UPDATE SET pages = " + table + ".pages + EXCLUDED.pages",
+                    date, key, pages);
+            default -> {
+                int updated = jdbcTemplate.update(
+                        "UPDATE " + table + " SET pages = pages + ? WHERE log_date = ? AND " + keyColumn + " = ?",
+                        pages, date, key);
+                if (updated == 0) {
+                    jdbcTemplate.update(
+                            "INSERT INTO " + table + " (log_date, " + keyColumn + ", pages) VALUES (?, ?, ?)",
+                            date, key, pages);
+                }
+            }
+        }
+    }
+
+    private void subtract(String table, String keyColumn, Object key, LocalDate date, long pages) {
+        jdbcTemplate.update(
+                "UPDATE " + table + " SET pages = pages - ? WHERE log_date = ? AND " + keyColumn + " = ?",
+                pages, date, key);
+        jdbcTemplate.update(
+                "DELETE FROM " + table + " WHERE log_date = ? AND " + keyColumn + " = ? AND pages <= 0",
+                date, key);
+    }
+
+    /**
+     * One log as the rollups see it: the book, its genre when logged, the day and the pages.
+     */
+    public static final class LoggedPages {
+        final Long bookId;
+        final String genre;
+        final LocalDate date;
+        final int pages;
+
+        public LoggedPages(Long bookId, String genre, LocalDate date, int pages) {
+            this.bookId = bookId;
+            this.genre = genre;
+            this.date = date;
+            this.pages = pages;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.repository.ReadingLogRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes every user's streak state from their reading history. Used to
+ * backfill reading_streaks and to repair it on demand; users are walked in
+ * id order in chunks, each recomputed in its own transaction.
+ */
+@Service
+public class ReadingStreakJob {
+
+    private static final int USER_CHUNK_SIZE = 500;
+
+    private final ReadingLogRepository logRepository;
+    private final ReadingStreakService streakService;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "reading-streak-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<String, Object> lastRun = Map.of("status", "NEVER_RUN");
+
+    public ReadingStreakJob(ReadingLogRepository logRepository, ReadingStreakService streakService) {
+        this.logRepository = logRepository;
+        this.streakService = streakService;
+    }
+
+    /**
+     * Start a rebuild in the background. Returns false if one is already running.
+     */
+    public boolean rebuildAsync() {
+        if (running.get()) {
+            return false;
+        }
+        launcher.submit(this::rebuild);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    public void rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            long users = 0;
+            long lastUserId = Long.MIN_VALUE;
+            while (true) {
+                List<Long> userIds = logRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, USER_CHUNK_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                for (Long userId : userIds) {
+                    streakService.recompute(userId);
+                }
+                users += userIds.size();
+                lastUserId = userIds.get(userIds.size() - 1);
+            }
+
+            long elapsed = System.currentTimeMillis() - started;
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "COMPLETED");
+            run.put("users", users);
+            run.put("durationMs", elapsed);
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.out.println("🔥 Reading streaks rebuilt for " + users + " users in " + elapsed + "ms");
+        } catch (Exception e) {
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "FAILED");
+            run.put("error", e.getMessage());
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.err.println("❌ Reading streak rebuild failed: " + e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.model.ReadingStreak;
+import com.example.readsphere.repository.ReadingLogRepository;
+import com.example.readsphere.repository.ReadingStreakRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Maintains {@link ReadingStreak} rows so the streak endpoint never has to walk a
+ * user's reading history. Each new reading day extends or restarts the run ending
+ * on the last active date; backdated logs and deletions fall back to recomputing
+ * the user's state from their distinct active dates.
+ *
+ * Every change happens under a row lock on the user's streak. A user's first
+ * row is created with an insert that ignores conflicts before it is locked, so
+ * two concurrent first logs wait on one row instead of both inserting it.
+ */
+@Service
+public class ReadingStreakService {
+
+    private final ReadingStreakRepository streakRepository;
+    private final ReadingLogRepository logRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public ReadingStreakService(ReadingStreakRepository streakRepository, ReadingLogRepository logRepository,
+                                JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.streakRepository = streakRepository;
+        this.logRepository = logRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    /**
+     * Apply a log with pages read on the given date. Runs in the caller's
+     * transaction, after the log itself has been saved.
+     */
+    @Transactional
+    public void recordActivity(Long userId, LocalDate date) {
+        recordActivity(userId, new TreeSet<>(Set.of(date)));
+    }
+
+    /**
+     * Apply logs with pages read on several dates, e.g. from a batch upload, with
+     * one lock and at most one walk of the user's history.
+     */
+    @Transactional
+    public void recordActivity(Long userId, SortedSet<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        ReadingStreak streak = streakRepository.findByUserIdForUpdate(userId).orElse(null);
+        if (streak == null) {
+            recompute(userId);
+            return;
+        }
+
+        LocalDate last = streak.getLastActiveDate();
+        if (last != null && dates.first().isBefore(last)) {
+            // A backdated day can bridge two runs, so derive the state from history
+            applyHistory(streak, logRepository.findActiveDatesByUserId(userId));
+            streakRepository.save(streak);
+            return;
+        }
+        boolean changed = false;
+        for (LocalDate date : dates) {
+            if (last == null || date.isAfter(last)) {
+                int run = last != null && date.equals(last.plusDays(1)) ? streak.getCurrentRun() + 1 : 1;
+                streak.setCurrentRun(run);
+                streak.setLongestStreak(Math.max(streak.getLongestStreak(), run));
+                streak.setLastActiveDate(date);
+                last = date;
+                changed = true;
+            }
+        }
+        if (changed) {
+            streakRepository.save(streak);
+        }
+    }
+
+    /**
+     * Recompute one user's state from every day they have logged pages.
+     */
+    @Transactional
+    public ReadingStreak recompute(Long userId) {
+        ReadingStreak streak = lockOrCreate(userId);
+        applyHistory(streak, logRepository.findActiveDatesByUserId(userId));
+        return streakRepository.save(streak);
+    }
+
+    @Transactional
+    public Map<String, Object> getStreak(Long userId) {
+        ReadingStreak streak = streakRepository.findById(userId).orElseGet(() -> recompute(userId));
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("currentStreak", currentStreak(streak, LocalDate.now()));
+        resp.put("longestStreak", streak.getLongestStreak());
+        resp.put("lastActiveDate", streak.getLastActiveDate() != null ? streak.getLastActiveDate().toString() : null);
+        return resp;
+    }
+
+    /**
+     * The run is still current if the user read today or yesterday.
+     */
+    static int currentStreak(ReadingStreak streak, LocalDate today) {
+        LocalDate last = streak.getLastActiveDate();
+        if (last == null || last.isBefore(today.minusDays(1))) {
+            return 0;
+        }
+        return streak.getCurrentRun();
+    }
+
+    /**
+     * The user's streak row, locked for the rest of the transaction, inserting
+     * an empty one first if there is none yet.
+     */
+    private ReadingStreak lockOrCreate(Long userId) {
+        Optional<ReadingStreak> existing = streakRepository.findByUserIdForUpdate(userId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        String insert = "INTO reading_streaks (user_id, current_run, longest_streak) VALUES (?, 0, 0)";
+        switch (dialect.vendor()) {
+            case MYSQL -> jdbcTemplate.update("INSERT IGNORE " + insert, userId);
+            case POSTGRES -> jdbcTemplate.update("INSERT " + insert + " ON CONFLICT (user_id) DO NOTHING", userId);
+            default -> {
+                try {
+                    jdbcTemplate.update("INSERT " + insert, userId);
+                } catch (DuplicateKeyException e) {
+                    // Created concurrently; the lock below waits for it
+                }
+            }
+        }
+        return streakRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Streak row for user " + userId + " was not created"));
+    }
+
+    // activeDates must be distinct and ascending
+    private static void applyHistory(ReadingStreak streak, List<LocalDate> activeDates) {
+        int run = 0, longest = 0;
+        LocalDate previous = null;
+        for (LocalDate date : activeDates) {
+            run = previous != null && date.equals(previous.plusDays(1)) ? run + 1 : 1;
+            longest = Math.max(longest, run);
+            previous = date;
+        }
+        streak.setCurrentRun(run);
+        streak.setLongestStreak(longest);
+        streak.setLastActiveDate(previous);
+    }
+}
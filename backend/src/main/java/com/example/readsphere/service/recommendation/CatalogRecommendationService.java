@@ -10,6 +10,7 @@ import com.example.readsphere.repository.BookCatalogRepository;
 import com.example.readsphere.repository.BookRepository;
 import com.example.readsphere.repository.RecommendationFeedbackRepository;
 import com.example.readsphere.repository.UserBookRepository;
+import com.example.readsphere.service.catalog.CatalogIndex;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -19,20 +20,27 @@ import java.util.stream.Collectors;
 public class CatalogRecommendationService {
 
     private static final int MAX_RESULTS = 10;
+    private static final int MAX_COLLABORATIVE = 4;
 
     private final BookRepository bookRepository;
     private final BookCatalogRepository catalogRepository;
     private final UserBookRepository userBookRepository;
     private final RecommendationFeedbackRepository feedbackRepository;
+    private final CatalogIndex catalogIndex;
+    private final ItemSimilarityIndex similarityIndex;
 
     public CatalogRecommendationService(BookRepository bookRepository,
                                         BookCatalogRepository catalogRepository,
                                         UserBookRepository userBookRepository,
-                                        RecommendationFeedbackRepository feedbackRepository) {
+                                        RecommendationFeedbackRepository feedbackRepository,
+                                        CatalogIndex catalogIndex,
+                                        ItemSimilarityIndex similarityIndex) {
         this.bookRepository = bookRepository;
         this.catalogRepository = catalogRepository;
         this.userBookRepository = userBookRepository;
         this.feedbackRepository = feedbackRepository;
+        this.catalogIndex = catalogIndex;
+        this.similarityIndex = similarityIndex;
     }
     
     /**
@@ -99,8 +107,8 @@ public class CatalogRecommendationService {
             }
         });
 
-        // Find highly rated books from user's library for similarity
-        List<String> highlyRatedGenres = new ArrayList<>();
+        // Find highly rated books from user's library for similarity (each genre looked up once)
+        Set<String> highlyRatedGenres = new LinkedHashSet<>();
         
         userBooks.stream()
                 .filter(this::isReadOrReading)
@@ -128,6 +136,9 @@ public class CatalogRecommendationService {
 
         Map<Long, RecommendationResponse> recommendations = new LinkedHashMap<>();
 
+        // Collaborative: books that co-occur with this user's shelf on other readers' shelves
+        addCollaborativeRecommendations(userCatalogBooks, userCatalogBookIds, recommendations);
+
         // RS-501: Genre-based recommendations from catalog
         if (!genreFrequency.isEmpty()) {
             List<String> topGenres = genreFrequency.entrySet().stream()
@@ -138,7 +149,7 @@ public class CatalogRecommendationService {
 
                         // Add recommendations in order of genre frequency (most frequent first)
                         for (String genre : topGenres) {
-                                List<BookCatalog> genreBooks = catalogRepository.findTopRatedByGenre(genre, 4.0);
+                                List<BookCatalog> genreBooks = catalogIndex.findTopRatedByGenre(genre, 4.0);
                                 genreBooks.stream()
                                                 .filter(book -> !userCatalogBookIds.contains(book.getId()))
                                                 .limit(4)
@@ -161,7 +172,7 @@ public class CatalogRecommendationService {
         // RS-502: Rating-based recommendations (similar to highly-rated books)
         if (!highlyRatedGenres.isEmpty()) {
             for (String genre : highlyRatedGenres) {
-                List<BookCatalog> similarBooks = catalogRepository.findTopRatedByGenre(genre, 4.3);
+                List<BookCatalog> similarBooks = catalogIndex.findTopRatedByGenre(genre, 4.3);
                 similarBooks.stream()
                         .filter(book -> !userCatalogBookIds.contains(book.getId()))
                         .limit(3)
@@ -178,7 +189,7 @@ public class CatalogRecommendationService {
 
         // Fallback: Top rated books from catalog
         if (recommendations.isEmpty()) {
-            List<BookCatalog> topRated = catalogRepository.findTopRated(4.5);
+            List<BookCatalog> topRated = catalogIndex.findTopRated(4.5);
             topRated.stream()
                     .filter(book -> !userCatalogBookIds.contains(book.getId()))
                     .limit(MAX_RESULTS)
@@ -201,6 +212,53 @@ public class CatalogRecommendationService {
         return result;
     }
 
+    /**
+     * Merge the precomputed neighbour lists of every shelved book, weighting each
+     * neighbour by how much the user liked the book it came from.
+     */
+    private void addCollaborativeRecommendations(List<UserBook> userCatalogBooks,
+                                                 Set<Long> userCatalogBookIds,
+                                                 Map<Long, RecommendationResponse> recommendations) {
+        if (similarityIndex.isEmpty() || userCatalogBooks.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Double> strongestContribution = new HashMap<>();
+        Map<Long, BookCatalog> strongestSource = new HashMap<>();
+
+        for (UserBook ub : userCatalogBooks) {
+            BookCatalog source = ub.getCatalogBook();
+            double weight = ItemSimilarityIndex.interactionWeight(ub.getStatus(), ub.getRating());
+            for (ItemSimilarityIndex.Neighbour neighbour : similarityIndex.neighboursOf(source.getId())) {
+                Long candidateId = neighbour.getBookId();
+                if (userCatalogBookIds.contains(candidateId)) {
+                    continue;
+                }
+                double contribution = weight * neighbour.getScore();
+                scores.merge(candidateId, contribution, Double::sum);
+                if (contribution > strongestContribution.getOrDefault(candidateId, 0.0)) {
+                    strongestContribution.put(candidateId, contribution);
+                    strongestSource.put(candidateId, source);
+                }
+            }
+        }
+
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .map(entry -> catalogIndex.findById(entry.getKey()).orElse(null))
+                .filter(Objects::nonNull)
+                .limit(MAX_COLLABORATIVE)
+                .forEach(book -> recommendations.putIfAbsent(
+                        book.getId(),
+                        catalogToRecommendation(
+                                book,
+                                "Readers who enjoyed \"" + strongestSource.get(book.getId()).getTitle() + "\" also read this",
+                                "COLLABORATIVE"
+                        )
+                ));
+    }
+
     public RecommendationFeedback submitFeedback(Long userId, Long catalogBookId, RecommendationFeedbackRequest payload) {
         String feedback = Optional.ofNullable(payload.getFeedback())
                 .map(String::trim)
@@ -0,0 +1,96 @@
+package com.example.readsphere.service.recommendation;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Serving side of the item-item collaborative filter: the top-K neighbour list of
+ * every catalog book, held in memory so a recommendation is a merge of a few
+ * short lists. Populated from book_similarities and replaced wholesale by
+ * {@link ItemSimilarityJob}.
+ */
+@Service
+public class ItemSimilarityIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<Long, List<Neighbour>> neighbours = Map.of();
+
+    public ItemSimilarityIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Load the last persisted similarity matrix.
+     */
+    public void load() {
+        Map<Long, List<Neighbour>> loaded = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT book_id, similar_book_id, score FROM book_similarities ORDER BY book_id, score DESC",
+                (RowCallbackHandler) rs -> loaded
+                        .computeIfAbsent(rs.getLong("book_id"), k -> new ArrayList<>())
+                        .add(new Neighbour(rs.getLong("similar_book_id"), rs.getDouble("score")))
+        );
+        replace(loaded);
+    }
+
+    public void replace(Map<Long, List<Neighbour>> computed) {
+        Map<Long, List<Neighbour>> copy = new HashMap<>();
+        computed.forEach((bookId, list) -> copy.put(bookId, List.copyOf(list)));
+        neighbours = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Neighbours of the given catalog book, most similar first.
+     */
+    public List<Neighbour> neighboursOf(Long bookId) {
+        return neighbours.getOrDefault(bookId, List.of());
+    }
+
+    public boolean isEmpty() {
+        return neighbours.isEmpty();
+    }
+
+    public int size() {
+        return neighbours.size();
+    }
+
+    /**
+     * How strongly a shelf entry says the user liked a book. An explicit rating
+     * wins; otherwise the reading status is used as an implicit signal.
+     */
+    public static double interactionWeight(String status, Integer rating) {
+        if (rating != null && rating > 0) {
+            return Math.min(rating, 5) / 5.0;
+        }
+        if (status == null) {
+            return 0.3;
+        }
+        return switch (status.toUpperCase()) {
+            case "READ" -> 0.8;
+            case "READING" -> 0.6;
+            default -> 0.3;
+        };
+    }
+
+    public static final class Neighbour {
+        private final long bookId;
+        private final double score;
+
+        public Neighbour(long bookId, double score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+
+        public long getBookId() {
+            return bookId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
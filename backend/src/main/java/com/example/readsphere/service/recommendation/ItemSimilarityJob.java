@@ -0,0 +1,298 @@
+package com.example.readsphere.service.recommendation;
+
+import com.example.readsphere.service.recommendation.ItemSimilarityIndex.Neighbour;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Background job that builds the item-item similarity matrix from user_books.
+ *
+ * Users are read in keyset-paginated chunks, so only one chunk of shelves is in
+ * memory at a time. Each chunk's co-occurrences are accumulated in parallel, then
+ * every book's candidate list is pruned to the {@code max-candidates} partners with
+ * the largest dot product, so the pair map stays bounded by books x max-candidates
+ * however many users are read. Finally every book keeps only its top-K neighbours
+ * by cosine similarity among its candidates. The result is written to
+ * book_similarities and swapped into {@link ItemSimilarityIndex}.
+ */
+@Service
+public class ItemSimilarityJob {
+
+    private static final int USER_CHUNK_SIZE = 1000;
+    private static final int MAX_BOOKS_PER_USER = 200;
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemSimilarityIndex similarityIndex;
+
+    @Value("${app.recommendations.similarity.top-k:20}")
+    private int topK;
+
+    @Value("${app.recommendations.similarity.threads:0}")
+    private int threads;
+
+    @Value("${app.recommendations.similarity.max-candidates:500}")
+    private int maxCandidates;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "item-similarity-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<String, Object> lastRun = Map.of("status", "NEVER_RUN");
+
+    public ItemSimilarityJob(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ItemSimilarityIndex similarityIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.similarityIndex = similarityIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            similarityIndex.load();
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not load book similarities: " + e.getMessage());
+        }
+        if (similarityIndex.isEmpty()) {
+            rebuildAsync();
+        }
+    }
+
+    @Scheduled(cron = "${app.recommendations.similarity.cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Start a rebuild in the background. Returns false if one is already running.
+     */
+    public boolean rebuildAsync() {
+        if (running.get()) {
+            return false;
+        }
+        launcher.submit(this::rebuild);
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    public void rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        int candidates = Math.max(maxCandidates, topK);
+        try {
+            CoOccurrence coOccurrence = new CoOccurrence();
+            long users = 0;
+            long lastUserId = Long.MIN_VALUE;
+            while (true) {
+                List<Long> userIds = jdbcTemplate.queryForList(
+                        "SELECT DISTINCT user_id FROM user_books WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                        Long.class, lastUserId, USER_CHUNK_SIZE);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                Long first = userIds.get(0);
+                Long last = userIds.get(userIds.size() - 1);
+
+                Map<Long, List<Interaction>> shelves = new HashMap<>();
+                jdbcTemplate.query(
+                        "SELECT user_id, catalog_book_id, status, rating FROM user_books WHERE user_id BETWEEN ? AND ?",
+                        (RowCallbackHandler) rs -> {
+                            Integer rating = rs.getObject("rating") != null ? rs.getInt("rating") : null;
+                            shelves.computeIfAbsent(rs.getLong("user_id"), k -> new ArrayList<>())
+                                    .add(new Interaction(rs.getLong("catalog_book_id"),
+                                            ItemSimilarityIndex.interactionWeight(rs.getString("status"), rating)));
+                        },
+                        first, last);
+
+                inParallel(workers, parallelism, new ArrayList<>(shelves.values()), coOccurrence::add);
+                // Between chunks no thread is merging, so rows can be trimmed safely
+                inParallel(workers, parallelism, new ArrayList<>(coOccurrence.dot.values()),
+                        row -> coOccurrence.prune(row, candidates));
+                users += shelves.size();
+                lastUserId = last;
+            }
+
+            Map<Long, List<Neighbour>> neighbours = new ConcurrentHashMap<>();
+            inParallel(workers, parallelism, new ArrayList<>(coOccurrence.dot.keySet()),
+                    bookId -> neighbours.put(bookId, coOccurrence.topNeighbours(bookId, topK)));
+
+            persist(neighbours);
+            similarityIndex.replace(neighbours);
+
+            long elapsed = System.currentTimeMillis() - started;
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "COMPLETED");
+            run.put("users", users);
+            run.put("books", neighbours.size());
+            run.put("prunedPairs", coOccurrence.pruned.get());
+            run.put("durationMs", elapsed);
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.out.println("🤝 Item similarity rebuilt: " + neighbours.size() + " books from " + users + " users in " + elapsed + "ms");
+        } catch (Exception e) {
+            Map<String, Object> run = new HashMap<>();
+            run.put("status", "FAILED");
+            run.put("error", e.getMessage());
+            run.put("finishedAt", System.currentTimeMillis());
+            lastRun = run;
+            System.err.println("❌ Item similarity rebuild failed: " + e.getMessage());
+        } finally {
+            workers.shutdown();
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private void persist(Map<Long, List<Neighbour>> neighbours) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM book_similarities");
+            List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+            for (Map.Entry<Long, List<Neighbour>> entry : neighbours.entrySet()) {
+                for (Neighbour n : entry.getValue()) {
+                    batch.add(new Object[]{entry.getKey(), n.getBookId(), n.getScore()});
+                    if (batch.size() == INSERT_BATCH_SIZE) {
+                        insert(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(batch);
+            }
+        });
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO book_similarities (book_id, similar_book_id, score) VALUES (?, ?, ?)", batch);
+    }
+
+    private static <T> void inParallel(ExecutorService workers, int parallelism, List<T> items, Consumer<T> action)
+            throws InterruptedException, ExecutionException {
+        if (items.isEmpty()) {
+            return;
+        }
+        int sliceSize = (items.size() + parallelism - 1) / parallelism;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            List<T> slice = items.subList(from, Math.min(items.size(), from + sliceSize));
+            tasks.add(() -> {
+                slice.forEach(action);
+                return null;
+            });
+        }
+        for (Future<Void> f : workers.invokeAll(tasks)) {
+            f.get();
+        }
+    }
+
+    static final class Interaction {
+        final long bookId;
+        final double weight;
+
+        Interaction(long bookId, double weight) {
+            this.bookId = bookId;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Sparse co-occurrence accumulator: dot products between book vectors (users as
+     * dimensions) plus each book's squared norm, for cosine similarity.
+     */
+    static final class CoOccurrence {
+        final ConcurrentHashMap<Long, ConcurrentHashMap<Long, Double>> dot = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, Double> squaredNorm = new ConcurrentHashMap<>();
+        final AtomicLong pruned = new AtomicLong();
+
+        void add(List<Interaction> shelf) {
+            // A book shelved twice by one user is one dimension; keep its strongest weight
+            Map<Long, Interaction> unique = new LinkedHashMap<>();
+            for (Interaction interaction : shelf) {
+                unique.merge(interaction.bookId, interaction, (a, b) -> a.weight >= b.weight ? a : b);
+            }
+            List<Interaction> books = new ArrayList<>(unique.values());
+            if (books.size() > MAX_BOOKS_PER_USER) {
+                // Very large shelves add quadratic work but little signal; keep the strongest
+                books.sort((a, b) -> Double.compare(b.weight, a.weight));
+                books = books.subList(0, MAX_BOOKS_PER_USER);
+            }
+            for (int i = 0; i < books.size(); i++) {
+                Interaction a = books.get(i);
+                squaredNorm.merge(a.bookId, a.weight * a.weight, Double::sum);
+                for (int j = i + 1; j < books.size(); j++) {
+                    Interaction b = books.get(j);
+                    double product = a.weight * b.weight;
+                    dot.computeIfAbsent(a.bookId, k -> new ConcurrentHashMap<>()).merge(b.bookId, product, Double::sum);
+                    dot.computeIfAbsent(b.bookId, k -> new ConcurrentHashMap<>()).merge(a.bookId, product, Double::sum);
+                }
+            }
+        }
+
+        /**
+         * Keep only the max partners with the largest dot product in one book's row.
+         * Must not run concurrently with {@link #add(List)}.
+         */
+        void prune(ConcurrentHashMap<Long, Double> row, int max) {
+            if (row.size() <= max) {
+                return;
+            }
+            List<Map.Entry<Long, Double>> entries = new ArrayList<>(row.entrySet());
+            entries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+            for (Map.Entry<Long, Double> dropped : entries.subList(max, entries.size())) {
+                row.remove(dropped.getKey());
+            }
+            pruned.addAndGet(entries.size() - max);
+        }
+
+        List<Neighbour> topNeighbours(Long bookId, int k) {
+            double normA = Math.sqrt(squaredNorm.getOrDefault(bookId, 0.0));
+            PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::getScore));
+            dot.getOrDefault(bookId, new ConcurrentHashMap<>()).forEach((otherId, product) -> {
+                double normB = Math.sqrt(squaredNorm.getOrDefault(otherId, 0.0));
+                if (normA == 0 || normB == 0) return;
+                best.offer(new Neighbour(otherId, product / (normA * normB)));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            });
+            List<Neighbour> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(Neighbour::getScore).reversed());
+            return result;
+        }
+    }
+}
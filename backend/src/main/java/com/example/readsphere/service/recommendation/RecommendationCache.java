@@ -0,0 +1,54 @@
+package com.example.readsphere.service.recommendation;
+
+import com.example.readsphere.dto.RecommendationResponse;
+import com.example.readsphere.service.cache.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of computed recommendation lists, one entry per user and source
+ * (catalog or legacy library). Controllers that change a user's shelf, books or
+ * feedback call {@link #invalidate(Long)}; catalog edits and deletions, which can
+ * change any user's list, call {@link #invalidateAll()}.
+ */
+@Service
+public class RecommendationCache {
+
+    private static final String CATALOG = "catalog";
+    private static final String LEGACY = "legacy";
+
+    private final BoundedCache<String, List<RecommendationResponse>> cache;
+
+    public RecommendationCache(@Value("${app.recommendations.cache.max-size:10000}") int maxSize,
+                               @Value("${app.recommendations.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = new BoundedCache<>("recommendations", maxSize, ttlSeconds * 1000);
+    }
+
+    public List<RecommendationResponse> get(Long userId, boolean catalog, Supplier<List<RecommendationResponse>> compute) {
+        return cache.get(key(userId, catalog ? CATALOG : LEGACY), compute);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.invalidate(key(userId, CATALOG));
+        cache.invalidate(key(userId, LEGACY));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+
+    private static String key(Long userId, String source) {
+        return userId + ":" + source;
+    }
+}
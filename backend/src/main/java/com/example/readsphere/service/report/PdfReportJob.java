@@ -0,0 +1,96 @@
+package com.example.readsphere.service.report;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * State of one asynchronous PDF export. Updated by the worker thread and read by
+ * polling requests, so accessors are synchronized.
+ */
+public class PdfReportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final PdfReportType type;
+    private final long createdAt = System.currentTimeMillis();
+
+    private Status status = Status.QUEUED;
+    private String message;
+    private Long finishedAt;
+    private int books;
+    private boolean cached;
+    private Path file;
+
+    PdfReportJob(Long userId, PdfReportType type) {
+        this.userId = userId;
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public PdfReportType getType() {
+        return type;
+    }
+
+    public String getFilename() {
+        return type.getFilename();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized String getMessage() {
+        return message;
+    }
+
+    public synchronized Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized int getBooks() {
+        return books;
+    }
+
+    /**
+     * True when an identical report was already on disk and nothing was rendered.
+     */
+    public synchronized boolean isCached() {
+        return cached;
+    }
+
+    synchronized Path getFile() {
+        return file;
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+    }
+
+    synchronized void complete(Path result, int bookCount, boolean fromCache) {
+        status = Status.COMPLETED;
+        file = result;
+        books = bookCount;
+        cached = fromCache;
+        message = fromCache ? "Served from cache" : "Report generated";
+        finishedAt = System.currentTimeMillis();
+    }
+
+    synchronized void fail(String error) {
+        status = Status.FAILED;
+        message = error;
+        finishedAt = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.readsphere.service.report;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.repository.BookRepository;
+import com.example.readsphere.service.PdfService;
+import com.example.readsphere.service.cache.BoundedCache;
+import com.lowagie.text.DocumentException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates PDF exports in the background and caches the results on disk.
+ *
+ * Each finished report is stored under the SHA-256 of its type plus the book fields
+ * it prints, so an unchanged library maps to the same file and a repeat export is a
+ * lookup instead of a render. Reports are written to a temp file and moved into
+ * place atomically, so readers never see a partial PDF. The cache directory is
+ * trimmed to {@code app.pdf.cache.max-files}, least recently used first.
+ */
+@Service
+public class PdfReportService {
+
+    // Bump when the PDF layout changes so stale renders are not served
+    private static final String RENDER_VERSION = "1";
+    private static final String SUFFIX = ".pdf";
+
+    private final BookRepository bookRepository;
+    private final PdfService pdfService;
+    private final Path cacheDir;
+    private final int maxCachedFiles;
+    private final BoundedCache<String, PdfReportJob> jobs;
+    private final ThreadPoolExecutor workers;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PdfReportService(BookRepository bookRepository,
+                            PdfService pdfService,
+                            @Value("${app.pdf.cache.dir:${java.io.tmpdir}/readsphere-pdf}") String cacheDir,
+                            @Value("${app.pdf.cache.max-files:500}") int maxCachedFiles,
+                            @Value("${app.pdf.threads:2}") int threads,
+                            @Value("${app.pdf.queue-capacity:32}") int queueCapacity,
+                            @Value("${app.pdf.retention-minutes:30}") long retentionMinutes) throws IOException {
+        this.bookRepository = bookRepository;
+        this.pdfService = pdfService;
+        this.cacheDir = Files.createDirectories(Paths.get(cacheDir));
+        this.maxCachedFiles = maxCachedFiles;
+        this.jobs = new BoundedCache<>("pdfReports", 1000, TimeUnit.MINUTES.toMillis(retentionMinutes));
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "pdf-report-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queue an export of the user's books.
+     *
+     * @throws RejectedExecutionException if the report queue is full
+     */
+    public PdfReportJob submit(Long userId, PdfReportType type) {
+        PdfReportJob job = new PdfReportJob(userId, type);
+        jobs.put(job.getId(), job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Render a report straight into {@code out} without caching it. The library is
+     * read as a stream and each book is detached once loaded, so the persistence
+     * context holds one row at a time however large the library is.
+     */
+    @Transactional(readOnly = true)
+    public void writeReport(Long userId, PdfReportType type, OutputStream out) throws DocumentException {
+        try (Stream<Book> books = bookRepository.streamByUserId(userId)) {
+            Stream<Book> selected = type.select(books.peek(entityManager::detach));
+            pdfService.writeBooksPdf(selected::iterator, type.getTitle(), out);
+        }
+    }
+
+    /**
+     * The job with this id if it belongs to the user and has not expired.
+     */
+    public PdfReportJob find(Long userId, String jobId) {
+        PdfReportJob job = jobs.get(jobId);
+        return job != null && job.getUserId().equals(userId) ? job : null;
+    }
+
+    /**
+     * The rendered PDF of a completed job, or null if the job is not finished or
+     * its file has since been evicted from the cache.
+     */
+    public Path resultFile(PdfReportJob job) {
+        Path file = job.getFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        touch(file);
+        return file;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(PdfReportJob job) {
+        job.start();
+        try {
+            PdfReportType type = job.getType();
+            List<Book> books = type.select(bookRepository.findByUserId(job.getUserId()).stream())
+                    .collect(Collectors.toList());
+            Path target = cacheDir.resolve(cacheKey(type, books) + SUFFIX);
+
+            if (Files.isRegularFile(target)) {
+                touch(target);
+                job.complete(target, books.size(), true);
+                return;
+            }
+
+            Path tmp = Files.createTempFile(cacheDir, "render-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tmp)) {
+                    pdfService.writeBooksPdf(books, type.getTitle(), out);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            job.complete(target, books.size(), false);
+            evictOldFiles();
+        } catch (Exception e) {
+            System.err.println("❌ PDF report " + job.getId() + " failed: " + e.getMessage());
+            job.fail("Report generation failed: " + e.getMessage());
+        }
+    }
+
+    private static String cacheKey(PdfReportType type, List<Book> books) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, RENDER_VERSION);
+            update(digest, type.name());
+            update(digest, type.getTitle());
+            for (Book book : books) {
+                update(digest, book.getTitle());
+                update(digest, book.getAuthor());
+                update(digest, book.getGenre());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        // Length-prefix every field so ("ab", "c") and ("a", "bc") hash differently
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // only affects eviction order
+        }
+    }
+
+    private synchronized void evictOldFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(cacheDir, "*" + SUFFIX)) {
+            dir.forEach(files::add);
+        }
+        if (files.size() <= maxCachedFiles) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(PdfReportService::lastModified));
+        for (Path file : files.subList(0, files.size() - maxCachedFiles)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.readsphere.service.report;
+
+import com.example.readsphere.model.Book;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * The PDF exports a user can request, with the books each one includes.
+ */
+public enum PdfReportType {
+
+    FAVORITES("My Favorite Books", "favorites.pdf") {
+        @Override
+        public Stream<Book> select(Stream<Book> books) {
+            // READ books with high ratings (4-5 stars), or unrated READ books
+            return books
+                    .filter(book -> "READ".equalsIgnoreCase(book.getStatus()))
+                    .filter(book -> book.getRating() == null || book.getRating() >= 4)
+                    .limit(10);
+        }
+    },
+    TOP5("Top 5 Books That Changed My Life", "top5-books.pdf") {
+        @Override
+        public Stream<Book> select(Stream<Book> books) {
+            return books
+                    .filter(book -> "READ".equalsIgnoreCase(book.getStatus()))
+                    .filter(book -> book.getRating() != null)
+                    .sorted((b1, b2) -> Integer.compare(b2.getRating(), b1.getRating()))
+                    .limit(5);
+        }
+    },
+    ALL("My Complete Book Collection", "my-books.pdf") {
+        @Override
+        public Stream<Book> select(Stream<Book> books) {
+            return books;
+        }
+    };
+
+    private final String title;
+    private final String filename;
+
+    PdfReportType(String title, String filename) {
+        this.title = title;
+        this.filename = filename;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * The books from a user's library that go into this report, in print order.
+     * Only TOP5 buffers, and then just the rated READ books it sorts.
+     */
+    public abstract Stream<Book> select(Stream<Book> books);
+
+    /**
+     * Parse a request parameter such as "favorites" or "top5".
+     *
+     * @throws IllegalArgumentException for unknown report types
+     */
+    public static PdfReportType from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Report type is required");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report type '" + value + "'; expected favorites, top5 or all");
+        }
+    }
+}
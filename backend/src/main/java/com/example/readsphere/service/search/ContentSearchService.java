@@ -0,0 +1,347 @@
+package com.example.readsphere.service.search;
+
+import com.example.readsphere.dto.ContentSearchHit;
+import com.example.readsphere.service.db.DatabaseDialect;
+import com.example.readsphere.service.db.OffsetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ranked full-text search over one user's notes and quotes.
+ *
+ * On PostgreSQL the text is matched with {@code websearch_to_tsquery} against an
+ * expression GIN index over {@code to_tsvector(text)}, ranked with
+ * {@code ts_rank_cd}, and highlighted with {@code ts_headline} for the returned
+ * page only. On MySQL a FULLTEXT index is queried in boolean mode with every
+ * word required as a prefix. Any other database, or a MySQL query made only of
+ * words too short for the index, falls back to LIKE filters in newest-first
+ * order. Indexes are created at startup when missing.
+ *
+ * Ownership, book and tag filters are part of the same statement, so a page is
+ * one query plus one for the tags of the notes on it. Ranked results have no
+ * stable keyset, so the cursor is an opaque offset.
+ */
+@Service
+public class ContentSearchService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_TERMS = 10;
+    private static final int MYSQL_MIN_TOKEN = 3;
+    private static final int SNIPPET_CHARS = 200;
+
+    // Placeholders for highlight boundaries; swapped for <mark> after the snippet is escaped
+    private static final String MARK_START = "\u27E6";
+    private static final String MARK_END = "\u27E7";
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=" + MARK_START + ", StopSel=" + MARK_END + ", MinWords=15, MaxWords=35, MaxFragments=2";
+
+    private enum Kind {
+        NOTES("notes", "c.created_at"), QUOTES("quotes", "c.page_number");
+
+        final String table;
+        final String extraColumn;
+
+        Kind(String table, String extraColumn) {
+            this.table = table;
+            this.extraColumn = extraColumn;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+    private final String textConfig;
+    // Vendor whose full-text index is in place; GENERIC (LIKE) until startup has created it
+    private volatile DatabaseDialect.Vendor indexed = DatabaseDialect.Vendor.GENERIC;
+
+    public ContentSearchService(JdbcTemplate jdbcTemplate, DatabaseDialect dialect,
+                                @Value("${app.search.text-config:english}") String textConfig) {
+        if (!textConfig.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("app.search.text-config must be a text search configuration name");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+        this.textConfig = textConfig;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            if (dialect.isPostgres()) {
+                for (Kind kind : Kind.values()) {
+                    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + kind.table + "_text_fts ON " + kind.table +
+                            " USING GIN (" + tsvector("text") + ")");
+                }
+                indexed = DatabaseDialect.Vendor.POSTGRES;
+            } else if (dialect.isMySql()) {
+                for (Kind kind : Kind.values()) {
+                    Integer existing = jdbcTemplate.queryForObject(
+                            "SELECT COUNT(*) FROM information_schema.statistics " +
+                                    "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                            Integer.class, kind.table, "idx_" + kind.table + "_text_ft");
+                    if (existing == null || existing == 0) {
+                        jdbcTemplate.execute("CREATE FULLTEXT INDEX idx_" + kind.table + "_text_ft ON " + kind.table + " (text)");
+                    }
+                }
+                indexed = DatabaseDialect.Vendor.MYSQL;
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Full-text indexes unavailable, searching with LIKE: " + e.getMessage());
+        }
+    }
+
+    public OffsetCursor.Page<ContentSearchHit> searchNotes(Long userId, String query, Long bookId, String tag, String cursor, int size) {
+        return search(Kind.NOTES, userId, query, bookId, tag, cursor, size);
+    }
+
+    public OffsetCursor.Page<ContentSearchHit> searchQuotes(Long userId, String query, Long bookId, String cursor, int size) {
+        return search(Kind.QUOTES, userId, query, bookId, null, cursor, size);
+    }
+
+    private OffsetCursor.Page<ContentSearchHit> search(Kind kind, Long userId, String query, Long bookId, String tag, String cursor, int size) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        String q = query == null ? "" : query.trim();
+        if (q.isEmpty()) {
+            throw new IllegalArgumentException("q must not be blank");
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        List<String> terms = terms(q);
+        if (terms.isEmpty()) {
+            return new OffsetCursor.Page<>(List.of(), null);
+        }
+        String tagFilter = tag == null || tag.isBlank() ? null : tag.trim();
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = OffsetCursor.decode(cursor);
+
+        List<Object> args = new ArrayList<>();
+        String sql;
+        boolean highlighted = false;
+        List<String> mysqlTerms = terms.stream().filter(t -> t.length() >= MYSQL_MIN_TOKEN).toList();
+        if (indexed == DatabaseDialect.Vendor.POSTGRES) {
+            sql = postgresQuery(kind, q, userId, bookId, tagFilter, args);
+            highlighted = true;
+        } else if (indexed == DatabaseDialect.Vendor.MYSQL && !mysqlTerms.isEmpty()) {
+            sql = mysqlQuery(kind, mysqlTerms, userId, bookId, tagFilter, args);
+        } else {
+            sql = likeQuery(kind, terms, userId, bookId, tagFilter, args);
+        }
+        args.add(limit + 1);
+        args.add(offset);
+
+        List<ContentSearchHit> rows = jdbcTemplate.query(sql, hitMapper(kind, highlighted), args.toArray());
+        OffsetCursor.Page<ContentSearchHit> page = OffsetCursor.page(rows, offset, limit);
+        List<ContentSearchHit> items = page.getItems();
+        for (ContentSearchHit hit : items) {
+            String marked = highlighted ? hit.getSnippet() : snippet(hit.getText(), terms);
+            hit.setSnippet(toHtml(marked));
+        }
+        if (kind == Kind.NOTES) {
+            attachTags(items);
+        }
+        return page;
+    }
+
+    private String postgresQuery(Kind kind, String q, Long userId, Long bookId, String tag, List<Object> args) {
+        String tsquery = "websearch_to_tsquery('" + textConfig + "', ?)";
+        args.add(q);
+        args.add(HEADLINE_OPTIONS);
+        args.add(q);
+        args.add(q);
+        StringBuilder inner = new StringBuilder()
+                .append("SELECT c.id, c.text, c.image_url, c.book_id, b.title AS book_title, ").append(kind.extraColumn).append(", ")
+                .append("ts_rank_cd(").append(tsvector("c.text")).append(", ").append(tsquery).append(") AS score ")
+                .append("FROM ").append(kind.table).append(" c JOIN books b ON b.id = c.book_id ")
+                .append("WHERE ").append(tsvector("c.text")).append(" @@ ").append(tsquery);
+        appendFilters(inner, args, userId, bookId, tag);
+        inner.append(" ORDER BY score DESC, c.id DESC LIMIT ? OFFSET ?");
+        // Headlines are costly, so they are built only for the rows of the page
+        return "SELECT p.*, ts_headline('" + textConfig + "', coalesce(p.text, ''), " + tsquery + ", ?) AS snippet " +
+                "FROM (" + inner + ") p ORDER BY p.score DESC, p.id DESC";
+    }
+
+    private static String mysqlQuery(Kind kind, List<String> terms, Long userId, Long bookId, String tag,
+                                     List<Object> args) {
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : terms) {
+            booleanQuery.append(booleanQuery.length() == 0 ? "" : " ").append('+').append(term).append('*');
+        }
+        args.add(booleanQuery.toString());
+        args.add(booleanQuery.toString());
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT c.id, c.text, c.image_url, c.book_id, b.title AS book_title, ").append(kind.extraColumn).append(", ")
+                .append("MATCH(c.text) AGAINST (? IN BOOLEAN MODE) AS score ")
+                .append("FROM ").append(kind.table).append(" c JOIN books b ON b.id = c.book_id ")
+                .append("WHERE MATCH(c.text) AGAINST (? IN BOOLEAN MODE)");
+        appendFilters(sql, args, userId, bookId, tag);
+        sql.append(" ORDER BY score DESC, c.id DESC LIMIT ? OFFSET ?");
+        return sql.toString();
+    }
+
+    private static String likeQuery(Kind kind, List<String> terms, Long userId, Long bookId, String tag,
+                                    List<Object> args) {
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT c.id, c.text, c.image_url, c.book_id, b.title AS book_title, ").append(kind.extraColumn).append(", ")
+                .append("0 AS score FROM ").append(kind.table).append(" c JOIN books b ON b.id = c.book_id WHERE 1 = 1");
+        for (String term : terms) {
+            sql.append(" AND LOWER(c.text) LIKE ? ESCAPE '!'");
+            args.add("%" + DatabaseDialect.escapeLike(term) + "%");
+        }
+        appendFilters(sql, args, userId, bookId, tag);
+        sql.append(" ORDER BY c.id DESC LIMIT ? OFFSET ?");
+        return sql.toString();
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> args, Long userId, Long bookId, String tag) {
+        sql.append(" AND b.user_id = ?");
+        args.add(userId);
+        if (bookId != null) {
+            sql.append(" AND c.book_id = ?");
+            args.add(bookId);
+        }
+        if (tag != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM note_tags nt JOIN tags t ON t.id = nt.tag_id " +
+                    "WHERE nt.note_id = c.id AND t.name = ?)");
+            args.add(tag);
+        }
+    }
+
+    private static RowMapper<ContentSearchHit> hitMapper(Kind kind, boolean highlighted) {
+        return (rs, i) -> {
+            ContentSearchHit hit;
+            if (kind == Kind.NOTES) {
+                Timestamp created = rs.getTimestamp("created_at");
+                hit = new ContentSearchHit(rs.getLong("id"), rs.getLong("book_id"), rs.getString("book_title"),
+                        rs.getString("text"), rs.getString("image_url"), rs.getDouble("score"),
+                        created != null ? created.toLocalDateTime() : null, null);
+            } else {
+                hit = new ContentSearchHit(rs.getLong("id"), rs.getLong("book_id"), rs.getString("book_title"),
+                        rs.getString("text"), rs.getString("image_url"), rs.getDouble("score"), null, rs.getInt("page_number"));
+            }
+            if (highlighted) {
+                hit.setSnippet(rs.getString("snippet"));
+            }
+            return hit;
+        };
+    }
+
+    private void attachTags(List<ContentSearchHit> hits) {
+        if (hits.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> tagsByNote = new HashMap<>();
+        List<Object> ids = new ArrayList<>();
+        for (ContentSearchHit hit : hits) {
+            ids.add(hit.getId());
+            tagsByNote.put(hit.getId(), new ArrayList<>());
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query("SELECT nt.note_id, t.name FROM note_tags nt JOIN tags t ON t.id = nt.tag_id " +
+                        "WHERE nt.note_id IN (" + placeholders + ") ORDER BY t.name",
+                rs -> {
+                    tagsByNote.get(rs.getLong(1)).add(rs.getString(2));
+                }, ids.toArray());
+        for (ContentSearchHit hit : hits) {
+            hit.setTags(tagsByNote.get(hit.getId()));
+        }
+    }
+
+    private String tsvector(String column) {
+        return "to_tsvector('" + textConfig + "', coalesce(" + column + ", ''))";
+    }
+
+    /**
+     * Lower-cased words of the query, letters and digits only, without duplicates.
+     */
+    static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(word);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Window of the text around the first matching word, with every word that
+     * starts with a term wrapped in highlight placeholders.
+     */
+    static String snippet(String text, List<String> terms) {
+        if (text == null) {
+            return "";
+        }
+        int first = -1;
+        for (int i = 0; i < text.length() && first < 0; i++) {
+            if (termAt(text, i, terms) != null) {
+                first = i;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - SNIPPET_CHARS / 3);
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        int end = Math.min(text.length(), start + SNIPPET_CHARS);
+
+        StringBuilder out = new StringBuilder();
+        if (start > 0) {
+            out.append("… ");
+        }
+        int i = start;
+        while (i < end) {
+            String term = termAt(text, i, terms);
+            if (term == null) {
+                out.append(text.charAt(i++));
+                continue;
+            }
+            int wordEnd = i + term.length();
+            while (wordEnd < end && Character.isLetterOrDigit(text.charAt(wordEnd))) {
+                wordEnd++;
+            }
+            out.append(MARK_START).append(text, i, wordEnd).append(MARK_END);
+            i = wordEnd;
+        }
+        if (end < text.length()) {
+            out.append(" …");
+        }
+        return out.toString();
+    }
+
+    private static String termAt(String text, int index, List<String> terms) {
+        if (index > 0 && Character.isLetterOrDigit(text.charAt(index - 1))) {
+            return null;
+        }
+        for (String term : terms) {
+            if (text.regionMatches(true, index, term, 0, term.length())) {
+                return term;
+            }
+        }
+        return null;
+    }
+
+    static String toHtml(String marked) {
+        if (marked == null) {
+            return "";
+        }
+        return marked.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;")
+                .replace(MARK_START, "<mark>").replace(MARK_END, "</mark>");
+    }
+}
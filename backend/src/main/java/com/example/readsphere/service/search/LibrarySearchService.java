@@ -0,0 +1,130 @@
+package com.example.readsphere.service.search;
+
+import com.example.readsphere.dto.LibrarySearchHit;
+import com.example.readsphere.service.db.DatabaseDialect;
+import com.example.readsphere.service.db.OffsetCursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search over everything in a user's library: legacy books and catalog books on
+ * their shelf, in one UNION ALL statement.
+ *
+ * A book matches when its title, author or genre contains the query. Results are
+ * ranked by where the query matched: title prefix, title, author prefix, author,
+ * then genre; ties are ordered by title. On PostgreSQL pg_trgm GIN indexes over
+ * the lower-cased book columns serve the substring filters; elsewhere the
+ * (user_id, title) index keeps the scan to the user's own rows, and on MySQL the
+ * case-insensitive collation lets title prefixes use it directly. Like the note
+ * search, the cursor is an opaque offset because ranked order has no keyset.
+ */
+@Service
+public class LibrarySearchService {
+
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    private static final String[] MATCHED_ON = {"title", "title", "author", "author", "genre"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect dialect;
+
+    public LibrarySearchService(JdbcTemplate jdbcTemplate, DatabaseDialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!dialect.isPostgres()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (String column : new String[]{"title", "author", "genre"}) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_books_" + column + "_trgm " +
+                        "ON books USING GIN (LOWER(" + column + ") gin_trgm_ops)");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not create trigram indexes for library search: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One page of the user's library matching the query. A blank query matches nothing.
+     */
+    public OffsetCursor.Page<LibrarySearchHit> search(Long userId, String query, String cursor, int size) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty()) {
+            return new OffsetCursor.Page<>(List.of(), null);
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = OffsetCursor.decode(cursor);
+        String escaped = DatabaseDialect.escapeLike(q);
+        String prefix = escaped + "%";
+        String contains = "%" + escaped + "%";
+
+        List<Object> args = new ArrayList<>();
+        String books = branch("'BOOK'", "b.id", "NULL", "b", "b.cover_url", "b.status", "b.rating",
+                "b.pages_read", "b.total_pages", "books b", "b.user_id", userId, prefix, contains, args);
+        String shelf = branch("'SHELF'", "ub.id", "c.id", "c", "COALESCE(ub.cover_url, c.cover_url)", "ub.status",
+                "ub.rating", "ub.pages_read", "c.total_pages",
+                "user_books ub JOIN book_catalog c ON c.id = ub.catalog_book_id", "ub.user_id", userId,
+                prefix, contains, args);
+        args.add(limit + 1);
+        args.add(offset);
+        String sql = "SELECT * FROM (" + books + " UNION ALL " + shelf + ") r " +
+                "ORDER BY r.match_rank, r.sort_title, r.source, r.id LIMIT ? OFFSET ?";
+
+        List<LibrarySearchHit> rows = jdbcTemplate.query(sql, (rs, i) -> new LibrarySearchHit(
+                rs.getString("source"),
+                rs.getLong("id"),
+                rs.getObject("catalog_book_id", Long.class),
+                rs.getString("title"),
+                rs.getString("author"),
+                rs.getString("genre"),
+                rs.getString("cover_url"),
+                rs.getString("status"),
+                rs.getObject("rating", Integer.class),
+                rs.getObject("pages_read", Integer.class),
+                rs.getObject("total_pages", Integer.class),
+                MATCHED_ON[rs.getInt("match_rank")]), args.toArray());
+
+        return OffsetCursor.page(rows, offset, limit);
+    }
+
+    private String branch(String source, String id, String catalogBookId, String book, String coverUrl,
+                          String status, String rating, String pagesRead, String totalPages, String from,
+                          String ownerColumn, Long userId, String prefix, String contains, List<Object> args) {
+        String title = dialect.caseInsensitive(book + ".title");
+        String author = dialect.caseInsensitive(book + ".author");
+        String genre = dialect.caseInsensitive(book + ".genre");
+        args.add(prefix);
+        args.add(contains);
+        args.add(prefix);
+        args.add(contains);
+        args.add(userId);
+        args.add(contains);
+        args.add(contains);
+        args.add(contains);
+        return "SELECT " + source + " AS source, " + id + " AS id, " + catalogBookId + " AS catalog_book_id, " +
+                book + ".title AS title, " + book + ".author AS author, " + book + ".genre AS genre, " +
+                coverUrl + " AS cover_url, " + status + " AS status, " + rating + " AS rating, " +
+                pagesRead + " AS pages_read, " + totalPages + " AS total_pages, " +
+                "LOWER(" + book + ".title) AS sort_title, " +
+                "CASE WHEN " + title + " LIKE ? ESCAPE '!' THEN 0 WHEN " + title + " LIKE ? ESCAPE '!' THEN 1 " +
+                "WHEN " + author + " LIKE ? ESCAPE '!' THEN 2 WHEN " + author + " LIKE ? ESCAPE '!' THEN 3 " +
+                "ELSE 4 END AS match_rank " +
+                "FROM " + from + " WHERE " + ownerColumn + " = ? AND (" + title + " LIKE ? ESCAPE '!' OR " +
+                author + " LIKE ? ESCAPE '!' OR " + genre + " LIKE ? ESCAPE '!')";
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.readsphere.service.shelf;
+
+import com.example.readsphere.dto.ShelfEntry;
+import com.example.readsphere.model.UserBook;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A user's shelf: user_books joined to book_catalog in one projection query,
+ * filtered by status, sorted on the server and paged with keyset cursors.
+ *
+ * Every sort key is non-null (added dates are always set; missing start and
+ * finish dates sort as the epoch, missing ratings as 0) and ties are broken by
+ * id, so each order is total and a page is
+ * {@code WHERE (key, id) after cursor ORDER BY key, id LIMIT size + 1} within
+ * the user's rows. The default order compares the bare added_date column, and
+ * statuses are stored upper-case so the filter compares the bare status column;
+ * the (user_id, added_date, id) and (user_id, status) indexes then serve the
+ * page directly, so its cost depends on the page size, not on how many books
+ * the user has shelved or how far they have scrolled. The other orders sort the
+ * user's rows, bounded by the size of one shelf.
+ */
+@Service
+public class ShelfService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final LocalDateTime NO_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String NO_DATE_LITERAL = "{ts '1970-01-01 00:00:00'}";
+
+    private static final String SELECT =
+            "SELECT new com.example.readsphere.dto.ShelfEntry(ub.id, ub.user.id, ub.status, ub.pagesRead, ub.rating, " +
+            "ub.addedDate, ub.startedDate, ub.finishedDate, ub.coverUrl, b.id, b.title, b.author, b.genre, " +
+            "b.description, b.coverUrl, b.averageRating, b.totalPages) " +
+            "FROM UserBook ub JOIN ub.catalogBook b WHERE ub.user.id = :userId";
+
+    /**
+     * Shelf orders; ties are broken by id so every order is total and a cursor is exact.
+     */
+    public enum Sort {
+        ADDED("ub.addedDate"),
+        STARTED("COALESCE(ub.startedDate, " + NO_DATE_LITERAL + ")"),
+        FINISHED("COALESCE(ub.finishedDate, " + NO_DATE_LITERAL + ")"),
+        TITLE("LOWER(COALESCE(b.title, ''))"),
+        RATING("COALESCE(ub.rating, 0)");
+
+        private final String keyExpression;
+
+        Sort(String keyExpression) {
+            this.keyExpression = keyExpression;
+        }
+
+        Object keyOf(ShelfEntry entry) {
+            switch (this) {
+                case ADDED: return entry.getAddedDate();
+                case STARTED: return orNoDate(entry.getStartedDate());
+                case FINISHED: return orNoDate(entry.getFinishedDate());
+                case TITLE: return entry.getBook().getTitle() != null
+                        ? entry.getBook().getTitle().toLowerCase(Locale.ROOT) : "";
+                default: return entry.getRating() != null ? entry.getRating() : 0;
+            }
+        }
+
+        Object parseKey(String raw) {
+            switch (this) {
+                case ADDED:
+                case STARTED:
+                case FINISHED:
+                    return LocalDateTime.parse(raw);
+                case TITLE:
+                    return raw;
+                default:
+                    return Integer.parseInt(raw);
+            }
+        }
+
+        public static Sort from(String value) {
+            if (value == null || value.isBlank()) {
+                return ADDED;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unknown sort '" + value + "'; expected added, started, finished, title or rating");
+            }
+        }
+
+        private static LocalDateTime orNoDate(LocalDateTime date) {
+            return date != null ? date : NO_DATE;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShelfService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Bring rows written before statuses were normalized and added dates required
+     * in line with what the indexed queries expect.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            jdbcTemplate.update("UPDATE user_books SET added_date = CURRENT_TIMESTAMP WHERE added_date IS NULL");
+            jdbcTemplate.update("UPDATE user_books SET status = UPPER(TRIM(status)) WHERE status <> UPPER(TRIM(status))");
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not normalize shelf rows: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One page of a user's shelf.
+     *
+     * @param status only books with this status (case-insensitive), optional
+     * @param cursor {@link PageResult#getNextCursor()} of the previous page, optional
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another order
+     */
+    @Transactional(readOnly = true)
+    public PageResult page(Long userId, String status, Sort sort, boolean descending, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String op = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+
+        if (status != null && !status.isBlank()) {
+            jpql.append(" AND ub.status = :status");
+            params.put("status", UserBook.normalizeStatus(status));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor, sort, descending);
+            jpql.append(" AND (").append(sort.keyExpression).append(' ').append(op).append(" :afterKey")
+                .append(" OR (").append(sort.keyExpression).append(" = :afterKey AND ub.id ").append(op).append(" :afterId))");
+            params.put("afterKey", after.key);
+            params.put("afterId", after.id);
+        }
+        jpql.append(" ORDER BY ").append(sort.keyExpression).append(direction).append(", ub.id").append(direction);
+
+        TypedQuery<ShelfEntry> typed = entityManager.createQuery(jpql.toString(), ShelfEntry.class);
+        params.forEach(typed::setParameter);
+        typed.setMaxResults(limit + 1);
+        List<ShelfEntry> rows = typed.getResultList();
+
+        boolean hasMore = rows.size() > limit;
+        List<ShelfEntry> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ShelfEntry last = items.get(items.size() - 1);
+            nextCursor = new Cursor(sort, descending, last.getId(), sort.keyOf(last)).encode();
+        }
+        return new PageResult(items, nextCursor);
+    }
+
+    /**
+     * Number of shelved books per status, in one grouped query.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countByStatus(Long userId) {
+        List<Object[]> rows = entityManager.createQuery(
+                "SELECT ub.status, COUNT(ub) FROM UserBook ub WHERE ub.user.id = :userId GROUP BY ub.status " +
+                "ORDER BY ub.status", Object[].class)
+                .setParameter("userId", userId)
+                .getResultList();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            counts.put(row[0] != null ? (String) row[0] : "NONE", ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public static class PageResult {
+        private final List<ShelfEntry> items;
+        private final String nextCursor;
+
+        PageResult(List<ShelfEntry> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<ShelfEntry> getItems() {
+            return items;
+        }
+
+        /**
+         * Opaque position after the last entry, or null on the final page.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+
+    /**
+     * base64url of "sort|dir|id|key"; the key goes last so it may contain '|'.
+     */
+    private static final class Cursor {
+        final Sort sort;
+        final boolean descending;
+        final long id;
+        final Object key;
+
+        Cursor(Sort sort, boolean descending, long id, Object key) {
+            this.sort = sort;
+            this.descending = descending;
+            this.id = id;
+            this.key = key;
+        }
+
+        String encode() {
+            String raw = sort.name() + "|" + (descending ? "desc" : "asc") + "|" + id + "|" + key;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor, Sort expectedSort, boolean expectedDescending) {
+            Cursor decoded;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 4);
+                Sort sort = Sort.valueOf(parts[0]);
+                decoded = new Cursor(sort, "desc".equals(parts[1]), Long.parseLong(parts[2]), sort.parseKey(parts[3]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (decoded.sort != expectedSort || decoded.descending != expectedDescending) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort order");
+            }
+            return decoded;
+        }
+    }
+}
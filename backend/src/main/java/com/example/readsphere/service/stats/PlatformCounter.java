@@ -0,0 +1,26 @@
+package com.example.readsphere.service.stats;
+
+/**
+ * Platform-wide row counts shown on the admin dashboard, keyed by the name the
+ * dashboard response uses.
+ */
+public enum PlatformCounter {
+
+    USERS("totalUsers"),
+    ADMINS("totalAdmins"),
+    REGULAR_USERS("totalRegularUsers"),
+    CATALOG_BOOKS("totalCatalogBooks"),
+    USER_BOOKS("totalUserBooks"),
+    NOTES("totalNotes"),
+    QUOTES("totalQuotes");
+
+    private final String key;
+
+    PlatformCounter(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
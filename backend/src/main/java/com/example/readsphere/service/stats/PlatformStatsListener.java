@@ -0,0 +1,85 @@
+package com.example.readsphere.service.stats;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.model.Note;
+import com.example.readsphere.model.Quote;
+import com.example.readsphere.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that feeds inserts, deletes and user role changes into
+ * {@link PlatformStatsService}.
+ * Hibernate obtains it from the Spring context; the service is looked up lazily
+ * because it depends on repositories that need the entity manager factory first.
+ */
+@Component
+public class PlatformStatsListener {
+
+    private final ObjectProvider<PlatformStatsService> platformStats;
+
+    public PlatformStatsListener(ObjectProvider<PlatformStatsService> platformStats) {
+        this.platformStats = platformStats;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        record(entity, 1);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        record(entity, -1);
+    }
+
+    /**
+     * Moves a user between the admin and regular counters when an update changed
+     * the role. {@link User#getPersistedRole()} still holds the role from before
+     * the update here; the entity refreshes it in its own callback afterwards.
+     */
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (!(entity instanceof User user)) {
+            return;
+        }
+        User.Role before = user.getPersistedRole();
+        if (before == null || before == user.getRole()) {
+            return;
+        }
+        PlatformStatsService stats = platformStats.getIfAvailable();
+        if (stats == null) {
+            return;
+        }
+        stats.adjust(roleCounter(before), -1);
+        stats.adjust(roleCounter(user.getRole()), 1);
+    }
+
+    private void record(Object entity, long delta) {
+        PlatformStatsService stats = platformStats.getIfAvailable();
+        if (stats == null) {
+            return;
+        }
+        if (entity instanceof User user) {
+            stats.adjust(PlatformCounter.USERS, delta);
+            // A removed user is counted under the role the database last held
+            User.Role role = delta < 0 && user.getPersistedRole() != null ? user.getPersistedRole() : user.getRole();
+            stats.adjust(roleCounter(role), delta);
+        } else if (entity instanceof BookCatalog) {
+            stats.adjust(PlatformCounter.CATALOG_BOOKS, delta);
+        } else if (entity instanceof Book) {
+            stats.adjust(PlatformCounter.USER_BOOKS, delta);
+        } else if (entity instanceof Note) {
+            stats.adjust(PlatformCounter.NOTES, delta);
+        } else if (entity instanceof Quote) {
+            stats.adjust(PlatformCounter.QUOTES, delta);
+        }
+    }
+
+    private static PlatformCounter roleCounter(User.Role role) {
+        return role == User.Role.ADMIN ? PlatformCounter.ADMINS : PlatformCounter.REGULAR_USERS;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.readsphere.service.stats;
+
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.BookCatalogRepository;
+import com.example.readsphere.repository.BookRepository;
+import com.example.readsphere.repository.NoteRepository;
+import com.example.readsphere.repository.QuoteRepository;
+import com.example.readsphere.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory platform counters for the admin dashboard.
+ *
+ * Counts are loaded with one round of {@code count()} queries and then kept current
+ * from JPA lifecycle events ({@link PlatformStatsListener}), applied after the
+ * writing transaction commits. Writes that bypass JPA (bulk JDBC, database
+ * cascades) are caught by a periodic background reconcile. Readers always get the
+ * current snapshot immediately; if it is older than {@code app.stats.max-age-seconds}
+ * a reconcile is started in the background and the stale values are served until
+ * it finishes.
+ */
+@Service
+public class PlatformStatsService {
+
+    private final UserRepository userRepository;
+    private final BookCatalogRepository catalogRepository;
+    private final BookRepository bookRepository;
+    private final NoteRepository noteRepository;
+    private final QuoteRepository quoteRepository;
+
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "platform-stats");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final Object loadLock = new Object();
+    private volatile Snapshot snapshot;
+    // While a load runs: deltas committed since each counter's query started, guarded by this
+    private EnumMap<PlatformCounter, Long> pendingDeltas;
+
+    @Value("${app.stats.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    public PlatformStatsService(UserRepository userRepository,
+                                BookCatalogRepository catalogRepository,
+                                BookRepository bookRepository,
+                                NoteRepository noteRepository,
+                                QuoteRepository quoteRepository) {
+        this.userRepository = userRepository;
+        this.catalogRepository = catalogRepository;
+        this.bookRepository = bookRepository;
+        this.noteRepository = noteRepository;
+        this.quoteRepository = quoteRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshAsync();
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-ms:600000}", initialDelayString = "${app.stats.reconcile-ms:600000}")
+    public void scheduledReconcile() {
+        refreshAsync();
+    }
+
+    /**
+     * Current counters. Only the very first call (before the startup load has
+     * finished) waits for the database.
+     */
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return refreshNow();
+        }
+        if (System.currentTimeMillis() - current.getReconciledAt() > TimeUnit.SECONDS.toMillis(maxAgeSeconds)) {
+            refreshAsync();
+        }
+        return current;
+    }
+
+    /**
+     * Adjust a counter once the current transaction commits (immediately if there
+     * is none). Rolled-back writes therefore never move the counters.
+     */
+    public void adjust(PlatformCounter counter, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(counter, delta);
+                }
+            });
+        } else {
+            apply(counter, delta);
+        }
+    }
+
+    /**
+     * Start a reconcile against the database unless one is already running.
+     *
+     * @return false if a reconcile was already in flight
+     */
+    public boolean refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            launcher.execute(() -> {
+                try {
+                    load();
+                } catch (Exception e) {
+                    System.err.println("⚠️ Could not refresh platform stats: " + e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        launcher.shutdownNow();
+    }
+
+    private Snapshot refreshNow() {
+        synchronized (loadLock) {
+            Snapshot current = snapshot;
+            return current != null ? current : load();
+        }
+    }
+
+    /**
+     * Re-reads every counter. A delta that commits after a counter's query has
+     * started may be missing from its result, so such deltas are collected while
+     * the load runs and replayed onto the loaded counts before they are published;
+     * without that, a write committing during startup would be lost until the next
+     * reconcile.
+     */
+    private Snapshot load() {
+        synchronized (loadLock) {
+            synchronized (this) {
+                pendingDeltas = new EnumMap<>(PlatformCounter.class);
+            }
+            try {
+                EnumMap<PlatformCounter, Long> counts = new EnumMap<>(PlatformCounter.class);
+                count(counts, PlatformCounter.USERS, userRepository::count);
+                count(counts, PlatformCounter.ADMINS, () -> userRepository.countByRole(User.Role.ADMIN));
+                count(counts, PlatformCounter.REGULAR_USERS, () -> userRepository.countByRole(User.Role.USER));
+                count(counts, PlatformCounter.CATALOG_BOOKS, catalogRepository::count);
+                count(counts, PlatformCounter.USER_BOOKS, bookRepository::count);
+                count(counts, PlatformCounter.NOTES, noteRepository::count);
+                count(counts, PlatformCounter.QUOTES, quoteRepository::count);
+                synchronized (this) {
+                    pendingDeltas.forEach((counter, delta) -> counts.put(counter, Math.max(0L, counts.get(counter) + delta)));
+                    long now = System.currentTimeMillis();
+                    Snapshot loaded = new Snapshot(counts, now, now);
+                    snapshot = loaded;
+                    return loaded;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingDeltas = null;
+                }
+            }
+        }
+    }
+
+    private void count(EnumMap<PlatformCounter, Long> counts, PlatformCounter counter, LongSupplier query) {
+        synchronized (this) {
+            pendingDeltas.put(counter, 0L);
+        }
+        counts.put(counter, query.getAsLong());
+    }
+
+    private synchronized void apply(PlatformCounter counter, long delta) {
+        if (pendingDeltas != null) {
+            pendingDeltas.computeIfPresent(counter, (c, pending) -> pending + delta);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.plus(counter, delta);
+        }
+    }
+
+    /**
+     * Immutable set of counters. {@code updatedAt} moves with every incremental
+     * change; {@code reconciledAt} only when the counts were re-read from the database.
+     */
+    public static final class Snapshot {
+        private final Map<PlatformCounter, Long> counts;
+        private final long reconciledAt;
+        private final long updatedAt;
+
+        Snapshot(EnumMap<PlatformCounter, Long> counts, long reconciledAt, long updatedAt) {
+            this.counts = Collections.unmodifiableMap(counts);
+            this.reconciledAt = reconciledAt;
+            this.updatedAt = updatedAt;
+        }
+
+        public long get(PlatformCounter counter) {
+            return counts.getOrDefault(counter, 0L);
+        }
+
+        public long getReconciledAt() {
+            return reconciledAt;
+        }
+
+        public long getUpdatedAt() {
+            return updatedAt;
+        }
+
+        /**
+         * Counters under their dashboard keys plus the snapshot timestamps.
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<PlatformCounter, Long> entry : counts.entrySet()) {
+                map.put(entry.getKey().getKey(), entry.getValue());
+            }
+            map.put("snapshotAt", updatedAt);
+            map.put("reconciledAt", reconciledAt);
+            return map;
+        }
+
+        Snapshot plus(PlatformCounter counter, long delta) {
+            EnumMap<PlatformCounter, Long> next = new EnumMap<>(counts);
+            next.put(counter, Math.max(0L, get(counter) + delta));
+            return new Snapshot(next, reconciledAt, System.currentTimeMillis());
+        }
+    }
+}
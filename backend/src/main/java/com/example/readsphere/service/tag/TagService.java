@@ -0,0 +1,225 @@
+package com.example.readsphere.service.tag;
+
+import com.example.readsphere.model.Tag;
+import com.example.readsphere.repository.TagRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Resolves tag names to ids and keeps an in-memory dictionary of every tag.
+ *
+ * Tags are global, short and never renamed or deleted, so name to id is cached
+ * without expiry. Names missing from the dictionary are read through with one
+ * {@code findByNameIn} query, and names missing from the table are created with
+ * one batched insert that ignores unique-key conflicts, so concurrent requests
+ * tagging with the same new name both succeed. The same dictionary, ordered by
+ * lower-cased name, serves prefix autocomplete without touching the database.
+ */
+@Service
+public class TagService {
+
+    public static final int MAX_TAGS_PER_NOTE = 50;
+    public static final int MAX_TAG_LENGTH = 100;
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseDialect dialect;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    // Keyed by lower-cased name + NUL + name so case variants sort together and stay distinct
+    private final ConcurrentSkipListMap<String, String> namesByPrefixKey = new ConcurrentSkipListMap<>();
+
+    public TagService(TagRepository tagRepository, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                      DatabaseDialect dialect) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dialect = dialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            jdbcTemplate.query("SELECT id, name FROM tags", rs -> {
+                remember(rs.getString(2), rs.getLong(1));
+            });
+            System.out.println("🏷️ Loaded " + idsByName.size() + " tags into the tag dictionary");
+        } catch (Exception e) {
+            System.err.println("⚠️ Could not preload tags: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the tags of a note. Names are trimmed; blanks and repeats are dropped.
+     * Tag rows are created outside the link transaction so a concurrent insert of
+     * the same name is visible to the lookup that follows it.
+     */
+    public void replaceNoteTags(Long noteId, List<String> names) {
+        Set<Long> tagIds = new LinkedHashSet<>(resolveIds(names).values());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM note_tags WHERE note_id = ?", noteId);
+            if (!tagIds.isEmpty()) {
+                List<Object[]> links = new ArrayList<>();
+                for (Long tagId : tagIds) {
+                    links.add(new Object[]{noteId, tagId});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO note_tags (note_id, tag_id) VALUES (?, ?)", links);
+            }
+        });
+    }
+
+    /**
+     * Ids for the given names, creating tags that do not exist yet.
+     *
+     * @return cleaned name to tag id, in request order
+     */
+    public Map<String, Long> resolveIds(List<String> names) {
+        List<String> cleaned = clean(names);
+        Map<String, Long> resolved = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : cleaned) {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                resolved.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            missing = lookup(missing, resolved);
+        }
+        if (!missing.isEmpty()) {
+            insertIgnoringDuplicates(missing);
+            missing = lookup(missing, resolved);
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Could not create tags " + missing);
+            }
+        }
+        // Restore request order after the lookups filled the map out of order
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (String name : cleaned) {
+            ordered.put(name, resolved.get(name));
+        }
+        return ordered;
+    }
+
+    /**
+     * Tag names starting with the prefix, ignoring case, in alphabetical order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        String from = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        List<String> suggestions = new ArrayList<>(max);
+        for (String name : namesByPrefixKey.tailMap(from).values()) {
+            if (!name.toLowerCase(Locale.ROOT).startsWith(from) || suggestions.size() == max) {
+                break;
+            }
+            suggestions.add(name);
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return idsByName.size();
+    }
+
+    /**
+     * Fill {@code resolved} from the table for the given names.
+     *
+     * @return the names still unresolved
+     */
+    private List<String> lookup(List<String> names, Map<String, Long> resolved) {
+        List<Tag> found = tagRepository.findByNameIn(names);
+        for (Tag tag : found) {
+            remember(tag.getName(), tag.getId());
+        }
+        List<String> unresolved = new ArrayList<>();
+        for (String name : names) {
+            Long id = idsByName.get(name);
+            if (id == null) {
+                // Case-insensitive collations (MySQL default) return the stored spelling
+                for (Tag tag : found) {
+                    if (tag.getName().equalsIgnoreCase(name)) {
+                        id = tag.getId();
+                        idsByName.put(name, id);
+                        break;
+                    }
+                }
+            }
+            if (id != null) {
+                resolved.put(name, id);
+            } else {
+                unresolved.add(name);
+            }
+        }
+        return unresolved;
+    }
+
+    private void insertIgnoringDuplicates(List<String> names) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String name : names) {
+            rows.add(new Object[]{name});
+        }
+        switch (dialect.vendor()) {
+            case MYSQL -> jdbcTemplate.batchUpdate("INSERT IGNORE INTO tags (name) VALUES (?)", rows);
+            case POSTGRES -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO tags (name) VALUES (?) ON CONFLICT (name) DO NOTHING", rows);
+            default -> {
+                for (String name : names) {
+                    try {
+                        jdbcTemplate.update("INSERT INTO tags (name) VALUES (?)", name);
+                    } catch (DuplicateKeyException e) {
+                        // Created concurrently; the lookup that follows picks it up
+                    }
+                }
+            }
+        }
+    }
+
+    private void remember(String name, Long id) {
+        if (name == null || id == null) {
+            return;
+        }
+        idsByName.put(name, id);
+        namesByPrefixKey.put(name.toLowerCase(Locale.ROOT) + '\0' + name, name);
+    }
+
+    private static List<String> clean(List<String> names) {
+        if (names == null) {
+            return List.of();
+        }
+        Set<String> cleaned = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            String trimmed = name.trim();
+            if (trimmed.length() > MAX_TAG_LENGTH) {
+                throw new IllegalArgumentException("Tags must be at most " + MAX_TAG_LENGTH + " characters");
+            }
+            cleaned.add(trimmed);
+        }
+        if (cleaned.size() > MAX_TAGS_PER_NOTE) {
+            throw new IllegalArgumentException("At most " + MAX_TAGS_PER_NOTE + " tags per note");
+        }
+        return new ArrayList<>(cleaned);
+    }
+
+}
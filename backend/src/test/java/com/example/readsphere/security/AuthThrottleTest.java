@@ -0,0 +1,98 @@
+package com.example.readsphere.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new AuthThrottle(meterRegistry, 1000);
+        ReflectionTestUtils.setField(throttle, "ipCapacity", 20);
+        ReflectionTestUtils.setField(throttle, "ipPerMinute", 20.0);
+        ReflectionTestUtils.setField(throttle, "emailCapacity", 5);
+        ReflectionTestUtils.setField(throttle, "emailPerMinute", 5.0);
+    }
+
+    @Test
+    void bucketRefillsAtItsRate() {
+        long t0 = 1_000_000L;
+        // Two tokens, refilled at one per second
+        AuthThrottle.TokenBucket bucket = new AuthThrottle.TokenBucket(2, 1 / 1000.0, t0);
+
+        assertThat(bucket.tryConsume(t0)).isZero();
+        assertThat(bucket.tryConsume(t0)).isZero();
+        assertThat(bucket.tryConsume(t0)).isEqualTo(1);
+        assertThat(bucket.tryConsume(t0 + 500)).isEqualTo(1);
+        assertThat(bucket.tryConsume(t0 + 1000)).isZero();
+        assertThat(bucket.tryConsume(t0 + 1000)).isEqualTo(1);
+        // Idle time never fills the bucket past its capacity
+        assertThat(bucket.tryConsume(t0 + 60_000)).isZero();
+        assertThat(bucket.tryConsume(t0 + 60_000)).isZero();
+        assertThat(bucket.tryConsume(t0 + 60_000)).isEqualTo(1);
+    }
+
+    @Test
+    void emailLimitAppliesAcrossCaseAndRejectionsAreCounted() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("login", "10.0.0." + i, i % 2 == 0 ? "Ann@Example.com" : "ann@example.com "))
+                    .isZero();
+        }
+
+        long retryAfter = throttle.tryAcquire("login", "10.0.0.9", "ANN@example.com");
+
+        // One token per 12 seconds at 5 a minute
+        assertThat(retryAfter).isBetween(1L, 12L);
+        assertThat(throttle.tryAcquire("login", "10.0.0.9", "bob@example.com")).isZero();
+        assertThat(throttle.tryAcquire("register", "10.0.0.9", "ann@example.com")).isZero();
+        assertThat(meterRegistry.counter("auth.throttle.rejected", "action", "login", "scope", "email").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void ipLimitAppliesBeforeTheEmailBucket() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(throttle.tryAcquire("login", "10.0.0.1", null)).isZero();
+        }
+
+        assertThat(throttle.tryAcquire("login", "10.0.0.1", "new@example.com")).isPositive();
+        assertThat(meterRegistry.counter("auth.throttle.rejected", "action", "login", "scope", "ip").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void concurrentFirstAttemptsShareOneBucket() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> attempts = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                attempts.add(() -> throttle.tryAcquire("login", "10.0.0.1", null));
+            }
+            long allowed = 0;
+            for (Future<Long> result : pool.invokeAll(attempts)) {
+                if (result.get() == 0) {
+                    allowed++;
+                }
+            }
+
+            assertThat(allowed).isEqualTo(20);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
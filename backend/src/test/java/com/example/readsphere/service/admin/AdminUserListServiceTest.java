@@ -0,0 +1,126 @@
+package com.example.readsphere.service.admin;
+
+import com.example.readsphere.dto.AdminUserSummary;
+import com.example.readsphere.model.User;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AdminUserListService.class, DatabaseDialect.class})
+class AdminUserListServiceTest {
+
+    @Autowired
+    private AdminUserListService listService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String[] names = {"Cy", "Bob", null, "Ann", "Bob", null, "Dee|x"};
+        for (int i = 0; i < names.length; i++) {
+            users.add(entityManager.persist(new User(names[i], "user" + i + "@example.com", "x")));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void ascendingNamePagesCoverEveryUserOnceWithNamelessUsersLast() {
+        Comparator<User> byName = Comparator.comparing(User::getName).thenComparing(User::getId);
+        List<Long> expected = new ArrayList<>();
+        users.stream().filter(u -> u.getName() != null).sorted(byName).forEach(u -> expected.add(u.getId()));
+        users.stream().filter(u -> u.getName() == null).sorted(Comparator.comparing(User::getId))
+                .forEach(u -> expected.add(u.getId()));
+
+        assertThat(walk(AdminUserListService.Sort.NAME, false, 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void descendingNamePagesAreTheExactReverse() {
+        List<Long> ascending = walk(AdminUserListService.Sort.NAME, false, 3);
+        List<Long> descending = walk(AdminUserListService.Sort.NAME, true, 2);
+
+        List<Long> reversed = new ArrayList<>(ascending);
+        Collections.reverse(reversed);
+        assertThat(descending).containsExactlyElementsOf(reversed);
+    }
+
+    @Test
+    void idPagesFollowIds() {
+        assertThat(walk(AdminUserListService.Sort.ID, true, 4))
+                .containsExactlyElementsOf(users.stream().map(User::getId).sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void prefixSearchIsCaseInsensitive() {
+        AdminUserListService.PageResult page = listService.list("BO", null, null,
+                AdminUserListService.Sort.NAME, false, null, 10);
+
+        assertThat(page.getUsers()).extracting(AdminUserSummary::getName).containsExactly("Bob", "Bob");
+    }
+
+    @Test
+    void cursorRoundTripsNullAndPipeKeys() {
+        AdminUserListService.Cursor nullKey = new AdminUserListService.Cursor(AdminUserListService.Sort.NAME, true, 7L, null);
+        AdminUserListService.Cursor pipeKey = new AdminUserListService.Cursor(AdminUserListService.Sort.NAME, true, 8L, "a|b");
+
+        AdminUserListService.Cursor decodedNull =
+                AdminUserListService.Cursor.decode(nullKey.encode(), AdminUserListService.Sort.NAME, true);
+        AdminUserListService.Cursor decodedPipe =
+                AdminUserListService.Cursor.decode(pipeKey.encode(), AdminUserListService.Sort.NAME, true);
+
+        assertThat(decodedNull.id).isEqualTo(7L);
+        assertThat(decodedNull.key).isNull();
+        assertThat(decodedPipe.id).isEqualTo(8L);
+        assertThat(decodedPipe.key).isEqualTo("a|b");
+    }
+
+    @Test
+    void tamperedOrForeignCursorsAreRejected() {
+        String garbage = Base64.getUrlEncoder().encodeToString("NAME|asc|x|=Bob".getBytes(StandardCharsets.UTF_8));
+        String otherOrder = new AdminUserListService.Cursor(AdminUserListService.Sort.EMAIL, false, 1L, "a").encode();
+
+        assertThatThrownBy(() -> list(AdminUserListService.Sort.NAME, false, "not base64 !", 2))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> list(AdminUserListService.Sort.NAME, false, garbage, 2))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> list(AdminUserListService.Sort.NAME, false, otherOrder, 2))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Cursor belongs to a different sort order");
+    }
+
+    private List<Long> walk(AdminUserListService.Sort sort, boolean descending, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            AdminUserListService.PageResult page = list(sort, descending, cursor, size);
+            page.getUsers().forEach(u -> ids.add(u.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private AdminUserListService.PageResult list(AdminUserListService.Sort sort, boolean descending, String cursor, int size) {
+        return listService.list(null, null, null, sort, descending, cursor, size);
+    }
+}
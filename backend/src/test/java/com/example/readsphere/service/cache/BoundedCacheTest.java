@@ -0,0 +1,92 @@
+package com.example.readsphere.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void invalidationDuringALoadKeepsTheStaleValueOutOfTheCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, 60_000);
+
+        String loaded = cache.get("k", () -> {
+            cache.invalidate("k");
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.get("k", () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get("k")).isEqualTo("fresh");
+    }
+
+    @Test
+    void invalidateAllDuringALoadKeepsTheStaleValueOutOfTheCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, 60_000);
+
+        cache.get("k", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "v";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> second = pool.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2, 60_000);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.stats()).containsEntry("evictions", 1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
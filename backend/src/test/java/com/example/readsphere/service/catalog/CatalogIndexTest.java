@@ -0,0 +1,160 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CatalogIndex.class)
+class CatalogIndexTest {
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<BookCatalog> books = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Ties on every sort key, a null and an empty title, a '|' in a title and missing years
+        book("Dune", "Science Fiction", 4.5, 1965);
+        book("dune", "Science Fiction", 4.5, 1965);
+        book("A|B", "Fantasy", 4.5, null);
+        book(null, "Fantasy", 3.0, 2001);
+        book("", "Fantasy", 3.0, null);
+        book("Emma", "Classic", null, 1815);
+        book("Zed", "Classic", 5.0, 2001);
+        book("Nameless", null, 2.0, null);
+        book("Mystery", "Unknown", 2.0, null);
+        entityManager.flush();
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    void ratingPagesCoverEveryBookOnceInOrder() {
+        List<Long> expected = books.stream()
+                .sorted(Comparator.comparing((BookCatalog b) -> b.getAverageRating() != null ? b.getAverageRating() : 0.0)
+                        .reversed().thenComparing(BookCatalog::getId))
+                .map(BookCatalog::getId).toList();
+
+        assertThat(walk(null, CatalogIndex.Sort.RATING, 2)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void titlePagesKeepNullAndEmptyTitlesApart() {
+        List<Long> expected = books.stream()
+                .sorted(Comparator.comparing(BookCatalog::getTitle, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                        .thenComparing(BookCatalog::getId))
+                .map(BookCatalog::getId).toList();
+
+        for (int size = 1; size <= 3; size++) {
+            assertThat(walk(null, CatalogIndex.Sort.TITLE, size)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void yearPagesPutMissingYearsLast() {
+        List<Long> expected = books.stream()
+                .sorted(Comparator.comparing(BookCatalog::getPublishedYear, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+                        .thenComparing(BookCatalog::getId))
+                .map(BookCatalog::getId).toList();
+
+        assertThat(walk(null, CatalogIndex.Sort.YEAR, 1)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void genrePagesOnlyCoverThatGenre() {
+        assertThat(walk("fantasy", CatalogIndex.Sort.TITLE, 1)).containsExactlyInAnyOrder(
+                books.get(2).getId(), books.get(3).getId(), books.get(4).getId());
+    }
+
+    @Test
+    void unspecifiedGenrePagesCoverOnlyBooksWithoutAGenre() {
+        assertThat(walk(GenreFacet.UNSPECIFIED_GENRE, CatalogIndex.Sort.TITLE, 1)).containsExactly(books.get(7).getId());
+        assertThat(walk("unknown", CatalogIndex.Sort.TITLE, 1)).containsExactly(books.get(8).getId());
+    }
+
+    @Test
+    void cursorRoundTripsEveryKeyShape() {
+        for (BookCatalog book : books) {
+            for (CatalogIndex.Sort sort : CatalogIndex.Sort.values()) {
+                BookCatalog probe = CatalogIndex.decodeCursor(CatalogIndex.encodeCursor(book, sort), sort);
+
+                assertThat(probe.getId()).isEqualTo(book.getId());
+                switch (sort) {
+                    case RATING -> assertThat(probe.getAverageRating())
+                            .isEqualTo(book.getAverageRating() != null ? book.getAverageRating() : 0.0);
+                    case TITLE -> assertThat(probe.getTitle()).isEqualTo(book.getTitle());
+                    case YEAR -> assertThat(probe.getPublishedYear()).isEqualTo(book.getPublishedYear());
+                }
+            }
+        }
+    }
+
+    @Test
+    void cursorOfARemovedBookResumesAtTheNextOne() {
+        CatalogIndex.PageResult first = catalogIndex.page(null, CatalogIndex.Sort.TITLE, null, 0, 3);
+        BookCatalog last = first.getBooks().get(2);
+        List<Long> rest = walkFrom(null, CatalogIndex.Sort.TITLE, first.getNextCursor(), 3);
+
+        catalogIndex.remove(last.getId());
+
+        assertThat(walkFrom(null, CatalogIndex.Sort.TITLE, first.getNextCursor(), 3)).containsExactlyElementsOf(rest);
+    }
+
+    @Test
+    void tamperedOrForeignCursorsAreRejected() {
+        String titleCursor = catalogIndex.page(null, CatalogIndex.Sort.TITLE, null, 0, 1).getNextCursor();
+
+        assertThatThrownBy(() -> catalogIndex.page(null, CatalogIndex.Sort.RATING, titleCursor, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Cursor belongs to a different sort order");
+        for (String bad : List.of("not base64 !", encode("RATING|x|=4.5"), encode("RATING|1|4.5"),
+                encode("RATING|1|=high"), encode("YEAR|1"), encode("SIZE|1|=3"))) {
+            assertThatThrownBy(() -> catalogIndex.page(null, CatalogIndex.Sort.RATING, bad, 0, 1))
+                    .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        }
+    }
+
+    private List<Long> walk(String genre, CatalogIndex.Sort sort, int size) {
+        return walkFrom(genre, sort, null, size);
+    }
+
+    private List<Long> walkFrom(String genre, CatalogIndex.Sort sort, String cursor, int size) {
+        List<Long> ids = new ArrayList<>();
+        do {
+            CatalogIndex.PageResult page = catalogIndex.page(genre, sort, cursor, 0, size);
+            page.getBooks().forEach(b -> ids.add(b.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void book(String title, String genre, Double rating, Integer year) {
+        BookCatalog book = new BookCatalog(title, "Author", genre, "", rating, 200);
+        book.setPublishedYear(year);
+        books.add(entityManager.persist(book));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSearchIndexTest {
+
+    private CatalogSearchIndex index;
+    private long nextId;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogSearchIndex(null);
+        nextId = 1;
+    }
+
+    @Test
+    void tokenizeLowerCasesFoldsAccentsAndSplitsOnPunctuation() {
+        assertThat(CatalogSearchIndex.tokenize("Éléonore's BRONTË: Jane-Eyre (1847)"))
+                .containsExactly("eleonore", "s", "bronte", "jane", "eyre", "1847");
+        assertThat(CatalogSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(CatalogSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void accentsAndCaseDoNotMatterOnEitherSide() {
+        BookCatalog book = book("Jane Eyre", "Charlotte Brontë", "");
+
+        assertThat(titles("bronte")).containsExactly(book.getTitle());
+        assertThat(titles("BRONTË jane")).containsExactly(book.getTitle());
+    }
+
+    @Test
+    void isbnMatchesWithOrWithoutSeparators() {
+        BookCatalog book = book("Numbers", "Author", "");
+        book.setIsbn("978-0-306-40615-7");
+        index.upsert(book);
+        BookCatalog other = book("Other", "Author", "");
+        other.setIsbn("978-1-4028-9462-6");
+        index.upsert(other);
+
+        assertThat(titles("9780306406157")).containsExactly("Numbers");
+        assertThat(titles("978 0 306 40615 7")).containsExactly("Numbers");
+    }
+
+    @Test
+    void lastTermMatchesEveryTermItPrefixes() {
+        // More terms sort before "harry" than the old expansion limit kept
+        for (int i = 0; i < 60; i++) {
+            book("haa" + i, "Author", "");
+        }
+        book("Harry Potter", "Rowling", "");
+
+        CatalogSearchIndex.SearchResult result = index.search("ha", 0, 100);
+
+        assertThat(result.getTotal()).isEqualTo(61);
+        assertThat(result.getBooks()).extracting(BookCatalog::getTitle).contains("Harry Potter");
+        assertThat(titles("harry pot")).containsExactly("Harry Potter");
+        // Only the last term is a prefix
+        assertThat(titles("har potter")).isEmpty();
+        // A single character is not expanded
+        assertThat(titles("h")).isEmpty();
+    }
+
+    @Test
+    void everyQueryTermMustMatchAndStopWordsAreIgnored() {
+        book("The Lord of the Rings", "Tolkien", "");
+        book("The Hobbit", "Tolkien", "");
+
+        assertThat(titles("the lord of rings")).containsExactly("The Lord of the Rings");
+        assertThat(titles("tolkien hobbit")).containsExactly("The Hobbit");
+        assertThat(titles("the")).hasSize(2);
+    }
+
+    @Test
+    void bm25RanksTitleOverAuthorOverDescriptionAndShortOverLong() {
+        BookCatalog inDescription = book("Sea", "Someone", "whale");
+        BookCatalog inAuthor = book("Sea", "Whale", "");
+        BookCatalog inTitle = book("Whale", "Someone", "");
+
+        assertThat(index.search("whale", 0, 10).getBooks()).extracting(BookCatalog::getId).containsExactly(
+                inTitle.getId(), inAuthor.getId(), inDescription.getId());
+
+        BookCatalog inLongTitle = book("Whale Road Trip Stories", "Someone", "");
+        assertThat(index.search("whale", 0, 10).getBooks()).extracting(BookCatalog::getId)
+                .containsSubsequence(inTitle.getId(), inLongTitle.getId());
+    }
+
+    @Test
+    void pagesAreDisjointAndTotalCountsEveryMatch() {
+        for (int i = 0; i < 25; i++) {
+            book("Common " + i, "Author", "");
+        }
+
+        Set<Long> seen = new HashSet<>();
+        int[] sizes = new int[3];
+        for (int page = 0; page < 3; page++) {
+            CatalogSearchIndex.SearchResult result = index.search("common", page, 10);
+            assertThat(result.getTotal()).isEqualTo(25);
+            assertThat(result.getPage()).isEqualTo(page);
+            sizes[page] = result.getBooks().size();
+            result.getBooks().forEach(b -> assertThat(seen.add(b.getId())).isTrue());
+        }
+        assertThat(sizes).containsExactly(10, 10, 5);
+        assertThat(index.search("common", 3, 10).getBooks()).isEmpty();
+    }
+
+    @Test
+    void pagesPastTheRankedWindowAreCappedToItsLastPage() {
+        for (int i = 0; i < 1005; i++) {
+            book("Common " + i, "Author", "");
+        }
+
+        CatalogSearchIndex.SearchResult result = index.search("common", 500, 10);
+
+        assertThat(result.getTotal()).isEqualTo(1005);
+        assertThat(result.getReachable()).isEqualTo(1000);
+        assertThat(result.getPage()).isEqualTo(99);
+        assertThat(result.getBooks()).hasSize(10);
+    }
+
+    @Test
+    void upsertReplacesOldTermsAndRemoveDropsTheBook() {
+        BookCatalog book = book("Old Title", "Author", "");
+        book("Old Friends", "Author", "");
+
+        book.setTitle("New Title");
+        index.upsert(book);
+        assertThat(titles("old")).containsExactly("Old Friends");
+        assertThat(titles("new")).containsExactly("New Title");
+        assertThat(index.size()).isEqualTo(2);
+
+        index.remove(book.getId());
+        assertThat(titles("title")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+        index.remove(book.getId());
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private List<String> titles(String query) {
+        return index.search(query, 0, 50).getBooks().stream().map(BookCatalog::getTitle).toList();
+    }
+
+    private BookCatalog book(String title, String author, String description) {
+        BookCatalog book = new BookCatalog(title, author, "Fiction", description, 4.0, 100);
+        book.setId(nextId++);
+        index.upsert(book);
+        return book;
+    }
+}
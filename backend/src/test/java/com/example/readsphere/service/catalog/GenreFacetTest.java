@@ -0,0 +1,44 @@
+package com.example.readsphere.service.catalog;
+
+import com.example.readsphere.model.BookCatalog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenreFacetTest {
+
+    @Test
+    void missingGenreStaysApartFromALiteralUnknown() {
+        GenreFacet facet = GenreFacet.of(List.of(book("Unknown", 4.0), book(null, 2.0), book(null, 3.0)));
+
+        assertThat(facet.genres()).containsExactly("Unknown");
+        assertThat(facet.stats()).extracting(GenreFacet.GenreStats::getLabel)
+                .containsExactly("Unknown", GenreFacet.UNSPECIFIED_GENRE);
+        assertThat(facet.stats()).extracting(GenreFacet.GenreStats::getCount).containsExactly(1L, 2L);
+        assertThat(facet.stats()).extracting(GenreFacet.GenreStats::getAverageRating).containsExactly(4.0, 2.5);
+        assertThat(facet.totalBooks()).isEqualTo(3);
+    }
+
+    @Test
+    void removingTheLastBookWithoutAGenreDropsOnlyThatEntry() {
+        BookCatalog unspecified = book(null, 2.0);
+        GenreFacet facet = GenreFacet.of(List.of(book("Unknown", 4.0), unspecified)).minus(unspecified);
+
+        assertThat(facet.genres()).containsExactly("Unknown");
+        assertThat(facet.stats()).extracting(GenreFacet.GenreStats::getGenre).containsExactly("Unknown");
+    }
+
+    @Test
+    void addingABookWithoutAGenreLeavesTheGenreListAlone() {
+        GenreFacet facet = GenreFacet.of(List.of(book("Drama", 3.0))).plus(book(null, 5.0));
+
+        assertThat(facet.genres()).containsExactly("Drama");
+        assertThat(facet.stats()).extracting(GenreFacet.GenreStats::getGenre).containsExactly("Drama", null);
+    }
+
+    private static BookCatalog book(String genre, Double rating) {
+        return new BookCatalog("Title", "Author", genre, "", rating, 100);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.readsphere.service.email;
+
+import com.example.readsphere.model.EmailOutboxMessage;
+import com.example.readsphere.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ServerSocket;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the dispatcher against an in-process SMTP server. The test is not
+ * transactional: the dispatcher commits its claims and outcomes itself.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<EmailOutboxDispatcher> dispatchers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        dispatchers.forEach(EmailOutboxDispatcher::shutdown);
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedMessages() throws Exception {
+        EmailOutboxMessage queued = outboxRepository.save(
+                new EmailOutboxMessage("ann@example.com", "Verify your email", "Click the link"));
+
+        assertThat(dispatcher(smtpSender(), 3).dispatchOnce()).isEqualTo(1);
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("Verify your email");
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("ann@example.com");
+        EmailOutboxMessage stored = outboxRepository.findById(queued.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(stored.getAttempts()).isEqualTo(1);
+        assertThat(stored.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedMessagesBackOffThenGoDeadAndCanBeRequeued() throws Exception {
+        Long id = outboxRepository.save(new EmailOutboxMessage("ann@example.com", "Reset", "Link")).getId();
+        EmailOutboxDispatcher unreachable = dispatcher(unreachableSender(), 3);
+
+        Instant before = Instant.now();
+        assertThat(unreachable.dispatchOnce()).isEqualTo(1);
+        EmailOutboxMessage first = outboxRepository.findById(id).orElseThrow();
+        assertThat(first.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(first.getLastError()).isNotBlank();
+        // 30s base, up to 20% jitter
+        assertThat(Duration.between(before, first.getNextAttemptAt()).getSeconds()).isBetween(29L, 37L);
+        // Not due yet, so nothing is claimed
+        assertThat(unreachable.dispatchOnce()).isZero();
+
+        makeDue(id);
+        before = Instant.now();
+        unreachable.dispatchOnce();
+        EmailOutboxMessage second = outboxRepository.findById(id).orElseThrow();
+        assertThat(second.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(second.getAttempts()).isEqualTo(2);
+        assertThat(Duration.between(before, second.getNextAttemptAt()).getSeconds()).isBetween(59L, 73L);
+
+        makeDue(id);
+        unreachable.dispatchOnce();
+        EmailOutboxMessage third = outboxRepository.findById(id).orElseThrow();
+        assertThat(third.getStatus()).isEqualTo(EmailOutboxMessage.Status.DEAD);
+        assertThat(third.getAttempts()).isEqualTo(3);
+        makeDue(id);
+        assertThat(unreachable.dispatchOnce()).isZero();
+
+        EmailOutboxDispatcher reachable = dispatcher(smtpSender(), 3);
+        assertThat(reachable.requeueDead()).isEqualTo(1);
+        assertThat(reachable.dispatchOnce()).isEqualTo(1);
+        assertThat(outboxRepository.findById(id).orElseThrow().getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(smtp.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    void concurrentDispatchersNeverSendTheSameRowTwice() throws Exception {
+        int total = 40;
+        for (int i = 0; i < total; i++) {
+            outboxRepository.save(new EmailOutboxMessage("user" + i + "@example.com", "Hello", "Body " + i));
+        }
+        JavaMailSender sender = smtpSender();
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            EmailOutboxDispatcher dispatcher = dispatcher(sender, 3);
+            ReflectionTestUtils.setField(dispatcher, "batchSize", 5);
+            workers.add(() -> {
+                int claimed = 0;
+                int batch;
+                while ((batch = dispatcher.dispatchOnce()) > 0) {
+                    claimed += batch;
+                }
+                return claimed;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers.size());
+        int claimed = 0;
+        try {
+            for (Future<Integer> result : pool.invokeAll(workers)) {
+                claimed += result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // A worker may stop early on a batch skipped because another held its locks
+        claimed += dispatcher(sender, 3).dispatchOnce();
+
+        assertThat(claimed).isEqualTo(total);
+        assertThat(outboxRepository.countByStatus(EmailOutboxMessage.Status.SENT)).isEqualTo(total);
+        List<String> recipients = new ArrayList<>();
+        for (MimeMessage message : smtp.getReceivedMessages()) {
+            recipients.add(message.getAllRecipients()[0].toString());
+        }
+        assertThat(recipients).hasSize(total).doesNotHaveDuplicates();
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSender sender, int maxAttempts) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("mailSender", sender));
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxRepository,
+                new TransactionTemplate(transactionManager), beans.getBeanProvider(JavaMailSender.class),
+                new SimpleMeterRegistry(), 2);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@readsphere.com");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(dispatcher, "backoffBaseSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private void makeDue(Long id) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = ? WHERE id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), id);
+    }
+
+    private static JavaMailSender smtpSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static JavaMailSender unreachableSender() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return sender;
+    }
+}
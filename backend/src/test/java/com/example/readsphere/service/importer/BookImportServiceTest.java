@@ -0,0 +1,133 @@
+package com.example.readsphere.service.importer;
+
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.UserRepository;
+import com.example.readsphere.service.recommendation.RecommendationCache;
+import com.example.readsphere.service.stats.PlatformStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the import commits each batch itself on a worker thread.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PlatformStatsService.class)
+class BookImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PlatformStatsService platformStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BookImportService importService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BookImportService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new RecommendationCache(100, 60), platformStatsService, 1, 4, 60);
+        ReflectionTestUtils.setField(importService, "batchSize", 100);
+        user = userRepository.save(new User("Reader", "reader@example.com", "x"));
+        // Stands in for any constraint the database enforces beyond the row validation
+        jdbcTemplate.execute("ALTER TABLE books ADD CONSTRAINT chk_books_import_test CHECK (title <> 'poison')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        jdbcTemplate.execute("ALTER TABLE books DROP CONSTRAINT chk_books_import_test");
+        jdbcTemplate.update("DELETE FROM books WHERE user_id = ?", user.getId());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void importsQuotedCrlfFileWithBomAndRejectsOnlyTheBadRows() throws Exception {
+        String csv = "\uFEFFtitle,author,genre,totalPages,status,pagesRead,rating\r\n"
+                + "\"Dune, Deluxe\",Frank Herbert,Science Fiction,600,READING,10,5\r\n"
+                + "\"The \"\"Hobbit\"\"\",Tolkien,Fantasy,300,READ\r\n"
+                + "Letters,\"Author\r\nSecond line\",Drama,100,READ\r\n"
+                + "Bad,Author,Drama,lots,READ\r\n"
+                + "poison,Author,Drama,10,READ\r\n"
+                + "Last,Author,Drama,10,READ";
+
+        BookImportJob job = runImport(csv);
+
+        assertThat(job.getStatus()).isEqualTo(BookImportJob.Status.COMPLETED);
+        assertThat(job.getImported()).isEqualTo(4);
+        assertThat(job.getFailed()).isEqualTo(2);
+        assertThat(job.getProcessed()).isEqualTo(6);
+        assertThat(job.getErrors()).extracting(BookImportJob.RowError::getLine).containsExactly(6L, 7L);
+        assertThat(job.getErrors().get(0).getError()).contains("totalPages is not a whole number");
+        assertThat(job.getErrors().get(1).getError()).startsWith("Database rejected row");
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT title FROM books WHERE user_id = ? ORDER BY id", String.class, user.getId()))
+                .containsExactly("Dune, Deluxe", "The \"Hobbit\"", "Letters", "Last");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT author FROM books WHERE user_id = ? AND title = 'Letters'", String.class, user.getId()))
+                .isEqualTo("Author\r\nSecond line");
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT pages_read, rating FROM books WHERE user_id = ? AND title = 'Dune, Deluxe'", user.getId()))
+                .containsEntry("pages_read", 10).containsEntry("rating", 5);
+    }
+
+    @Test
+    void fileWithoutHeaderImportsTheFirstRow() throws Exception {
+        BookImportJob job = runImport("Emma,Austen,Classic,400,READ\nPersuasion,Austen,Classic,250,READING\n");
+
+        assertThat(job.getImported()).isEqualTo(2);
+        assertThat(job.getFailed()).isZero();
+    }
+
+    @Test
+    void unterminatedQuoteFailsTheJobAfterKeepingEarlierBatches() throws Exception {
+        ReflectionTestUtils.setField(importService, "batchSize", 1);
+
+        BookImportJob job = runImport("Emma,Austen,Classic,400,READ\n\"Broken,Austen,Classic,1,READ\n");
+
+        assertThat(job.getStatus()).isEqualTo(BookImportJob.Status.FAILED);
+        assertThat(job.getMessage()).contains("line 2");
+        assertThat(job.getImported()).isEqualTo(1);
+    }
+
+    private BookImportJob runImport(String csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "books.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        BookImportJob job = importService.submit(user.getId(), file);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(importService.find(user.getId(), job.getId())).isSameAs(job);
+        assertThat(List.of(BookImportJob.Status.COMPLETED, BookImportJob.Status.FAILED)).contains(job.getStatus());
+        return job;
+    }
+}
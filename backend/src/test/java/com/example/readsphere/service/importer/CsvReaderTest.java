@@ -0,0 +1,77 @@
+package com.example.readsphere.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() throws IOException {
+        List<List<String>> records = readAll(
+                "\"Dune, Part One\",\"Frank \"\"F.\"\" Herbert\",\"Line one\nLine two\r\nLine three\"\n");
+
+        assertThat(records).containsExactly(
+                List.of("Dune, Part One", "Frank \"F.\" Herbert", "Line one\nLine two\r\nLine three"));
+    }
+
+    @Test
+    void recordsMayEndInCrlfLfOrCr() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\ne,f\rg,h")).containsExactly(
+                List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h"));
+    }
+
+    @Test
+    void emptyAndTrailingFieldsAreKept() throws IOException {
+        assertThat(readAll("a,,\"\",\r\n")).containsExactly(List.of("a", "", "", ""));
+    }
+
+    @Test
+    void quotesInsideAnUnquotedFieldAreLiteral() throws IOException {
+        assertThat(readAll("5\" tall,x\n")).containsExactly(List.of("5\" tall", "x"));
+    }
+
+    @Test
+    void byteOrderMarkIsPassedThroughForTheCallerToStrip() throws IOException {
+        List<List<String>> records = readAll("\uFEFFtitle,author\r\n");
+
+        assertThat(records.get(0).get(0)).isEqualTo("\uFEFFtitle");
+    }
+
+    @Test
+    void recordStartLineCountsLineBreaksInsideQuotedFields() throws IOException {
+        try (CsvReader csv = new CsvReader(new StringReader("h\r\n\"two\r\nlines\",x\r\nlast\r\n"))) {
+            csv.readRecord();
+            assertThat(csv.getRecordStartLine()).isEqualTo(1);
+            csv.readRecord();
+            assertThat(csv.getRecordStartLine()).isEqualTo(2);
+            assertThat(csv.readRecord()).containsExactly("last");
+            assertThat(csv.getRecordStartLine()).isEqualTo(4);
+            assertThat(csv.readRecord()).isNull();
+        }
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedWithItsLine() {
+        assertThatThrownBy(() -> readAll("ok\n\"never closed,\nstill open"))
+                .isInstanceOf(CsvReader.CsvFormatException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(new StringReader(input))) {
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
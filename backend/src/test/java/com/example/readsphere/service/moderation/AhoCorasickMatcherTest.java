@@ -0,0 +1,74 @@
+package com.example.readsphere.service.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void failureLinkContinuesIntoAnotherTermAfterAMatch() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("red fox", "fox den"));
+
+        // After "red fox" the automaton has no ' ' edge and must fall back to "fox"
+        assertThat(matcher.findAll("the red fox den")).containsExactly("red fox", "fox den");
+    }
+
+    @Test
+    void failureLinkRecoversFromAPartialMatch() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("spoiler alert", "alert"));
+
+        assertThat(matcher.findAll("spoiler: alert")).containsExactly("alert");
+        assertThat(matcher.findAll("spoiler spoiler alert")).containsExactly("spoiler alert", "alert");
+    }
+
+    @Test
+    void dictionaryLinksReportTermsEndingInsideALongerOne() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("new york city", "york city", "city"));
+
+        // "city" and "york city" are only reachable from the longest state through dictionary links
+        assertThat(matcher.findAll("I love New York City!")).containsExactly("new york city", "york city", "city");
+    }
+
+    @Test
+    void overlappingTermsAreAllReportedOnceInOrderOfFirstOccurrence() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("new york", "york city", "new york city"));
+
+        assertThat(matcher.findAll("New York City, then new york again"))
+                .containsExactly("new york", "new york city", "york city");
+    }
+
+    @Test
+    void termsOnlyMatchWholeWords() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("ass", "abc"));
+
+        assertThat(matcher.findAll("a class to assess")).isEmpty();
+        assertThat(matcher.findAll("abc1 or 1abc")).isEmpty();
+        assertThat(matcher.findAll("ass")).containsExactly("ass");
+        assertThat(matcher.findAll("(abc), ass.")).containsExactly("abc", "ass");
+    }
+
+    @Test
+    void wholeWordCheckAppliesToEachOccurrence() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of("cat"));
+
+        assertThat(matcher.findAll("concatenate the cat")).containsExactly("cat");
+    }
+
+    @Test
+    void termsAreNormalizedAndDeduplicated() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.of(List.of(" Foo ", "foo", "FOO", "  "));
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.findAll("FOO and foo")).containsExactly("foo");
+    }
+
+    @Test
+    void emptyMatcherAndNullTextFindNothing() {
+        assertThat(AhoCorasickMatcher.of(List.of()).findAll("anything")).isEmpty();
+        assertThat(AhoCorasickMatcher.of(List.of()).size()).isZero();
+        assertThat(AhoCorasickMatcher.of(List.of("word")).findAll(null)).isEmpty();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.readsphere.service.moderation;
+
+import com.example.readsphere.model.Note;
+import com.example.readsphere.model.Quote;
+import com.example.readsphere.repository.ModerationTermRepository;
+import com.example.readsphere.repository.NoteRepository;
+import com.example.readsphere.repository.QuoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the after-commit scans only fire when a real transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ModerationScannerTest {
+
+    @Autowired
+    private ModerationTermRepository termRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ModerationScanner scanner;
+
+    @BeforeEach
+    void setUp() {
+        scanner = new ModerationScanner(termRepository, jdbcTemplate, 2, 100);
+        ReflectionTestUtils.setField(scanner, "batchSize", 2);
+        scanner.addTerms(List.of("Spoiler", "dark lord"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+        noteRepository.deleteAll();
+        quoteRepository.deleteAll();
+        termRepository.deleteAll();
+    }
+
+    @Test
+    void liveScanRunsOnlyAfterTheWriteCommits() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Long committed = tx.execute(status -> {
+            Note note = noteRepository.save(new Note("Big spoiler ahead"));
+            scanner.scanNoteAsync(note.getId(), note.getText());
+            // Nothing is handed to the workers while the row is still uncommitted
+            assertThat(workers().getTaskCount()).isZero();
+            return note.getId();
+        });
+        awaitIdle();
+
+        assertThat(noteRepository.findById(committed).orElseThrow().isFlagged()).isTrue();
+        assertThat(noteRepository.findById(committed).orElseThrow().getFlagReason()).isEqualTo("Auto-flagged: spoiler");
+
+        tx.executeWithoutResult(status -> {
+            Note note = noteRepository.save(new Note("another spoiler"));
+            scanner.scanNoteAsync(note.getId(), note.getText());
+            status.setRollbackOnly();
+        });
+        awaitIdle();
+
+        assertThat(workers().getTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    void backfillPagesThroughUnflaggedRowsAndKeepsExistingFlags() throws Exception {
+        Note clean = noteRepository.save(new Note("A quiet read"));
+        Note hit = noteRepository.save(new Note("The Dark Lord returns"));
+        Note inWord = noteRepository.save(new Note("spoilers are fine, spoilerific too"));
+        Note moderated = noteRepository.save(new Note("spoiler, already reviewed"));
+        jdbcTemplate.update("UPDATE notes SET flagged = ?, flag_reason = ? WHERE id = ?", true, "Manual", moderated.getId());
+        Quote quote = quoteRepository.save(new Quote("No spoiler here? Spoiler.", 12));
+        Quote other = quoteRepository.save(new Quote("Nothing to see", 3));
+
+        scanner.backfill();
+
+        assertThat(flagged("notes", clean.getId())).isFalse();
+        assertThat(flagged("notes", hit.getId())).isTrue();
+        assertThat(flagged("notes", inWord.getId())).isFalse();
+        assertThat(reason("notes", moderated.getId())).isEqualTo("Manual");
+        assertThat(reason("quotes", quote.getId())).isEqualTo("Auto-flagged: spoiler");
+        assertThat(flagged("quotes", other.getId())).isFalse();
+
+        Map<String, Object> run = scanner.getLastRun();
+        assertThat(run).containsEntry("status", "COMPLETED")
+                .containsEntry("notesScanned", 3L).containsEntry("notesFlagged", 1L)
+                .containsEntry("quotesScanned", 2L).containsEntry("quotesFlagged", 1L);
+    }
+
+    @Test
+    void removingATermStopsMatchingIt() {
+        Long id = termRepository.findAllByOrderByTermAsc().stream()
+                .filter(t -> t.getTerm().equals("spoiler")).findFirst().orElseThrow().getId();
+
+        assertThat(scanner.removeTerm(id)).isTrue();
+        assertThat(scanner.termCount()).isEqualTo(1);
+        Note note = noteRepository.save(new Note("spoiler"));
+        scanner.backfill();
+
+        assertThat(flagged("notes", note.getId())).isFalse();
+    }
+
+    private boolean flagged(String table, Long id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT flagged FROM " + table + " WHERE id = ?", Boolean.class, id));
+    }
+
+    private String reason(String table, Long id) {
+        return jdbcTemplate.queryForObject("SELECT flag_reason FROM " + table + " WHERE id = ?", String.class, id);
+    }
+
+    private ThreadPoolExecutor workers() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(scanner, "workers");
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        ThreadPoolExecutor workers = workers();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (workers.getCompletedTaskCount() < workers.getTaskCount() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.dto.ReadingLogIngestResult;
+import com.example.readsphere.dto.ReadingLogIngestResult.Status;
+import com.example.readsphere.dto.ReadingLogRequest;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.ReadingStreak;
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.ReadingStreakRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadingLogBatchService.class, ReadingRollupService.class, ReadingStreakService.class, DatabaseDialect.class})
+class ReadingLogBatchServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private ReadingLogBatchService batchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadingStreakRepository streakRepository;
+
+    private User user;
+    private Book book;
+    private Book otherUsersBook;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        User other = entityManager.persist(new User("Other", "other@example.com", "x"));
+        book = new Book("Dune", "Frank Herbert", "Science Fiction", 600, 0, "READING");
+        book.setUser(user);
+        entityManager.persist(book);
+        otherUsersBook = new Book("Emma", "Jane Austen", "Classics", 400, 0, "READING");
+        otherUsersBook.setUser(other);
+        entityManager.persist(otherUsersBook);
+        entityManager.flush();
+    }
+
+    @Test
+    void replayedKeyReturnsTheOriginalLog() {
+        List<ReadingLogIngestResult> first = batchService.ingest(user.getId(), List.of(entry("session-1", book, 12, DAY)));
+        List<ReadingLogIngestResult> replay = batchService.ingest(user.getId(), List.of(entry("session-1", book, 12, DAY)));
+
+        assertThat(first.get(0).getStatus()).isEqualTo(Status.CREATED);
+        assertThat(first.get(0).getLogId()).isNotNull();
+        assertThat(replay.get(0).getStatus()).isEqualTo(Status.DUPLICATE);
+        assertThat(replay.get(0).getLogId()).isEqualTo(first.get(0).getLogId());
+        assertThat(logCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysMatchCaseInsensitively() {
+        List<ReadingLogIngestResult> first = batchService.ingest(user.getId(), List.of(
+                entry("Session-A", book, 5, DAY),
+                entry("SESSION-a", book, 5, DAY)));
+        List<ReadingLogIngestResult> replay = batchService.ingest(user.getId(), List.of(entry("session-A", book, 5, DAY)));
+
+        assertThat(first).extracting(ReadingLogIngestResult::getStatus).containsExactly(Status.CREATED, Status.DUPLICATE);
+        assertThat(first.get(1).getLogId()).isEqualTo(first.get(0).getLogId());
+        assertThat(first.get(1).getIdempotencyKey()).isEqualTo("SESSION-a");
+        assertThat(replay.get(0).getStatus()).isEqualTo(Status.DUPLICATE);
+        assertThat(replay.get(0).getLogId()).isEqualTo(first.get(0).getLogId());
+        assertThat(logCount()).isEqualTo(1);
+    }
+
+    @Test
+    void mixedBatchReportsEachEntry() {
+        Long existingId = batchService.ingest(user.getId(), List.of(entry("old", book, 10, DAY))).get(0).getLogId();
+
+        List<ReadingLogIngestResult> results = batchService.ingest(user.getId(), List.of(
+                entry("old", book, 10, DAY),
+                entry("new", book, 20, DAY.plusDays(1)),
+                entry("new", book, 20, DAY.plusDays(1)),
+                entry("foreign", otherUsersBook, 30, DAY),
+                entry(null, book, 40, DAY),
+                entry("no-pages", book, 0, DAY)));
+
+        assertThat(results).extracting(ReadingLogIngestResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(ReadingLogIngestResult::getStatus).containsExactly(
+                Status.DUPLICATE, Status.CREATED, Status.DUPLICATE, Status.REJECTED, Status.REJECTED, Status.REJECTED);
+        assertThat(results.get(0).getLogId()).isEqualTo(existingId);
+        assertThat(results.get(2).getLogId()).isEqualTo(results.get(1).getLogId());
+        assertThat(results.get(3).getError()).isEqualTo("Book not found");
+        assertThat(results.get(4).getError()).isEqualTo("idempotencyKey is required");
+        assertThat(results.get(5).getError()).isEqualTo("pages must be at least 1");
+        assertThat(logCount()).isEqualTo(2);
+    }
+
+    @Test
+    void replayDoesNotChangeRollupsOrStreak() {
+        List<ReadingLogRequest> upload = List.of(
+                entry("a", book, 10, DAY),
+                entry("b", book, 15, DAY),
+                entry("c", book, 20, DAY.plusDays(1)));
+
+        batchService.ingest(user.getId(), upload);
+        assertRollupsAndStreak();
+
+        batchService.ingest(user.getId(), upload);
+        assertRollupsAndStreak();
+        assertThat(logCount()).isEqualTo(3);
+    }
+
+    private void assertRollupsAndStreak() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pages FROM user_daily_reading WHERE user_id = ? AND log_date = ?", Long.class, user.getId(), DAY))
+                .isEqualTo(25L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pages FROM user_daily_reading WHERE user_id = ? AND log_date = ?", Long.class, user.getId(), DAY.plusDays(1)))
+                .isEqualTo(20L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(pages) FROM genre_daily_reading WHERE genre = ?", Long.class, "Science Fiction"))
+                .isEqualTo(45L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(pages) FROM book_daily_reading WHERE book_id = ?", Long.class, book.getId()))
+                .isEqualTo(45L);
+        ReadingStreak streak = streakRepository.findById(user.getId()).orElseThrow();
+        assertThat(streak.getCurrentRun()).isEqualTo(2);
+        assertThat(streak.getLongestStreak()).isEqualTo(2);
+        assertThat(streak.getLastActiveDate()).isEqualTo(DAY.plusDays(1));
+    }
+
+    private int logCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reading_logs WHERE user_id = ?", Integer.class, user.getId());
+    }
+
+    private static ReadingLogRequest entry(String key, Book book, int pages, LocalDate date) {
+        ReadingLogRequest request = new ReadingLogRequest();
+        request.setIdempotencyKey(key);
+        request.setBookId(book.getId());
+        request.setPages(pages);
+        request.setDate(date);
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.User;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadingLogService.class, ReadingRollupService.class, ReadingStreakService.class, DatabaseDialect.class})
+class ReadingRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private ReadingLogService readingLogService;
+
+    @Autowired
+    private ReadingRollupService readingRollupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void removingLogsOfARegenredBookClearsTheGenreTheyWereCountedUnder() {
+        User user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        Book edited = book(user, "The Hobbit", "Fantasy");
+        Book kept = book(user, "Earthsea", "Fantasy");
+        Book other = book(user, "Carrie", "Horror");
+        readingLogService.addLog(user, edited, 30, DAY);
+        readingLogService.addLog(user, kept, 10, DAY);
+        readingLogService.addLog(user, other, 5, DAY);
+
+        edited.setGenre("Horror");
+        entityManager.flush();
+        readingLogService.deleteLogsForBook(edited);
+
+        assertThat(genrePages()).containsOnly(Map.entry("Fantasy", 10L), Map.entry("Horror", 5L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pages FROM user_daily_reading WHERE user_id = ? AND log_date = ?", Long.class, user.getId(), DAY))
+                .isEqualTo(15L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book_daily_reading WHERE book_id = ?", Integer.class, edited.getId()))
+                .isZero();
+    }
+
+    @Test
+    void changingABooksGenreMovesItsPagesToTheNewGenre() {
+        User user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        Book edited = book(user, "The Hobbit", "Fantasy");
+        Book kept = book(user, "Earthsea", "Fantasy");
+        readingLogService.addLog(user, edited, 30, DAY);
+        readingLogService.addLog(user, edited, 7, DAY.plusDays(1));
+        readingLogService.addLog(user, kept, 10, DAY);
+
+        edited.setGenre("Horror");
+        entityManager.flush();
+        readingRollupService.bookGenreChanged(edited);
+
+        assertThat(genrePages()).containsOnly(Map.entry("Fantasy", 10L), Map.entry("Horror", 30L));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT genre FROM genre_daily_reading WHERE log_date = ?", String.class, DAY.plusDays(1)))
+                .isEqualTo("Horror");
+    }
+
+    private Book book(User user, String title, String genre) {
+        Book book = new Book(title, "Author", genre, 300, 0, "READING");
+        book.setUser(user);
+        return entityManager.persistAndFlush(book);
+    }
+
+    private Map<String, Long> genrePages() {
+        return jdbcTemplate.query("SELECT genre, pages FROM genre_daily_reading WHERE log_date = ?", rs -> {
+            Map<String, Long> pages = new HashMap<>();
+            while (rs.next()) {
+                pages.put(rs.getString("genre"), rs.getLong("pages"));
+            }
+            return pages;
+        }, DAY);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.readsphere.service.reading;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.ReadingStreak;
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.ReadingStreakRepository;
+import com.example.readsphere.service.db.DatabaseDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReadingLogService.class, ReadingRollupService.class, ReadingStreakService.class, DatabaseDialect.class})
+class ReadingStreakServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private ReadingLogService readingLogService;
+
+    @Autowired
+    private ReadingStreakService streakService;
+
+    @Autowired
+    private ReadingStreakRepository streakRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        book = new Book("Dune", "Frank Herbert", "Science Fiction", 600, 0, "READING");
+        book.setUser(user);
+        entityManager.persistAndFlush(book);
+    }
+
+    @Test
+    void firstLogCreatesTheRow() {
+        log(DAY);
+
+        assertStreak(1, 1, DAY);
+    }
+
+    @Test
+    void sameDayKeepsTheRun() {
+        log(DAY);
+        log(DAY);
+
+        assertStreak(1, 1, DAY);
+    }
+
+    @Test
+    void nextDayExtendsTheRun() {
+        log(DAY);
+        log(DAY.plusDays(1));
+
+        assertStreak(2, 2, DAY.plusDays(1));
+    }
+
+    @Test
+    void gapRestartsTheRunAndKeepsTheLongest() {
+        log(DAY);
+        log(DAY.plusDays(1));
+        log(DAY.plusDays(3));
+
+        assertStreak(1, 2, DAY.plusDays(3));
+    }
+
+    @Test
+    void backdatedLogBridgingTwoRunsJoinsThem() {
+        log(DAY);
+        log(DAY.plusDays(2));
+        log(DAY.plusDays(1));
+
+        assertStreak(3, 3, DAY.plusDays(2));
+    }
+
+    @Test
+    void recomputeWithoutHistoryCreatesAnEmptyRow() {
+        ReadingStreak streak = streakService.recompute(user.getId());
+
+        assertThat(streak.getCurrentRun()).isZero();
+        assertThat(streak.getLongestStreak()).isZero();
+        assertThat(streak.getLastActiveDate()).isNull();
+        assertThat(streakRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void currentStreakLapsesAfterAMissedDay() {
+        ReadingStreak streak = new ReadingStreak(user.getId());
+        streak.setCurrentRun(4);
+        streak.setLastActiveDate(DAY);
+
+        assertThat(ReadingStreakService.currentStreak(streak, DAY)).isEqualTo(4);
+        assertThat(ReadingStreakService.currentStreak(streak, DAY.plusDays(1))).isEqualTo(4);
+        assertThat(ReadingStreakService.currentStreak(streak, DAY.plusDays(2))).isZero();
+    }
+
+    private void log(LocalDate date) {
+        readingLogService.addLog(user, book, 10, date);
+    }
+
+    private void assertStreak(int currentRun, int longest, LocalDate lastActive) {
+        ReadingStreak streak = streakRepository.findById(user.getId()).orElseThrow();
+        assertThat(streak.getCurrentRun()).isEqualTo(currentRun);
+        assertThat(streak.getLongestStreak()).isEqualTo(longest);
+        assertThat(streak.getLastActiveDate()).isEqualTo(lastActive);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.readsphere.service.recommendation;
+
+import com.example.readsphere.service.recommendation.ItemSimilarityIndex.Neighbour;
+import com.example.readsphere.service.recommendation.ItemSimilarityJob.CoOccurrence;
+import com.example.readsphere.service.recommendation.ItemSimilarityJob.Interaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ItemSimilarityJobTest {
+
+    @Test
+    void duplicateShelfEntriesCountOnce() {
+        CoOccurrence coOccurrence = new CoOccurrence();
+        coOccurrence.add(List.of(new Interaction(1, 0.8), new Interaction(2, 0.8), new Interaction(1, 0.8)));
+        coOccurrence.add(List.of(new Interaction(1, 0.6), new Interaction(2, 0.6)));
+
+        assertThat(coOccurrence.squaredNorm.get(1L)).isCloseTo(0.64 + 0.36, within(1e-9));
+        assertThat(coOccurrence.dot.get(1L).get(2L)).isCloseTo(0.64 + 0.36, within(1e-9));
+        // Both books were shelved by the same users with the same weights
+        assertThat(coOccurrence.topNeighbours(1L, 5)).singleElement()
+                .satisfies(n -> assertThat(n.getScore()).isCloseTo(1.0, within(1e-9)));
+    }
+
+    @Test
+    void duplicateKeepsTheStrongestWeight() {
+        CoOccurrence coOccurrence = new CoOccurrence();
+        coOccurrence.add(List.of(new Interaction(1, 0.3), new Interaction(1, 1.0), new Interaction(2, 0.5)));
+
+        assertThat(coOccurrence.squaredNorm.get(1L)).isCloseTo(1.0, within(1e-9));
+        assertThat(coOccurrence.dot.get(2L).get(1L)).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void pruneKeepsTheStrongestPartners() {
+        CoOccurrence coOccurrence = new CoOccurrence();
+        coOccurrence.add(List.of(new Interaction(1, 1.0), new Interaction(2, 0.9), new Interaction(3, 0.5),
+                new Interaction(4, 0.3)));
+        coOccurrence.add(List.of(new Interaction(1, 1.0), new Interaction(3, 0.5)));
+
+        coOccurrence.dot.values().forEach(row -> coOccurrence.prune(row, 2));
+
+        // Book 1 saw 2 (0.9), 3 (0.5 + 0.5) and 4 (0.3)
+        assertThat(coOccurrence.dot.get(1L)).containsOnlyKeys(2L, 3L);
+        assertThat(coOccurrence.dot.values()).allSatisfy(row -> assertThat(row).hasSizeLessThanOrEqualTo(2));
+        assertThat(coOccurrence.pruned.get()).isEqualTo(4);
+        assertThat(coOccurrence.topNeighbours(1L, 1)).extracting(Neighbour::getBookId).containsExactly(3L);
+    }
+}
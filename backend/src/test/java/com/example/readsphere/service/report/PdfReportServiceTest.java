@@ -0,0 +1,53 @@
+package com.example.readsphere.service.report;
+
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.User;
+import com.example.readsphere.service.PdfService;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.stat.SessionStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PdfReportService.class, PdfService.class})
+class PdfReportServiceTest {
+
+    @Autowired
+    private PdfReportService reportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void streamedReportLeavesNoBooksInThePersistenceContext() throws Exception {
+        User user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        for (int i = 0; i < 20; i++) {
+            Book book = new Book("Book " + i, "Author", "Fiction", 100, 100, "READ");
+            book.setRating(i % 5 + 1);
+            book.setUser(user);
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.writeReport(user.getId(), PdfReportType.TOP5, out);
+
+        assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        SessionStatistics session = entityManager.getEntityManager().unwrap(Session.class).getStatistics();
+        assertThat(session.getEntityKeys()).noneMatch(key -> ((EntityKey) key).getEntityName().equals(Book.class.getName()));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.readsphere.service.search;
+
+import com.example.readsphere.dto.ContentSearchHit;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.Note;
+import com.example.readsphere.model.Quote;
+import com.example.readsphere.model.Tag;
+import com.example.readsphere.model.User;
+import com.example.readsphere.service.db.DatabaseDialect;
+import com.example.readsphere.service.db.OffsetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The H2 test database is neither MySQL nor PostgreSQL, so searches here run the
+ * LIKE fallback.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContentSearchService.class, DatabaseDialect.class})
+class ContentSearchServiceTest {
+
+    @Autowired
+    private ContentSearchService searchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Book dune;
+    private Book emma;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        dune = book(user, "Dune");
+        emma = book(user, "Emma");
+    }
+
+    @Test
+    void termsAreLowerCasedDistinctWords() {
+        assertThat(ContentSearchService.terms("Spice, SPICE & the  Worm's-path!"))
+                .containsExactly("spice", "the", "worm", "s", "path");
+        assertThat(ContentSearchService.terms("  ?!  ")).isEmpty();
+        // LIKE wildcards never reach the pattern
+        assertThat(ContentSearchService.terms("100%_off!")).containsExactly("100", "off");
+    }
+
+    @Test
+    void snippetMarksWholeWordsStartingWithATerm() {
+        String snippet = ContentSearchService.snippet("The spice must flow; spices, not aspic.", List.of("spice"));
+
+        assertThat(ContentSearchService.toHtml(snippet))
+                .isEqualTo("The <mark>spice</mark> must flow; <mark>spices</mark>, not aspic.");
+    }
+
+    @Test
+    void snippetWindowsLongTextAroundTheFirstMatch() {
+        String text = "filler ".repeat(60) + "the spice must flow " + "filler ".repeat(60);
+
+        String snippet = ContentSearchService.toHtml(ContentSearchService.snippet(text, List.of("spice")));
+
+        assertThat(snippet).startsWith("… ").endsWith(" …").contains("<mark>spice</mark> must flow");
+        assertThat(snippet.length()).isLessThan(text.length());
+        assertThat(ContentSearchService.snippet(null, List.of("spice"))).isEmpty();
+    }
+
+    @Test
+    void toHtmlEscapesTheTextButKeepsHighlights() {
+        String marked = ContentSearchService.snippet("<script>alert(\"x\")</script> & 'spice'", List.of("spice"));
+
+        assertThat(ContentSearchService.toHtml(marked)).isEqualTo(
+                "&lt;script&gt;alert(&quot;x&quot;)&lt;/script&gt; &amp; &#39;<mark>spice</mark>&#39;");
+        assertThat(ContentSearchService.toHtml(null)).isEmpty();
+    }
+
+    @Test
+    void likeFallbackRequiresEveryTermAndSkipsOtherUsersNotes() {
+        User other = entityManager.persist(new User("Other", "other@example.com", "x"));
+        Book othersBook = book(other, "Dune");
+        note(othersBook, "The spice must flow");
+        Note match = note(dune, "The spice must flow");
+        note(dune, "Spice is mentioned alone");
+
+        List<ContentSearchHit> hits = searchService.searchNotes(user.getId(), "SPICE flow", null, null, null, 10).getItems();
+
+        assertThat(hits).extracting(ContentSearchHit::getId).containsExactly(match.getId());
+        assertThat(hits.get(0).getBookTitle()).isEqualTo("Dune");
+        assertThat(hits.get(0).getSnippet()).isEqualTo("The <mark>spice</mark> must <mark>flow</mark>");
+    }
+
+    @Test
+    void bookAndTagFiltersNarrowTheResults() {
+        Tag favourite = entityManager.persist(new Tag("favourite"));
+        Note tagged = note(dune, "A quiet passage about sand", favourite);
+        Note untagged = note(dune, "Another passage about sand");
+        Note otherBook = note(emma, "A passage about sand and society", favourite);
+
+        assertThat(searchService.searchNotes(user.getId(), "passage", dune.getId(), null, null, 10).getItems())
+                .extracting(ContentSearchHit::getId).containsExactly(untagged.getId(), tagged.getId());
+        List<ContentSearchHit> byTag = searchService.searchNotes(user.getId(), "passage", null, "favourite", null, 10).getItems();
+        assertThat(byTag).extracting(ContentSearchHit::getId).containsExactly(otherBook.getId(), tagged.getId());
+        assertThat(byTag.get(0).getTags()).containsExactly("favourite");
+        assertThat(searchService.searchNotes(user.getId(), "passage", emma.getId(), "favourite", null, 10).getItems())
+                .extracting(ContentSearchHit::getId).containsExactly(otherBook.getId());
+    }
+
+    @Test
+    void quotesArePagedWithCursors() {
+        for (int i = 1; i <= 3; i++) {
+            Quote quote = new Quote("Fear is the mind-killer " + i, i * 10);
+            quote.setBook(dune);
+            entityManager.persist(quote);
+        }
+        entityManager.flush();
+
+        OffsetCursor.Page<ContentSearchHit> first = searchService.searchQuotes(user.getId(), "fear", null, null, 2);
+        OffsetCursor.Page<ContentSearchHit> second = searchService.searchQuotes(user.getId(), "fear", null, first.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(ContentSearchHit::getPageNumber).containsExactly(30, 20);
+        assertThat(second.getItems()).extracting(ContentSearchHit::getPageNumber).containsExactly(10);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void blankOrOverlongQueriesAreRejected() {
+        assertThatThrownBy(() -> searchService.searchNotes(user.getId(), "  ", null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchService.searchNotes(user.getId(), "x".repeat(ContentSearchService.MAX_QUERY_LENGTH + 1), null, null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Book book(User owner, String title) {
+        Book book = new Book(title, "Author", "Fiction", 300, 0, "READING");
+        book.setUser(owner);
+        return entityManager.persist(book);
+    }
+
+    private Note note(Book book, String text, Tag... tags) {
+        Note note = new Note(text);
+        note.setBook(book);
+        note.getTags().addAll(List.of(tags));
+        return entityManager.persistAndFlush(note);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.readsphere.service.search;
+
+import com.example.readsphere.dto.LibrarySearchHit;
+import com.example.readsphere.model.Book;
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.model.UserBook;
+import com.example.readsphere.service.db.DatabaseDialect;
+import com.example.readsphere.service.db.OffsetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LibrarySearchService.class, DatabaseDialect.class})
+class LibrarySearchServiceTest {
+
+    @Autowired
+    private LibrarySearchService searchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+    }
+
+    @Test
+    void titlePrefixRanksBeforeTitleBeforeAuthorBeforeGenre() {
+        book(user, "Mystic River", "Dennis Lehane", "Crime");
+        book(user, "The Mystery Guest", "Nita Prose", "Crime");
+        book(user, "Gone Girl", "Mysterious Author", "Thriller");
+        book(user, "Rebecca", "Daphne du Maurier", "Mystery");
+        book(user, "Dune", "Frank Herbert", "Sci-Fi");
+        shelve(user, "Mysterious Island", "Jules Verne", "Adventure");
+
+        List<LibrarySearchHit> hits = search("MYST");
+
+        assertThat(hits).extracting(LibrarySearchHit::getTitle).containsExactly(
+                "Mysterious Island", "Mystic River", "The Mystery Guest", "Gone Girl", "Rebecca");
+        assertThat(hits).extracting(LibrarySearchHit::getMatchedOn).containsExactly(
+                "title", "title", "title", "author", "genre");
+        assertThat(hits.get(0).getSource()).isEqualTo("SHELF");
+        assertThat(hits.get(0).getCatalogBookId()).isNotNull();
+        assertThat(hits.get(1).getSource()).isEqualTo("BOOK");
+    }
+
+    @Test
+    void likeWildcardsInTheQueryAreMatchedLiterally() {
+        book(user, "50% Off", "Author", "Business");
+        book(user, "500 Days", "Author", "Business");
+        book(user, "snake_case", "Author", "Tech");
+        book(user, "snakeXcase", "Author", "Tech");
+        book(user, "Wow!", "Author", "Fun");
+
+        assertThat(search("50%")).extracting(LibrarySearchHit::getTitle).containsExactly("50% Off");
+        assertThat(search("snake_")).extracting(LibrarySearchHit::getTitle).containsExactly("snake_case");
+        assertThat(search("wow!")).extracting(LibrarySearchHit::getTitle).containsExactly("Wow!");
+    }
+
+    @Test
+    void otherUsersBooksAreNotSearched() {
+        User other = entityManager.persist(new User("Other", "other@example.com", "x"));
+        book(other, "Dune", "Frank Herbert", "Sci-Fi");
+        shelve(other, "Dune Messiah", "Frank Herbert", "Sci-Fi");
+        book(user, "Dune", "Frank Herbert", "Sci-Fi");
+
+        assertThat(search("dune")).hasSize(1);
+    }
+
+    @Test
+    void cursorsPageThroughEveryHitOnce() {
+        for (int i = 0; i < 7; i++) {
+            book(user, "Saga " + i, "Author", "Fantasy");
+        }
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            OffsetCursor.Page<LibrarySearchHit> page = searchService.search(user.getId(), "saga", cursor, 3);
+            page.getItems().forEach(h -> titles.add(h.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(titles).containsExactly("Saga 0", "Saga 1", "Saga 2", "Saga 3", "Saga 4", "Saga 5", "Saga 6");
+        assertThatThrownBy(() -> searchService.search(user.getId(), "saga", "not a cursor", 3))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void blankQueryMatchesNothing() {
+        book(user, "Dune", "Frank Herbert", "Sci-Fi");
+
+        assertThat(search("  ")).isEmpty();
+    }
+
+    private List<LibrarySearchHit> search(String query) {
+        return searchService.search(user.getId(), query, null, LibrarySearchService.MAX_PAGE_SIZE).getItems();
+    }
+
+    private void book(User owner, String title, String author, String genre) {
+        Book book = new Book(title, author, genre, 300, 0, "WANT_TO_READ");
+        book.setUser(owner);
+        entityManager.persistAndFlush(book);
+    }
+
+    private void shelve(User owner, String title, String author, String genre) {
+        BookCatalog book = entityManager.persist(new BookCatalog(title, author, genre, "", 4.0, 300));
+        entityManager.persistAndFlush(new UserBook(owner, book, "READING"));
+    }
+}
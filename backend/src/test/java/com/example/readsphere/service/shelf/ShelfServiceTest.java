@@ -0,0 +1,122 @@
+package com.example.readsphere.service.shelf;
+
+import com.example.readsphere.dto.ShelfEntry;
+import com.example.readsphere.model.BookCatalog;
+import com.example.readsphere.model.User;
+import com.example.readsphere.model.UserBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ShelfService.class)
+class ShelfServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+    @Autowired
+    private ShelfService shelfService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private final List<UserBook> shelf = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("Reader", "reader@example.com", "x"));
+        User other = entityManager.persist(new User("Other", "other@example.com", "x"));
+        // Two pairs share an added date, so paging has to break ties by id
+        int[] hourOffsets = {2, 0, 1, 1, 3, 0};
+        String[] statuses = {"reading", "READ", "Reading", "WANT_TO_READ", "READ", "reading"};
+        for (int i = 0; i < hourOffsets.length; i++) {
+            shelf.add(shelve(user, "Book " + i, statuses[i], T0.plusHours(hourOffsets[i])));
+        }
+        shelve(other, "Someone else's", "READING", T0);
+        entityManager.flush();
+    }
+
+    @Test
+    void addedOrderRoundTripsThroughCursorsWithTies() {
+        List<Long> expected = shelf.stream()
+                .sorted(Comparator.comparing(UserBook::getAddedDate).thenComparing(UserBook::getId))
+                .map(UserBook::getId).toList();
+
+        assertThat(walk(null, ShelfService.Sort.ADDED, false, 2)).containsExactlyElementsOf(expected);
+
+        List<Long> reversed = new ArrayList<>(expected);
+        Collections.reverse(reversed);
+        assertThat(walk(null, ShelfService.Sort.ADDED, true, 4)).containsExactlyElementsOf(reversed);
+    }
+
+    @Test
+    void titleOrderRoundTripsThroughCursors() {
+        List<Long> expected = shelf.stream()
+                .sorted(Comparator.comparing((UserBook ub) -> ub.getCatalogBook().getTitle()).thenComparing(UserBook::getId))
+                .map(UserBook::getId).toList();
+
+        assertThat(walk(null, ShelfService.Sort.TITLE, false, 1)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void statusesAreStoredUpperCaseAndFilteredInAnyCase() {
+        assertThat(shelf).extracting(UserBook::getStatus).allMatch(s -> s.equals(s.toUpperCase()));
+
+        List<Long> reading = walk("reading", ShelfService.Sort.ADDED, false, 2);
+
+        assertThat(reading).containsExactlyInAnyOrder(shelf.get(0).getId(), shelf.get(2).getId(), shelf.get(5).getId());
+        assertThat(shelfService.countByStatus(user.getId()))
+                .containsEntry("READING", 3L).containsEntry("READ", 2L).containsEntry("WANT_TO_READ", 1L);
+    }
+
+    @Test
+    void tamperedOrForeignCursorsAreRejected() {
+        String titleCursor = shelfService.page(user.getId(), null, ShelfService.Sort.TITLE, false, null, 1).getNextCursor();
+        String badKey = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("ADDED|asc|1|yesterday".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> shelfService.page(user.getId(), null, ShelfService.Sort.ADDED, false, titleCursor, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Cursor belongs to a different sort order");
+        assertThatThrownBy(() -> shelfService.page(user.getId(), null, ShelfService.Sort.ADDED, false, badKey, 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> shelfService.page(user.getId(), null, ShelfService.Sort.ADDED, false, "%%%", 1))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid cursor");
+    }
+
+    private List<Long> walk(String status, ShelfService.Sort sort, boolean descending, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            ShelfService.PageResult page = shelfService.page(user.getId(), status, sort, descending, cursor, size);
+            page.getItems().stream().map(ShelfEntry::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private UserBook shelve(User owner, String title, String status, LocalDateTime added) {
+        BookCatalog book = entityManager.persist(new BookCatalog(title, "Author", "Fiction", "", 4.0, 300));
+        UserBook userBook = new UserBook(owner, book, status);
+        userBook.setAddedDate(added);
+        return entityManager.persist(userBook);
+    }
+}
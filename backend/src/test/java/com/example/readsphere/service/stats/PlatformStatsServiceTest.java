@@ -0,0 +1,92 @@
+package com.example.readsphere.service.stats;
+
+import com.example.readsphere.model.User;
+import com.example.readsphere.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: counters only move once the writing transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PlatformStatsService.class)
+class PlatformStatsServiceTest {
+
+    @Autowired
+    private PlatformStatsService platformStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @AfterEach
+    void tearDown() {
+        if (user != null && userRepository.existsById(user.getId())) {
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    void roleChangesMoveTheUserBetweenAdminAndRegularCounts() {
+        PlatformStatsService.Snapshot before = platformStatsService.get();
+
+        user = userRepository.save(new User("Reader", "stats-reader@example.com", "x"));
+        assertCounts(before, 1, 0, 1);
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setRole(User.Role.ADMIN);
+        userRepository.save(loaded);
+        assertCounts(before, 1, 1, 0);
+
+        loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setName("Renamed");
+        userRepository.save(loaded);
+        assertCounts(before, 1, 1, 0);
+
+        userRepository.delete(userRepository.findById(user.getId()).orElseThrow());
+        assertCounts(before, 0, 0, 0);
+    }
+
+    @Test
+    void reconcileAgreesWithTheIncrementalCounts() throws Exception {
+        platformStatsService.get();
+        user = userRepository.save(new User("Admin", "stats-admin@example.com", "x"));
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setRole(User.Role.ADMIN);
+        userRepository.save(loaded);
+        PlatformStatsService.Snapshot incremental = platformStatsService.get();
+
+        Thread.sleep(5);
+        assertThat(platformStatsService.refreshAsync()).isTrue();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (platformStatsService.get().getReconciledAt() <= incremental.getReconciledAt()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        PlatformStatsService.Snapshot reconciled = platformStatsService.get();
+        for (PlatformCounter counter : PlatformCounter.values()) {
+            assertThat(reconciled.get(counter)).as(counter.getKey()).isEqualTo(incremental.get(counter));
+        }
+    }
+
+    private void assertCounts(PlatformStatsService.Snapshot before, long users, long admins, long regular) {
+        PlatformStatsService.Snapshot now = platformStatsService.get();
+        assertThat(now.get(PlatformCounter.USERS) - before.get(PlatformCounter.USERS)).isEqualTo(users);
+        assertThat(now.get(PlatformCounter.ADMINS) - before.get(PlatformCounter.ADMINS)).isEqualTo(admins);
+        assertThat(now.get(PlatformCounter.REGULAR_USERS) - before.get(PlatformCounter.REGULAR_USERS)).isEqualTo(regular);
+    }
+}
@@ -28,11 +28,11 @@ function AdminDashboard() {
       setLoading(true);
       const [dashboardData, usersData] = await Promise.all([
         getAdminDashboard(),
-        getAllUsers()
+        getAllUsers({ sort: 'id', dir: 'desc', size: 10 })
       ]);
       
       setStats(dashboardData);
-      setUsers(usersData);
+      setUsers(usersData.users);
       setError('');
     } catch (err) {
       setError(err.message || 'Failed to load dashboard data');
@@ -99,7 +99,7 @@ function AdminDashboard() {
 
         {/* Users List */}
         <div className="users-section">
-          <h2>All Users</h2>
+          <h2>Newest Users</h2>
           <div className="table-container">
             <table className="users-table">
               <thead>
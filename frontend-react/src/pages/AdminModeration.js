@@ -6,7 +6,8 @@ import {
   listModerationNotes,
   listModerationQuotes,
   deleteModerationNote,
-  deleteModerationQuote
+  deleteModerationQuote,
+  bulkModerate
 } from '../services/api';
 import '../styles/Auth.css';
 
@@ -18,6 +19,8 @@ function AdminModeration() {
   const [search, setSearch] = useState('');
   const [notes, setNotes] = useState([]);
   const [quotes, setQuotes] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [selected, setSelected] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
 
@@ -30,17 +33,17 @@ function AdminModeration() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [role, activeTab, flaggedOnly, navigate]);
 
-  const fetchData = async () => {
+  const fetchData = async (cursor = null) => {
     try {
       setLoading(true);
       setError('');
-      if (activeTab === 'notes') {
-        const data = await listModerationNotes({ flaggedOnly, search });
-        setNotes(data || []);
-      } else {
-        const data = await listModerationQuotes({ flaggedOnly, search });
-        setQuotes(data || []);
-      }
+      if (!cursor) setNextCursor(null);
+      const list = activeTab === 'notes' ? listModerationNotes : listModerationQuotes;
+      const setItems = activeTab === 'notes' ? setNotes : setQuotes;
+      const data = await list({ flaggedOnly, search, cursor });
+      setItems((prev) => (cursor ? [...prev, ...data.items] : data.items));
+      setNextCursor(data.nextCursor);
+      if (!cursor) setSelected([]);
     } catch (err) {
       setError(err.message || 'Failed to load moderation items');
     } finally {
@@ -68,13 +71,34 @@ function AdminModeration() {
     }
   };
 
+  const toggleSelected = (id) => {
+    setSelected((prev) => (prev.includes(id) ? prev.filter((x) => x !== id) : [...prev, id]));
+  };
+
+  const handleBulk = async (action) => {
+    if (selected.length === 0) return;
+    if (action === 'delete' && !window.confirm(`Delete ${selected.length} ${activeTab}?`)) return;
+    try {
+      await bulkModerate(activeTab, action, selected);
+      const setItems = activeTab === 'notes' ? setNotes : setQuotes;
+      setItems((prev) => (action === 'delete' || flaggedOnly
+        ? prev.filter((item) => !selected.includes(item.id))
+        : prev.map((item) => (selected.includes(item.id) ? { ...item, flagged: false, flagReason: null } : item))));
+      setSelected([]);
+    } catch (err) {
+      setError(err.message || 'Bulk action failed');
+    }
+  };
+
   const renderTable = () => {
     if (activeTab === 'notes') {
       return (
         <table className="users-table">
           <thead>
             <tr>
-              <th>#</th>
+              <th></th>
+              <th></th>
+            <th>#</th>
               <th>Text</th>
               <th>Flagged</th>
               <th>Reason</th>
@@ -84,10 +108,11 @@ function AdminModeration() {
           </thead>
           <tbody>
             {notes.length === 0 ? (
-              <tr><td colSpan="6" className="text-center">No notes</td></tr>
+              <tr><td colSpan="7" className="text-center">No notes</td></tr>
             ) : (
               notes.map((n, idx) => (
                 <tr key={n.id}>
+                  <td><input type="checkbox" checked={selected.includes(n.id)} onChange={() => toggleSelected(n.id)} /></td>
                   <td>{idx + 1}</td>
                   <td className="text-ellipsis" title={n.text}>{n.text}</td>
                   <td>{n.flagged ? 'Yes' : 'No'}</td>
@@ -120,10 +145,11 @@ function AdminModeration() {
         </thead>
         <tbody>
           {quotes.length === 0 ? (
-            <tr><td colSpan="6" className="text-center">No quotes</td></tr>
+            <tr><td colSpan="7" className="text-center">No quotes</td></tr>
           ) : (
             quotes.map((q, idx) => (
               <tr key={q.id}>
+                <td><input type="checkbox" checked={selected.includes(q.id)} onChange={() => toggleSelected(q.id)} /></td>
                 <td>{idx + 1}</td>
                 <td className="text-ellipsis" title={q.text}>{q.text}</td>
                 <td>{q.flagged ? 'Yes' : 'No'}</td>
@@ -176,12 +202,22 @@ function AdminModeration() {
               />
               Flagged only
             </label>
-            <button className="btn-primary" onClick={fetchData} disabled={loading}>Refresh</button>
+            <button className="btn-primary" onClick={() => fetchData()} disabled={loading}>Refresh</button>
+            <button className="btn-secondary" onClick={() => handleBulk('unflag')} disabled={selected.length === 0}>Unflag selected</button>
+            <button className="btn-small btn-danger" onClick={() => handleBulk('delete')} disabled={selected.length === 0}>Delete selected</button>
           </div>
 
           <div className="table-container">
-            {loading ? <div className="loading-state">Loading...</div> : renderTable()}
+            {loading && !nextCursor ? <div className="loading-state">Loading...</div> : renderTable()}
           </div>
+
+          {nextCursor && (
+            <div className="text-center">
+              <button className="btn-secondary" onClick={() => fetchData(nextCursor)} disabled={loading}>
+                {loading ? 'Loading...' : 'Load more'}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </>
@@ -7,7 +7,11 @@ import '../styles/Auth.css';
 
 function AdminUserManagement() {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  // Only sent for the unfiltered list; null while searching
+  const [total, setTotal] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
   const [deleting, setDeleting] = useState(null);
@@ -19,14 +23,18 @@ function AdminUserManagement() {
       navigate('/dashboard');
       return;
     }
-    fetchUsers();
-  }, [role, navigate]);
+    // Search runs on the server; wait for typing to pause before querying
+    const timer = setTimeout(() => fetchUsers(searchTerm), 300);
+    return () => clearTimeout(timer);
+  }, [role, navigate, searchTerm]);
 
-  const fetchUsers = async () => {
+  const fetchUsers = async (q) => {
     try {
       setLoading(true);
-      const data = await getAllUsers();
-      setUsers(data);
+      const data = await getAllUsers({ q, sort: 'name' });
+      setUsers(data.users);
+      setNextCursor(data.nextCursor);
+      setTotal(data.total ?? null);
       setError('');
     } catch (err) {
       setError(err.message || 'Failed to load users');
@@ -35,10 +43,19 @@ function AdminUserManagement() {
     }
   };
 
-  const filteredUsers = users.filter(user => 
-    user.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-    user.email.toLowerCase().includes(searchTerm.toLowerCase())
-  );
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const data = await getAllUsers({ q: searchTerm, sort: 'name', cursor: nextCursor });
+      setUsers(prev => [...prev, ...data.users]);
+      setNextCursor(data.nextCursor);
+      setError('');
+    } catch (err) {
+      setError(err.message || 'Failed to load users');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const handleDelete = async (userId) => {
     if (!window.confirm('Are you sure you want to delete this user?')) {
@@ -74,7 +91,8 @@ function AdminUserManagement() {
     }
   };
 
-  if (loading) {
+  // Only the first load replaces the page; later searches keep the input focused
+  if (loading && users.length === 0 && !searchTerm) {
     return <div className="container"><div className="loading-state">Loading users...</div></div>;
   }
 
@@ -98,7 +116,11 @@ function AdminUserManagement() {
             onChange={(e) => setSearchTerm(e.target.value)}
             className="search-input"
           />
-          <span className="search-count">{filteredUsers.length} users</span>
+          <span className="search-count">
+            {total != null
+              ? `${users.length} of ${total} users`
+              : `${users.length}${nextCursor ? '+' : ''} matching users`}
+          </span>
         </div>
 
         <div className="table-container">
@@ -114,12 +136,12 @@ function AdminUserManagement() {
               </tr>
             </thead>
             <tbody>
-              {filteredUsers.length === 0 ? (
+              {users.length === 0 ? (
                 <tr>
                   <td colSpan="6" className="text-center">No users found</td>
                 </tr>
               ) : (
-                filteredUsers.map((user, index) => (
+                users.map((user, index) => (
                   <tr key={user.id}>
                     <td>{index + 1}</td>
                     <td>{user.name}</td>
@@ -162,6 +184,14 @@ function AdminUserManagement() {
             </tbody>
           </table>
         </div>
+
+        {nextCursor && (
+          <div className="text-center">
+            <button className="btn-small" onClick={loadMore} disabled={loadingMore}>
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
     </>
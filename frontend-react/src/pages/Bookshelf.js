@@ -11,7 +11,10 @@ import {
   deleteUserBook,
   getBookById,
   getProfile,
-  getCatalogGenres
+  getCatalogGenres,
+  submitPdfExport,
+  getPdfExport,
+  downloadPdfExport
 } from "../services/api";
 import { Navbar } from "../components/Navbar";
 import { Link } from "react-router-dom";
@@ -55,7 +58,9 @@ function Bookshelf() {
     });
   }, []);
 
-  useEffect(() => {
+  const searchSeq = useRef(0);
+
+  const loadLibrary = () => {
     if (userId) {
       Promise.all([
         getBooksByUser(userId),
@@ -83,12 +88,23 @@ function Bookshelf() {
         getBooksByUser(userId).then(setBooks);
       });
     }
-  }, [userId]);
+  };
+
+  useEffect(loadLibrary, [userId]);
+
+  const waitForPdfExport = async (uid, job) => {
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise(resolve => setTimeout(resolve, 500));
+      job = await getPdfExport(uid, job.id);
+    }
+    if (job.status !== 'COMPLETED') throw new Error(job.message || 'Export failed');
+    return downloadPdfExport(uid, job.id);
+  };
 
   const downloadPdf = (endpoint, filename) => {
     const uid = userId || 1;
-    fetch(`http://localhost:8080/api/pdf/${endpoint}/${uid}`)
-      .then(res => res.blob())
+    submitPdfExport(uid, endpoint)
+      .then(job => waitForPdfExport(uid, job))
       .then(blob => {
         const url = window.URL.createObjectURL(new Blob([blob]));
         const link = document.createElement('a');
@@ -134,8 +150,24 @@ function Bookshelf() {
     const value = e.target.value;
     setQ(value);
     if (!userId) return;
-    const result = await searchBooks(userId, value);
-    setBooks(result);
+    const seq = ++searchSeq.current;
+    if (!value.trim()) {
+      loadLibrary();
+      return;
+    }
+    try {
+      const page = await searchBooks(userId, value, { size: 50 });
+      if (seq !== searchSeq.current) return; // a newer keystroke has already searched
+      setBooks(page.items.map(hit => hit.source === 'SHELF' ? {
+        ...hit,
+        id: `catalog_${hit.id}`,
+        pagesRead: hit.pagesRead || 0,
+        isFromCatalog: true,
+        userBookId: hit.id
+      } : hit));
+    } catch (err) {
+      console.error('Search failed:', err);
+    }
   };
 
   const handleFilter = async (e) => {
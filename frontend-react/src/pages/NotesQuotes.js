@@ -93,8 +93,8 @@ function NotesQuotes() {
       setNotes(allNotes);
     } else {
       try {
-        const results = await searchNotes(searchTerm, filterBookId || null);
-        setNotes(results || []);
+        const results = await searchNotes(userId, searchTerm, { bookId: filterBookId || null, size: 50 });
+        setNotes(results.items || []);
       } catch (err) {
         console.error('Search failed:', err);
       }
@@ -112,8 +112,8 @@ function NotesQuotes() {
       setQuotes(allQuotes);
     } else {
       try {
-        const results = await searchQuotes(searchTerm, filterBookId || null);
-        setQuotes(results || []);
+        const results = await searchQuotes(userId, searchTerm, { bookId: filterBookId || null, size: 50 });
+        setQuotes(results.items || []);
       } catch (err) {
         console.error('Search failed:', err);
       }
@@ -165,7 +165,7 @@ function NotesQuotes() {
         const tagArray = (editingNote.tags || '').split(',').map(t => t.trim()).filter(t => t);
         await setNoteTags(note.id, tagArray);
       }
-      const updated = { ...note, text: editingNote.text, tags: editingNote.tags || '' };
+      const updated = { ...note, text: editingNote.text, tags: editingNote.tags || '', snippet: undefined };
       setNotes(notes.map(n => n.id === note.id ? updated : n));
       setEditingNote(null);
     } catch (err) {
@@ -258,7 +258,7 @@ function NotesQuotes() {
         }
       }
       
-      const updated = { ...quote, text: editingQuote.text, pageNumber: parseInt(editingQuote.pageNumber), imageUrl: updatedImageUrl };
+      const updated = { ...quote, text: editingQuote.text, pageNumber: parseInt(editingQuote.pageNumber), imageUrl: updatedImageUrl, snippet: undefined };
       setQuotes(quotes.map(q => q.id === quote.id ? updated : q));
       setEditingQuote(null);
       setEditingQuoteImage(null);
@@ -523,7 +523,12 @@ function NotesQuotes() {
                   ) : (
                     <div>
                       <div className="text-sm text-muted">{note.bookTitle} • {new Date(note.createdAt || Date.now()).toLocaleDateString()}</div>
-                      <p className="text-sm my-2">{note.text}</p>
+                      {note.snippet ? (
+                        // Search snippets arrive HTML-escaped with matches wrapped in <mark>
+                        <p className="text-sm my-2" dangerouslySetInnerHTML={{ __html: note.snippet }} />
+                      ) : (
+                        <p className="text-sm my-2">{note.text}</p>
+                      )}
                       {note.tags && Array.isArray(note.tags) && note.tags.length > 0 && (
                         <div className="tags mb-2">
                           {note.tags.map((tag, idx) => (
@@ -631,7 +636,11 @@ function NotesQuotes() {
                       <div className="text-sm text-muted">{quote.bookTitle} • p.{quote.pageNumber}</div>
                       {quote.text && (
                         <blockquote className="text-sm my-2 italic pl-3 border-l-2 border-primary">
-                          "{quote.text}"
+                          {quote.snippet ? (
+                            <span dangerouslySetInnerHTML={{ __html: `"${quote.snippet}"` }} />
+                          ) : (
+                            <>"{quote.text}"</>
+                          )}
                         </blockquote>
                       )}
                       {!quote.imageUrl && !quote.text && (
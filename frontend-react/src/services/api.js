@@ -80,11 +80,17 @@ export const deleteUserBook = async (userBookId) => {
   return res.json();
 };
 
-export const searchBooks = async (userId, q) => {
-  const res = await fetch(`${API_URL}/books/user/${userId}/search?q=${encodeURIComponent(q)}`, {
+// Returns { items, nextCursor, hasMore, size } across legacy and shelved catalog books
+export const searchBooks = async (userId, q, { cursor, size } = {}) => {
+  const params = new URLSearchParams({ q });
+  if (cursor) params.append('cursor', cursor);
+  if (size) params.append('size', size);
+  const res = await fetch(`${API_URL}/books/user/${userId}/search?${params}`, {
     headers: getAuthHeaders()
   });
-  return res.json();
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to search books');
+  return data;
 };
 
 export const filterBooksByStatus = async (userId, status) => {
@@ -134,6 +140,42 @@ export const importBooksCSV = async (userId, file) => {
   return res.json();
 };
 
+// Poll an import started by importBooksCSV (status: QUEUED, RUNNING, COMPLETED, FAILED)
+export const getImportJob = async (userId, jobId) => {
+  const res = await fetch(`${API_URL}/books/user/${userId}/import-csv/${jobId}`, { headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to fetch import status');
+  return data;
+};
+
+// PDF exports run as background jobs (type: favorites, top5, all)
+export const submitPdfExport = async (userId, type) => {
+  const res = await fetch(`${API_URL}/pdf/jobs/${userId}?type=${encodeURIComponent(type)}`, {
+    method: 'POST',
+    headers: getAuthHeaders()
+  });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to start export');
+  return data;
+};
+
+// Poll an export started by submitPdfExport (status: QUEUED, RUNNING, COMPLETED, FAILED)
+export const getPdfExport = async (userId, jobId) => {
+  const res = await fetch(`${API_URL}/pdf/jobs/${userId}/${jobId}`, { headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to fetch export status');
+  return data;
+};
+
+export const downloadPdfExport = async (userId, jobId) => {
+  const res = await fetch(`${API_URL}/pdf/jobs/${userId}/${jobId}/download`, { headers: getAuthHeaders() });
+  if (!res.ok) {
+    const data = await res.json().catch(() => ({}));
+    throw new Error(data.error || 'Failed to download export');
+  }
+  return res.blob();
+};
+
 export const updateBookProgress = async (id, pagesRead) => {
   const res = await fetch(`${API_URL}/books/${id}/progress?pagesRead=${encodeURIComponent(pagesRead)}`, {
     method: 'PATCH',
@@ -203,9 +245,12 @@ export const submitRecommendationFeedback = async (userId, bookId, feedback) =>
 };
 
 // Catalog APIs
-export const getCatalog = async (genre) => {
+export const getCatalog = async (genre, { sort = 'rating', cursor, size = 20 } = {}) => {
   const url = new URL(`${API_URL}/catalog`);
   if (genre) url.searchParams.set('genre', genre);
+  url.searchParams.set('sort', sort);
+  if (cursor) url.searchParams.set('cursor', cursor);
+  url.searchParams.set('size', size);
   const res = await fetch(url, { headers: getAuthHeaders() });
   if (!res.ok) throw new Error('Failed to fetch catalog');
   return res.json();
@@ -217,10 +262,11 @@ export const getCatalogBook = async (id) => {
   return res.json();
 };
 
-export const searchCatalog = async (query, searchBy = 'title') => {
+export const searchCatalog = async (query, page = 0, size = 20) => {
   const url = new URL(`${API_URL}/catalog/search`);
   if (query) url.searchParams.set('q', query);
-  url.searchParams.set('by', searchBy);
+  url.searchParams.set('page', page);
+  url.searchParams.set('size', size);
   const res = await fetch(url, { headers: getAuthHeaders() });
   if (!res.ok) throw new Error('Failed to search catalog');
   return res.json();
@@ -294,12 +340,19 @@ export const setNoteTags = async (id, tags) => {
   const res = await fetch(`${API_URL}/notes/${id}/tags`, { method: 'POST', headers: getAuthHeaders(), body: JSON.stringify(tags) });
   const data = await res.json(); if (!res.ok) throw new Error(data.error || 'Failed to set tags'); return data;
 };
-export const searchNotes = async (q, bookId) => {
+// Ranked search over the user's own notes; returns { items, nextCursor, hasMore }
+export const searchNotes = async (userId, q, { bookId, tag, cursor, size = 20 } = {}) => {
   const url = new URL(`${API_URL}/notes/search`);
+  url.searchParams.set('userId', userId);
   url.searchParams.set('q', q);
   if (bookId) url.searchParams.set('bookId', bookId);
+  if (tag) url.searchParams.set('tag', tag);
+  if (cursor) url.searchParams.set('cursor', cursor);
+  url.searchParams.set('size', size);
   const res = await fetch(url, { headers: getAuthHeaders() });
-  return res.json();
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to search notes');
+  return data;
 };
 
 // Quotes APIs
@@ -325,12 +378,18 @@ export const uploadQuoteImage = async (id, file) => {
   const res = await fetch(`${API_URL}/quotes/${id}/image`, { method: 'POST', headers: token ? { 'Authorization': `Bearer ${token}` } : undefined, body: form });
   const data = await res.json(); if (!res.ok) throw new Error(data.error || 'Failed to upload image'); return data;
 };
-export const searchQuotes = async (q, bookId) => {
+// Ranked search over the user's own quotes; returns { items, nextCursor, hasMore }
+export const searchQuotes = async (userId, q, { bookId, cursor, size = 20 } = {}) => {
   const url = new URL(`${API_URL}/quotes/search`);
+  url.searchParams.set('userId', userId);
   url.searchParams.set('q', q);
   if (bookId) url.searchParams.set('bookId', bookId);
+  if (cursor) url.searchParams.set('cursor', cursor);
+  url.searchParams.set('size', size);
   const res = await fetch(url, { headers: getAuthHeaders() });
-  return res.json();
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to search quotes');
+  return data;
 };
 
 // Admin APIs
@@ -344,8 +403,14 @@ export const getAdminDashboard = async () => {
   return data;
 };
 
-export const getAllUsers = async () => {
-  const res = await fetch(`${API_URL}/admin/users`, {
+// One keyset page of users: { users, nextCursor, hasMore, total }
+// Options: q (name/email prefix), role, verified, sort (id|name|email), dir (asc|desc), cursor, size
+export const getAllUsers = async (options = {}) => {
+  const query = new URLSearchParams();
+  Object.entries(options).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== '') query.append(key, value);
+  });
+  const res = await fetch(`${API_URL}/admin/users?${query.toString()}`, {
     headers: getAuthHeaders()
   });
   const data = await res.json();
@@ -429,6 +494,56 @@ export const getAdminSystemLogs = async () => {
   return data;
 };
 
+// Moderation queue APIs (keyset pages: { items, nextCursor, hasMore })
+const moderationQuery = ({ flaggedOnly, search, cursor, size } = {}) => {
+  const query = new URLSearchParams();
+  if (flaggedOnly) query.append('flagged', 'true');
+  if (search) query.append('search', search);
+  if (cursor) query.append('cursor', cursor);
+  if (size) query.append('size', size);
+  return query.toString();
+};
+
+export const listModerationNotes = async (options) => {
+  const res = await fetch(`${API_URL}/admin/moderation/notes?${moderationQuery(options)}`, { headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to fetch notes');
+  return data;
+};
+
+export const listModerationQuotes = async (options) => {
+  const res = await fetch(`${API_URL}/admin/moderation/quotes?${moderationQuery(options)}`, { headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to fetch quotes');
+  return data;
+};
+
+export const deleteModerationNote = async (id) => {
+  const res = await fetch(`${API_URL}/admin/moderation/notes/${id}`, { method: 'DELETE', headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to delete note');
+  return data;
+};
+
+export const deleteModerationQuote = async (id) => {
+  const res = await fetch(`${API_URL}/admin/moderation/quotes/${id}`, { method: 'DELETE', headers: getAuthHeaders() });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to delete quote');
+  return data;
+};
+
+// kind: 'notes' | 'quotes'; action: 'delete' | 'unflag'
+export const bulkModerate = async (kind, action, ids) => {
+  const res = await fetch(`${API_URL}/admin/moderation/${kind}/bulk`, {
+    method: 'POST',
+    headers: getAuthHeaders(),
+    body: JSON.stringify({ action, ids })
+  });
+  const data = await res.json();
+  if (!res.ok) throw new Error(data.error || 'Failed to update items');
+  return data;
+};
+
 // Catalog CRUD APIs
 
 export const listCatalog = async (page = 0, size = 20, search = '') => {